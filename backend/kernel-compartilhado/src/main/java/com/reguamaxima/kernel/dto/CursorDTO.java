@@ -0,0 +1,90 @@
+package com.reguamaxima.kernel.dto;
+
+import com.reguamaxima.kernel.exception.RegraNegocioException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Cursor opaco para paginação por chave (keyset).
+ * Guarda os valores da chave de ordenação do último item retornado
+ * (ex.: data, hora e id) e é trafegado como texto base64 url-safe.
+ *
+ * @param values valores da chave de ordenação, na ordem das colunas
+ */
+public record CursorDTO(List<String> values) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Cria cursor a partir dos valores da chave (convertidos com toString).
+     */
+    public static CursorDTO of(Object... values) {
+        return new CursorDTO(Arrays.stream(values)
+                .map(value -> Objects.requireNonNull(value, "Valor de cursor não pode ser nulo").toString())
+                .toList());
+    }
+
+    /**
+     * Codifica o cursor para envio ao cliente.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, values).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     *
+     * @param token        cursor codificado
+     * @param expectedSize quantidade de valores esperada
+     * @throws RegraNegocioException se o cursor for inválido
+     */
+    public static CursorDTO decode(String token, int expectedSize) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            List<String> values = List.of(decoded.split("\\|", -1));
+            if (values.size() != expectedSize) {
+                throw new RegraNegocioException("Cursor inválido");
+            }
+            return new CursorDTO(values);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Cursor inválido");
+        }
+    }
+
+    public Long getLong(int index) {
+        return parse(index, Long::valueOf);
+    }
+
+    public Double getDouble(int index) {
+        return parse(index, Double::valueOf);
+    }
+
+    public LocalDate getDate(int index) {
+        return parse(index, LocalDate::parse);
+    }
+
+    public LocalTime getTime(int index) {
+        return parse(index, LocalTime::parse);
+    }
+
+    public LocalDateTime getDateTime(int index) {
+        return parse(index, LocalDateTime::parse);
+    }
+
+    private <T> T parse(int index, Function<String, T> parser) {
+        try {
+            return parser.apply(values.get(index));
+        } catch (RuntimeException e) {
+            throw new RegraNegocioException("Cursor inválido");
+        }
+    }
+}
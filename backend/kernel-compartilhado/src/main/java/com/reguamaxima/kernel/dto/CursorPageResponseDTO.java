@@ -0,0 +1,41 @@
+package com.reguamaxima.kernel.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO para respostas paginadas por cursor (keyset).
+ * Não informa total de elementos: cada página custa apenas uma consulta indexada.
+ *
+ * @param content    elementos da página
+ * @param size       tamanho de página solicitado
+ * @param hasNext    indica se existe próxima página
+ * @param nextCursor cursor para buscar a próxima página (null na última)
+ * @param <T>        Tipo dos elementos da página
+ */
+public record CursorPageResponseDTO<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) {
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code size + 1} linhas:
+     * a linha excedente apenas indica que há próxima página.
+     *
+     * @param rows   linhas retornadas pela consulta (até size + 1)
+     * @param size   tamanho de página solicitado
+     * @param mapper conversão da linha para o elemento da resposta
+     * @param cursor chave de ordenação da linha
+     */
+    public static <R, T> CursorPageResponseDTO<T> of(
+            List<R> rows,
+            int size,
+            Function<R, T> mapper,
+            Function<R, CursorDTO> cursor) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursor.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPageResponseDTO<>(page.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
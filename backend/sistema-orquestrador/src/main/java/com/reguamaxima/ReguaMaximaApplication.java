@@ -2,13 +2,16 @@ package com.reguamaxima;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal da aplicação Régua Máxima.
  * <p>
- * Inicia o Spring Boot com Virtual Threads habilitado (configurado via application.yml).
+ * Inicia o Spring Boot com Virtual Threads habilitado (configurado via application.yml)
+ * e tarefas agendadas (varredura de agendamentos vencidos).
  */
 @SpringBootApplication
+@EnableScheduling
 public class ReguaMaximaApplication {
 
     public static void main(String[] args) {
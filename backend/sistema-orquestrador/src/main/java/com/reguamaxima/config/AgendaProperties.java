@@ -0,0 +1,176 @@
+package com.reguamaxima.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configurações da agenda de agendamentos.
+ * Carrega valores do application.yml prefixados com 'agenda'.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "agenda")
+public class AgendaProperties {
+
+    private Reserva reserva = new Reserva();
+    private Varredura varredura = new Varredura();
+    private Arquivamento arquivamento = new Arquivamento();
+    private Fechamento fechamento = new Fechamento();
+    private Cache cache = new Cache();
+
+    /**
+     * Reserva temporária de horário durante o checkout.
+     */
+    @Data
+    public static class Reserva {
+
+        /**
+         * Tempo (em segundos) em que o horário fica reservado para o cliente.
+         */
+        private int ttlSegundos = 300;
+    }
+
+    /**
+     * Varredura periódica de agendamentos vencidos.
+     */
+    @Data
+    public static class Varredura {
+
+        /**
+         * Habilita a varredura agendada.
+         */
+        private boolean habilitada = true;
+
+        /**
+         * Intervalo (em milissegundos) entre o fim de uma varredura e o início da próxima.
+         */
+        private long intervaloMs = 300_000;
+
+        /**
+         * Quantidade máxima de agendamentos alterados por transação.
+         */
+        private int tamanhoLote = 200;
+
+        /**
+         * Quantidade máxima de lotes por política em cada varredura.
+         */
+        private int maximoLotes = 50;
+
+        /**
+         * Pendentes não confirmados até o horário de início (+ tolerância) são cancelados.
+         */
+        private Politica pendentes = new Politica(true, 0);
+
+        /**
+         * Confirmados cujo horário de fim passou (+ tolerância) são marcados como não compareceu.
+         */
+        private Politica confirmados = new Politica(true, 120);
+
+        /**
+         * Dias de retenção das linhas de travas_agenda após a data da agenda.
+         */
+        private int retencaoTravasDias = 1;
+    }
+
+    /**
+     * Arquivamento de agendamentos e atendimentos finalizados antigos.
+     */
+    @Data
+    public static class Arquivamento {
+
+        /**
+         * Habilita o arquivamento agendado.
+         */
+        private boolean habilitado = true;
+
+        /**
+         * Expressão cron da execução (padrão: diariamente às 03:30).
+         */
+        private String cron = "0 30 3 * * *";
+
+        /**
+         * Meses em que registros finalizados permanecem nas tabelas principais.
+         */
+        private int mesesRetencao = 6;
+
+        /**
+         * Quantidade máxima de registros movidos por transação.
+         */
+        private int tamanhoLote = 500;
+
+        /**
+         * Quantidade máxima de lotes por tabela em cada execução.
+         */
+        private int maximoLotes = 200;
+
+        /**
+         * Dias em que o log de alterações de agendamentos é mantido; tokens de
+         * sincronização mais antigos expiram e exigem nova carga completa.
+         */
+        private int diasRetencaoAlteracoes = 30;
+    }
+
+    /**
+     * Fechamento diário das filas de atendimento.
+     */
+    @Data
+    public static class Fechamento {
+
+        /**
+         * Habilita o fechamento agendado.
+         */
+        private boolean habilitado = true;
+
+        /**
+         * Expressão cron da execução (padrão: diariamente às 00:05).
+         */
+        private String cron = "0 5 0 * * *";
+
+        /**
+         * Dias anteriores (a partir de ontem) reconsolidados a cada execução, cobrindo
+         * execuções perdidas e alterações tardias.
+         */
+        private int diasReconsolidacao = 3;
+    }
+
+    /**
+     * Caches em memória da agenda. Cada instância só recebe os eventos das alterações
+     * que ela mesma fez: a validade limita por quanto tempo uma instância pode exibir
+     * dados alterados por outra.
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Validade (em segundos) do mapa de ocupação de um barbeiro em um dia.
+         */
+        private int validadeOcupacaoSegundos = 30;
+
+        /**
+         * Validade (em minutos) da agenda semanal compilada de uma barbearia.
+         */
+        private int validadeAgendaSemanalMinutos = 5;
+    }
+
+    /**
+     * Política de transição automática de um status.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Politica {
+
+        /**
+         * Habilita a transição automática.
+         */
+        private boolean habilitada;
+
+        /**
+         * Minutos de tolerância após o horário de referência.
+         */
+        private int toleranciaMinutos;
+    }
+}
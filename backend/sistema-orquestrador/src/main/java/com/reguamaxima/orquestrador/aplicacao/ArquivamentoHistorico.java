@@ -0,0 +1,174 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.config.AgendaProperties;
+import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimento;
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import com.reguamaxima.orquestrador.dominio.repository.AgendamentoArquivadoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.AlteracaoAgendamentoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.AtendimentoArquivadoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Arquivamento periódico de agendamentos e atendimentos finalizados.
+ * <p>
+ * Registros finalizados há mais de {@link AgendaProperties.Arquivamento#getMesesRetencao()}
+ * meses são movidos para as tabelas *_arquivo, mantendo as tabelas principais (e seus
+ * índices) restritas ao período consultado no dia a dia. Cada lote copia e remove as
+ * linhas na mesma transação, travando apenas as linhas do lote. O histórico do cliente
+ * continua lendo das duas tabelas.
+ * <p>
+ * Na mesma execução, o log de alterações da sincronização incremental é limpo após
+ * {@link AgendaProperties.Arquivamento#getDiasRetencaoAlteracoes()} dias.
+ */
+@Slf4j
+@Component
+public class ArquivamentoHistorico {
+
+    private static final List<String> AGENDAMENTOS_FINALIZADOS = List.of(
+            StatusAgendamento.CONCLUIDO.name(),
+            StatusAgendamento.NAO_COMPARECEU.name(),
+            StatusAgendamento.CANCELADO_CLIENTE.name(),
+            StatusAgendamento.CANCELADO_BARBEIRO.name(),
+            StatusAgendamento.CANCELADO_BARBEARIA.name());
+
+    private static final List<String> ATENDIMENTOS_FINALIZADOS = List.of(
+            StatusAtendimento.CONCLUIDO.name(),
+            StatusAtendimento.CANCELADO.name(),
+            StatusAtendimento.NAO_COMPARECEU.name());
+
+    private final AgendamentoArquivadoRepository agendamentoArquivadoRepository;
+    private final AtendimentoArquivadoRepository atendimentoArquivadoRepository;
+    private final AlteracaoAgendamentoRepository alteracaoAgendamentoRepository;
+    private final AgendaProperties.Arquivamento config;
+    private final TransactionTemplate transacaoLote;
+
+    private final Counter agendamentosArquivados;
+    private final Counter atendimentosArquivados;
+    private final Counter alteracoesRemovidas;
+    private final Timer duracao;
+
+    public ArquivamentoHistorico(
+            AgendamentoArquivadoRepository agendamentoArquivadoRepository,
+            AtendimentoArquivadoRepository atendimentoArquivadoRepository,
+            AlteracaoAgendamentoRepository alteracaoAgendamentoRepository,
+            AgendaProperties agendaProperties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.agendamentoArquivadoRepository = agendamentoArquivadoRepository;
+        this.atendimentoArquivadoRepository = atendimentoArquivadoRepository;
+        this.alteracaoAgendamentoRepository = alteracaoAgendamentoRepository;
+        this.config = agendaProperties.getArquivamento();
+        this.transacaoLote = new TransactionTemplate(transactionManager);
+        this.transacaoLote.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.agendamentosArquivados = Counter.builder("historico.arquivamento.registros")
+                .description("Registros movidos para as tabelas de arquivo")
+                .tag("tabela", "agendamentos")
+                .register(meterRegistry);
+        this.atendimentosArquivados = Counter.builder("historico.arquivamento.registros")
+                .description("Registros movidos para as tabelas de arquivo")
+                .tag("tabela", "atendimentos")
+                .register(meterRegistry);
+        this.alteracoesRemovidas = Counter.builder("historico.arquivamento.alteracoes.removidas")
+                .description("Linhas removidas do log de alterações de agendamentos")
+                .register(meterRegistry);
+        this.duracao = Timer.builder("historico.arquivamento.duracao")
+                .description("Duração de cada execução do arquivamento")
+                .register(meterRegistry);
+    }
+
+    // ========== Execução ==========
+
+    /**
+     * Move para o arquivo os registros finalizados anteriores ao período de retenção.
+     */
+    @Scheduled(cron = "${agenda.arquivamento.cron:0 30 3 * * *}")
+    public void executar() {
+        if (!config.isHabilitado()) {
+            return;
+        }
+
+        duracao.record(() -> {
+            LocalDate limite = LocalDate.now().minusMonths(config.getMesesRetencao());
+
+            int agendamentos = processarEmLotes(this::arquivarAgendamentos, limite);
+            agendamentosArquivados.increment(agendamentos);
+
+            int atendimentos = processarEmLotes(this::arquivarAtendimentos, limite);
+            atendimentosArquivados.increment(atendimentos);
+
+            if (agendamentos > 0 || atendimentos > 0) {
+                log.info("Arquivamento: {} agendamentos e {} atendimentos anteriores a {} movidos",
+                        agendamentos, atendimentos, limite);
+            }
+
+            LocalDate limiteAlteracoes = LocalDate.now().minusDays(config.getDiasRetencaoAlteracoes());
+            int alteracoes = processarEmLotes(this::removerAlteracoes, limiteAlteracoes);
+            alteracoesRemovidas.increment(alteracoes);
+        });
+    }
+
+    // ========== Lotes ==========
+
+    private int arquivarAgendamentos(LocalDate limite) {
+        List<Long> ids = agendamentoArquivadoRepository.selecionarParaArquivar(
+                limite, AGENDAMENTOS_FINALIZADOS, config.getTamanhoLote());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        agendamentoArquivadoRepository.copiarParaArquivo(ids);
+        return agendamentoArquivadoRepository.removerArquivados(ids);
+    }
+
+    private int arquivarAtendimentos(LocalDate limite) {
+        List<Long> ids = atendimentoArquivadoRepository.selecionarParaArquivar(
+                limite, ATENDIMENTOS_FINALIZADOS, config.getTamanhoLote());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        atendimentoArquivadoRepository.copiarParaArquivo(ids);
+        return atendimentoArquivadoRepository.removerArquivados(ids);
+    }
+
+    /**
+     * Alterações antigas não são copiadas: só servem a tokens de sincronização recentes.
+     * A mais recente é mantida para o cursor não recomeçar com o log vazio.
+     */
+    private int removerAlteracoes(LocalDate limite) {
+        Long ultima = alteracaoAgendamentoRepository.ultimoId();
+        if (ultima == null) {
+            return 0;
+        }
+        return alteracaoAgendamentoRepository.removerAnteriores(limite, ultima, config.getTamanhoLote());
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    /**
+     * Executa lotes em transações separadas até um lote vir incompleto ou o limite de lotes ser atingido.
+     */
+    private int processarEmLotes(Function<LocalDate, Integer> lote, LocalDate limite) {
+        int total = 0;
+        for (int i = 0; i < config.getMaximoLotes(); i++) {
+            Integer movidos = transacaoLote.execute(status -> lote.apply(limite));
+            int quantidade = movidos != null ? movidos : 0;
+            total += quantidade;
+            if (quantidade < config.getTamanhoLote()) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,136 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.config.AgendaProperties;
+import com.reguamaxima.orquestrador.dominio.agenda.AgendaSemanal;
+import com.reguamaxima.orquestrador.dominio.agenda.GradeSlots;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.FolgaAgenda;
+import com.reguamaxima.orquestrador.dominio.entidade.HorarioFuncionamento;
+import com.reguamaxima.orquestrador.dominio.evento.AgendaBarbeariaAlteradaEvento;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
+import com.reguamaxima.orquestrador.dominio.repository.FolgaAgendaRepository;
+import com.reguamaxima.orquestrador.dominio.repository.HorarioFuncionamentoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache em memória da agenda semanal compilada de cada barbearia.
+ * <p>
+ * Horários de funcionamento e folgas são lidos do banco e compilados em uma
+ * {@link AgendaSemanal} na primeira consulta. Alterações do admin publicam
+ * {@link AgendaBarbeariaAlteradaEvento}, que descarta a compilação após o commit.
+ * <p>
+ * O evento só chega à instância que atendeu a alteração; nas demais, a compilação
+ * vale por {@link AgendaProperties.Cache#getValidadeAgendaSemanalMinutos()} minutos
+ * e então é refeita a partir do banco.
+ */
+@Slf4j
+@Component
+public class CacheAgendaSemanal {
+
+    private final BarbeariaRepository barbeariaRepository;
+    private final HorarioFuncionamentoRepository horarioRepository;
+    private final FolgaAgendaRepository folgaRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final long validadeNanos;
+
+    private final ConcurrentHashMap<Long, AgendaCompilada> agendas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> versoes = new ConcurrentHashMap<>();
+
+    // Data da compilação: folgas de datas passadas deixam de ser carregadas na virada do dia
+    private volatile LocalDate dataCompilacao = LocalDate.now();
+
+    public CacheAgendaSemanal(
+            BarbeariaRepository barbeariaRepository,
+            HorarioFuncionamentoRepository horarioRepository,
+            FolgaAgendaRepository folgaRepository,
+            PlatformTransactionManager transactionManager,
+            AgendaProperties agendaProperties) {
+        this.barbeariaRepository = barbeariaRepository;
+        this.validadeNanos = Duration
+                .ofMinutes(agendaProperties.getCache().getValidadeAgendaSemanalMinutos())
+                .toNanos();
+        this.horarioRepository = horarioRepository;
+        this.folgaRepository = folgaRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    // ========== Consulta ==========
+
+    /**
+     * Retorna a agenda semanal da barbearia, compilando a partir do banco se necessário.
+     */
+    public AgendaSemanal obter(Long barbeariaId) {
+        LocalDate hoje = LocalDate.now();
+        if (!hoje.equals(dataCompilacao)) {
+            dataCompilacao = hoje;
+            agendas.clear();
+        }
+
+        AgendaCompilada agenda = agendas.get(barbeariaId);
+        if (agenda != null && agenda.valida(System.nanoTime(), validadeNanos)) {
+            return agenda.agenda();
+        }
+
+        long versao = versoes.getOrDefault(barbeariaId, 0L);
+        AgendaSemanal compilada = compilar(barbeariaId, hoje);
+
+        long agora = System.nanoTime();
+        AgendaCompilada armazenada = agendas.compute(barbeariaId, (id, atual) -> {
+            if (atual != null && atual.valida(agora, validadeNanos)) {
+                return atual;
+            }
+            return versoes.getOrDefault(id, 0L) == versao ? new AgendaCompilada(compilada, agora) : null;
+        });
+        return armazenada != null ? armazenada.agenda() : compilada;
+    }
+
+    // ========== Manutenção ==========
+
+    /**
+     * Descarta a agenda compilada após alterações de horários ou folgas.
+     */
+    @TransactionalEventListener
+    public void aoAlterarAgenda(AgendaBarbeariaAlteradaEvento evento) {
+        agendas.compute(evento.barbeariaId(), (id, atual) -> {
+            versoes.merge(id, 1L, Long::sum);
+            return null;
+        });
+        log.debug("Agenda semanal descartada - barbearia: {}", evento.barbeariaId());
+    }
+
+    private AgendaSemanal compilar(Long barbeariaId, LocalDate hoje) {
+        return transacaoLeitura.execute(status -> {
+            int intervalo = barbeariaRepository.findById(barbeariaId)
+                    .map(Barbearia::getIntervaloSlotsMinutos)
+                    .orElse(GradeSlots.PADRAO.intervaloMinutos());
+            List<HorarioFuncionamento> horarios = horarioRepository.findByBarbeariaId(barbeariaId);
+            List<FolgaAgenda> folgas = folgaRepository.findVigentes(barbeariaId, hoje);
+
+            log.debug("Agenda semanal compilada - barbearia: {}, dias: {}, folgas: {}",
+                    barbeariaId, horarios.size(), folgas.size());
+            return AgendaSemanal.compilar(horarios, folgas, intervalo);
+        });
+    }
+
+    /**
+     * Agenda em cache com o instante da compilação ({@link System#nanoTime()}).
+     */
+    private record AgendaCompilada(AgendaSemanal agenda, long compiladaEm) {
+
+        boolean valida(long agora, long validadeNanos) {
+            return agora - compiladaEm < validadeNanos;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.dto.FilaBarbeiroDTO;
+import com.reguamaxima.orquestrador.dominio.evento.FilaBarbeiroAlteradaEvento;
+import com.reguamaxima.orquestrador.dominio.fila.FilaBarbeiro;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache do resumo da fila ({@link FilaBarbeiroDTO}) de cada barbeiro.
+ * <p>
+ * Cada resumo guarda o estado da fila em memória a partir do qual foi montado e
+ * só é reutilizado enquanto esse estado for o atual, de modo que uma alteração
+ * aplicada após o commit nunca é mascarada pelo cache. Eventos de alteração da
+ * fila descartam o resumo, e a validade curta mantém atualizados os tempos
+ * decorridos (espera e duração em andamento). Consultas simultâneas da mesma
+ * fila aguardam uma única montagem.
+ */
+@Slf4j
+@Component
+public class CacheFilaBarbeiro {
+
+    // Tempo máximo de reutilização de um resumo (tempos decorridos em minutos)
+    private static final Duration VALIDADE = Duration.ofSeconds(30);
+
+    private final MotorFilaAtendimento motorFila;
+
+    private final ConcurrentHashMap<Long, Resumo> resumos = new ConcurrentHashMap<>();
+
+    public CacheFilaBarbeiro(MotorFilaAtendimento motorFila) {
+        this.motorFila = motorFila;
+    }
+
+    // ========== Consulta ==========
+
+    /**
+     * Retorna o resumo da fila do barbeiro, montando-o com {@code montagem} se necessário.
+     * A montagem recebe o estado da fila em memória que o resumo deve refletir.
+     */
+    public FilaBarbeiroDTO obter(Long barbeiroId, Function<FilaBarbeiro, FilaBarbeiroDTO> montagem) {
+        while (true) {
+            FilaBarbeiro atual = motorFila.consultar(barbeiroId);
+            Resumo existente = resumos.get(barbeiroId);
+            if (existente != null && existente.valePara(atual)) {
+                return aguardar(barbeiroId, existente);
+            }
+
+            Resumo novo = new Resumo(atual, Instant.now(), new CompletableFuture<>());
+            Resumo vencedor = resumos.compute(barbeiroId, (chave, registrado) ->
+                    registrado == existente ? novo : registrado);
+            if (vencedor != novo) {
+                // Outra consulta começou a montagem primeiro
+                continue;
+            }
+
+            try {
+                FilaBarbeiroDTO fila = montagem.apply(atual);
+                novo.fila().complete(fila);
+                log.debug("Resumo da fila montado - barbeiro: {}, aguardando: {}",
+                        barbeiroId, fila.totalAguardando());
+                return fila;
+            } catch (RuntimeException e) {
+                resumos.remove(barbeiroId, novo);
+                novo.fila().completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    // ========== Manutenção ==========
+
+    @TransactionalEventListener
+    public void aoAlterarFila(FilaBarbeiroAlteradaEvento evento) {
+        resumos.remove(evento.barbeiroId());
+    }
+
+    private FilaBarbeiroDTO aguardar(Long barbeiroId, Resumo resumo) {
+        try {
+            return resumo.fila().join();
+        } catch (CompletionException e) {
+            resumos.remove(barbeiroId, resumo);
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resumo montado (ou em montagem) a partir de um estado da fila.
+     */
+    private record Resumo(FilaBarbeiro estado, Instant montadoEm, CompletableFuture<FilaBarbeiroDTO> fila) {
+
+        boolean valePara(FilaBarbeiro atual) {
+            return estado.equals(atual) && montadoEm.plus(VALIDADE).isAfter(Instant.now());
+        }
+    }
+}
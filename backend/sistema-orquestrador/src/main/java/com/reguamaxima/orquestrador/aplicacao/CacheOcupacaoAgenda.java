@@ -0,0 +1,266 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.config.AgendaProperties;
+import com.reguamaxima.orquestrador.dominio.agenda.MapaOcupacaoDia;
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import com.reguamaxima.orquestrador.dominio.evento.AgendamentoAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.repository.AgendamentoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache em memória da ocupação diária de cada barbeiro.
+ * <p>
+ * Mantém um {@link MapaOcupacaoDia} por (barbeiro, data), carregado do banco
+ * na primeira consulta e atualizado pelos eventos de agendamento após o commit.
+ * Um contador de versão por chave impede que uma carga concorrente com uma
+ * alteração grave um mapa desatualizado.
+ * <p>
+ * Os eventos só chegam à instância que fez a alteração. Cada mapa vale por
+ * {@link AgendaProperties.Cache#getValidadeOcupacaoSegundos()} segundos desde a
+ * carga; depois disso é recarregado, de modo que alterações feitas em outra
+ * instância (como um cancelamento que libera horário) aparecem em seguida.
+ * A criação de agendamentos não depende do cache: o conflito é verificado no banco.
+ */
+@Slf4j
+@Component
+public class CacheOcupacaoAgenda {
+
+    private static final List<StatusAgendamento> STATUS_SEM_OCUPACAO = StatusAgendamento.statusSemOcupacao();
+
+    // Acima deste limite, entradas de datas passadas são descartadas
+    private static final int LIMITE_ENTRADAS = 50_000;
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final long validadeNanos;
+
+    private final ConcurrentHashMap<ChaveAgenda, EntradaCache> mapas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ChaveAgenda, Long> versoes = new ConcurrentHashMap<>();
+
+    public CacheOcupacaoAgenda(
+            AgendamentoRepository agendamentoRepository,
+            PlatformTransactionManager transactionManager,
+            AgendaProperties agendaProperties) {
+        this.agendamentoRepository = agendamentoRepository;
+        this.validadeNanos = Duration.ofSeconds(agendaProperties.getCache().getValidadeOcupacaoSegundos()).toNanos();
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    // ========== Consulta ==========
+
+    /**
+     * Retorna o mapa de ocupação do barbeiro na data, carregando do banco se necessário.
+     */
+    public MapaOcupacaoDia obter(Long barbeiroId, LocalDate data) {
+        ChaveAgenda chave = new ChaveAgenda(barbeiroId, data);
+
+        MapaOcupacaoDia mapa = vigente(chave);
+        if (mapa != null) {
+            return mapa;
+        }
+
+        long versao = versoes.getOrDefault(chave, 0L);
+        MapaOcupacaoDia carregado = carregar(barbeiroId, data);
+
+        return armazenar(chave, versao, carregado);
+    }
+
+    /**
+     * Retorna os mapas de ocupação do barbeiro para cada dia do período (inclusive).
+     * Os dias ausentes do cache são carregados com uma única consulta ao banco.
+     */
+    public Map<LocalDate, MapaOcupacaoDia> obterPeriodo(Long barbeiroId, LocalDate dataInicio, LocalDate dataFim) {
+        Map<LocalDate, MapaOcupacaoDia> resultado = new LinkedHashMap<>();
+        Map<ChaveAgenda, Long> ausentes = new LinkedHashMap<>();
+
+        for (LocalDate data = dataInicio; !data.isAfter(dataFim); data = data.plusDays(1)) {
+            ChaveAgenda chave = new ChaveAgenda(barbeiroId, data);
+            MapaOcupacaoDia mapa = vigente(chave);
+            resultado.put(data, mapa);
+            if (mapa == null) {
+                ausentes.put(chave, versoes.getOrDefault(chave, 0L));
+            }
+        }
+
+        if (ausentes.isEmpty()) {
+            return resultado;
+        }
+
+        // Uma única consulta cobre do primeiro ao último dia ausente
+        List<LocalDate> diasAusentes = ausentes.keySet().stream().map(ChaveAgenda::data).toList();
+        LocalDate primeiraAusente = diasAusentes.get(0);
+        LocalDate ultimaAusente = diasAusentes.get(diasAusentes.size() - 1);
+
+        List<Object[]> ocupados = transacaoLeitura.execute(status -> agendamentoRepository
+                .findHorariosOcupadosPeriodo(barbeiroId, primeiraAusente, ultimaAusente, STATUS_SEM_OCUPACAO));
+
+        Map<LocalDate, MapaOcupacaoDia> carregados = new HashMap<>();
+        for (Object[] ocupacao : ocupados) {
+            LocalDate data = (LocalDate) ocupacao[0];
+            carregados.put(data, ocupar(carregados.getOrDefault(data, MapaOcupacaoDia.vazio()),
+                    (LocalTime) ocupacao[1], (LocalTime) ocupacao[2]));
+        }
+
+        ausentes.forEach((chave, versao) -> resultado.put(chave.data(),
+                armazenar(chave, versao, carregados.getOrDefault(chave.data(), MapaOcupacaoDia.vazio()))));
+
+        log.debug("Ocupação carregada - barbeiro: {}, período: {} a {}, agendamentos: {}",
+                barbeiroId, primeiraAusente, ultimaAusente, ocupados.size());
+        return resultado;
+    }
+
+    /**
+     * Retorna os mapas de ocupação de vários barbeiros na mesma data.
+     * Os barbeiros ausentes do cache são carregados com uma única consulta ao banco.
+     */
+    public Map<Long, MapaOcupacaoDia> obterBarbeiros(Collection<Long> barbeiroIds, LocalDate data) {
+        Map<Long, MapaOcupacaoDia> resultado = new LinkedHashMap<>();
+        Map<ChaveAgenda, Long> ausentes = new LinkedHashMap<>();
+
+        for (Long barbeiroId : barbeiroIds) {
+            ChaveAgenda chave = new ChaveAgenda(barbeiroId, data);
+            MapaOcupacaoDia mapa = vigente(chave);
+            resultado.put(barbeiroId, mapa);
+            if (mapa == null) {
+                ausentes.put(chave, versoes.getOrDefault(chave, 0L));
+            }
+        }
+
+        if (ausentes.isEmpty()) {
+            return resultado;
+        }
+
+        List<Long> idsAusentes = ausentes.keySet().stream().map(ChaveAgenda::barbeiroId).toList();
+        List<Object[]> ocupados = transacaoLeitura.execute(status -> agendamentoRepository
+                .findHorariosOcupadosBarbeiros(idsAusentes, data, STATUS_SEM_OCUPACAO));
+
+        Map<Long, MapaOcupacaoDia> carregados = new HashMap<>();
+        for (Object[] ocupacao : ocupados) {
+            Long barbeiroId = (Long) ocupacao[0];
+            carregados.put(barbeiroId, ocupar(carregados.getOrDefault(barbeiroId, MapaOcupacaoDia.vazio()),
+                    (LocalTime) ocupacao[1], (LocalTime) ocupacao[2]));
+        }
+
+        ausentes.forEach((chave, versao) -> resultado.put(chave.barbeiroId(),
+                armazenar(chave, versao, carregados.getOrDefault(chave.barbeiroId(), MapaOcupacaoDia.vazio()))));
+
+        log.debug("Ocupação carregada - barbeiros: {}, data: {}, agendamentos: {}",
+                idsAusentes.size(), data, ocupados.size());
+        return resultado;
+    }
+
+    // ========== Manutenção ==========
+
+    /**
+     * Aplica a criação/mudança de status de um agendamento ao mapa em cache.
+     */
+    @TransactionalEventListener
+    public void aoAlterarAgendamento(AgendamentoAlteradoEvento evento) {
+        if (evento.ocupavaHorario() == evento.ocupaHorario()) {
+            return;
+        }
+
+        int inicio = MapaOcupacaoDia.minutoInicio(evento.horaInicio());
+        int fim = MapaOcupacaoDia.minutoFim(evento.horaInicio(), evento.horaFim());
+        boolean ocupar = evento.ocupaHorario();
+
+        mapas.compute(new ChaveAgenda(evento.barbeiroId(), evento.data()), (chave, atual) -> {
+            versoes.merge(chave, 1L, Long::sum);
+            if (atual == null) {
+                return null;
+            }
+            // A validade continua contando da carga: alterações de outras instâncias não chegam aqui
+            MapaOcupacaoDia mapa = ocupar
+                    ? atual.mapa().comOcupacao(inicio, fim)
+                    : atual.mapa().semOcupacao(inicio, fim);
+            return new EntradaCache(mapa, atual.carregadoEm());
+        });
+    }
+
+    private MapaOcupacaoDia carregar(Long barbeiroId, LocalDate data) {
+        List<Object[]> ocupados = transacaoLeitura.execute(status -> agendamentoRepository
+                .findHorariosOcupados(barbeiroId, data, STATUS_SEM_OCUPACAO));
+
+        MapaOcupacaoDia mapa = MapaOcupacaoDia.vazio();
+        for (Object[] ocupacao : ocupados) {
+            mapa = ocupar(mapa, (LocalTime) ocupacao[0], (LocalTime) ocupacao[1]);
+        }
+
+        log.debug("Ocupação carregada - barbeiro: {}, data: {}, agendamentos: {}",
+                barbeiroId, data, ocupados.size());
+        return mapa;
+    }
+
+    /**
+     * Mapa em cache ainda dentro da validade, ou null se ausente ou vencido.
+     */
+    private MapaOcupacaoDia vigente(ChaveAgenda chave) {
+        EntradaCache entrada = mapas.get(chave);
+        return entrada != null && entrada.valida(System.nanoTime(), validadeNanos) ? entrada.mapa() : null;
+    }
+
+    /**
+     * Armazena o mapa carregado, desde que nenhuma alteração tenha ocorrido durante a carga.
+     * Uma entrada vencida é substituída pela nova carga.
+     */
+    private MapaOcupacaoDia armazenar(ChaveAgenda chave, long versao, MapaOcupacaoDia carregado) {
+        long agora = System.nanoTime();
+        EntradaCache armazenada = mapas.compute(chave, (k, atual) -> {
+            if (atual != null && atual.valida(agora, validadeNanos)) {
+                return atual;
+            }
+            return versoes.getOrDefault(k, 0L) == versao ? new EntradaCache(carregado, agora) : null;
+        });
+
+        if (mapas.size() > LIMITE_ENTRADAS) {
+            descartarDatasPassadas();
+        }
+
+        return armazenada != null ? armazenada.mapa() : carregado;
+    }
+
+    private static MapaOcupacaoDia ocupar(MapaOcupacaoDia mapa, LocalTime inicio, LocalTime fim) {
+        return mapa.comOcupacao(MapaOcupacaoDia.minutoInicio(inicio), MapaOcupacaoDia.minutoFim(inicio, fim));
+    }
+
+    private void descartarDatasPassadas() {
+        LocalDate hoje = LocalDate.now();
+        mapas.keySet().removeIf(chave -> chave.data().isBefore(hoje));
+        versoes.keySet().removeIf(chave -> chave.data().isBefore(hoje));
+
+        if (mapas.size() > LIMITE_ENTRADAS) {
+            log.warn("Cache de ocupação acima do limite ({} entradas), limpando", mapas.size());
+            mapas.clear();
+        }
+    }
+
+    private record ChaveAgenda(Long barbeiroId, LocalDate data) {
+    }
+
+    /**
+     * Mapa em cache com o instante da carga do banco ({@link System#nanoTime()}).
+     */
+    private record EntradaCache(MapaOcupacaoDia mapa, long carregadoEm) {
+
+        boolean valida(long agora, long validadeNanos) {
+            return agora - carregadoEm < validadeNanos;
+        }
+    }
+}
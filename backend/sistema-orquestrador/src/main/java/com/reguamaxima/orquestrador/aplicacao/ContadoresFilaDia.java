@@ -0,0 +1,154 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.fila.ContadoresDia;
+import com.reguamaxima.orquestrador.dominio.repository.AtendimentoRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Estatísticas do dia de cada barbeiro (atendidos, cancelados, não compareceram
+ * e tempos médios) mantidas em memória.
+ * <p>
+ * Os contadores são atualizados após o commit de cada transição de status e
+ * iniciados do banco apenas na subida, de modo que o resumo da fila nunca agrega
+ * as linhas de atendimentos. Na virada do dia os contadores anteriores são
+ * descartados; o dia encerrado passa a ser lido do consolidado diário.
+ * <p>
+ * Como as filas em memória, pressupõe uma única instância: com
+ * {@code fila.memoria.habilitada} desligado, cada consulta agrega os
+ * atendimentos de hoje do barbeiro no banco.
+ */
+@Slf4j
+@Component
+public class ContadoresFilaDia {
+
+    private final AtendimentoRepository atendimentoRepository;
+    private final boolean memoriaHabilitada;
+
+    private final ConcurrentHashMap<Long, ContadoresDia> contadores = new ConcurrentHashMap<>();
+
+    public ContadoresFilaDia(
+            AtendimentoRepository atendimentoRepository,
+            @Value("${fila.memoria.habilitada:true}") boolean memoriaHabilitada) {
+        this.atendimentoRepository = atendimentoRepository;
+        this.memoriaHabilitada = memoriaHabilitada;
+    }
+
+    // ========== Recuperação ==========
+
+    /**
+     * Inicia os contadores com os atendimentos de hoje já gravados.
+     */
+    @PostConstruct
+    public void carregar() {
+        if (!memoriaHabilitada) {
+            return;
+        }
+
+        LocalDate hoje = LocalDate.now();
+        for (Object[] linha : atendimentoRepository.calcularContadoresDoDia(hoje)) {
+            contadores.put((Long) linha[0], contadoresDaLinha(linha, hoje));
+        }
+        log.info("Contadores do dia iniciados para {} barbeiros", contadores.size());
+    }
+
+    // ========== Leitura ==========
+
+    /**
+     * Contadores de hoje do barbeiro (zerados se ainda não houve movimento).
+     */
+    public ContadoresDia consultar(Long barbeiroId) {
+        LocalDate hoje = LocalDate.now();
+        if (!memoriaHabilitada) {
+            return atendimentoRepository.calcularContadoresDoBarbeiro(barbeiroId, hoje).stream()
+                    .findFirst()
+                    .map(linha -> contadoresDaLinha(linha, hoje))
+                    .orElseGet(() -> ContadoresDia.vazio(hoje));
+        }
+        return doDia(contadores.get(barbeiroId), hoje);
+    }
+
+    // ========== Escrita ==========
+
+    /**
+     * Registra o início de um atendimento do dia após o commit.
+     */
+    public void registrarInicio(Long barbeiroId, LocalDate data, long esperaMinutos) {
+        aposCommit(barbeiroId, data, atual -> atual.comInicio(esperaMinutos));
+    }
+
+    /**
+     * Registra a conclusão de um atendimento do dia após o commit.
+     */
+    public void registrarConclusao(Long barbeiroId, LocalDate data, long duracaoMinutos) {
+        aposCommit(barbeiroId, data, atual -> atual.comConclusao(duracaoMinutos));
+    }
+
+    /**
+     * Registra o cancelamento de um atendimento do dia após o commit.
+     */
+    public void registrarCancelamento(Long barbeiroId, LocalDate data) {
+        aposCommit(barbeiroId, data, ContadoresDia::comCancelamento);
+    }
+
+    /**
+     * Registra um não comparecimento do dia após o commit.
+     */
+    public void registrarNaoComparecimento(Long barbeiroId, LocalDate data) {
+        aposCommit(barbeiroId, data, ContadoresDia::comNaoComparecimento);
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    /**
+     * Aplica a alteração após o commit, apenas para atendimentos de hoje: dias
+     * anteriores já foram (ou serão) consolidados pelo fechamento diário.
+     */
+    private void aposCommit(Long barbeiroId, LocalDate data, UnaryOperator<ContadoresDia> alteracao) {
+        if (!memoriaHabilitada) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                LocalDate hoje = LocalDate.now();
+                if (data.equals(hoje)) {
+                    contadores.compute(barbeiroId, (id, atual) -> alteracao.apply(doDia(atual, hoje)));
+                }
+            }
+        });
+    }
+
+    private static ContadoresDia doDia(ContadoresDia contadoresDia, LocalDate hoje) {
+        return contadoresDia != null && contadoresDia.data().equals(hoje)
+                ? contadoresDia
+                : ContadoresDia.vazio(hoje);
+    }
+
+    private static ContadoresDia contadoresDaLinha(Object[] linha, LocalDate hoje) {
+        return new ContadoresDia(
+                hoje,
+                inteiro(linha[1]),
+                inteiro(linha[2]),
+                inteiro(linha[3]),
+                inteiro(linha[4]),
+                longo(linha[5]),
+                longo(linha[6]));
+    }
+
+    private static int inteiro(Object valor) {
+        return valor != null ? ((Number) valor).intValue() : 0;
+    }
+
+    private static long longo(Object valor) {
+        return valor != null ? ((Number) valor).longValue() : 0;
+    }
+}
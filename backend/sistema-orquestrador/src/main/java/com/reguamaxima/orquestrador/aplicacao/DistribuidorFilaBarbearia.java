@@ -0,0 +1,65 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.fila.EntradaFila;
+import com.reguamaxima.orquestrador.dominio.fila.FilaBarbeiro;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Distribuição da fila compartilhada de uma barbearia entre seus barbeiros.
+ * <p>
+ * Na entrada, o cliente vai para o barbeiro com menor término previsto da fila
+ * atual (espera estimada de quem entra agora). Na chamada, um barbeiro que ficou
+ * sem clientes puxa o cliente compartilhado que chegou primeiro na fila de um
+ * colega. Tudo é calculado sobre as filas em memória, sem acesso ao banco.
+ */
+@Component
+public class DistribuidorFilaBarbearia {
+
+    // Menor espera prevista; empate vai para a fila mais curta e depois para o menor id
+    private static final Comparator<Previsao> MENOR_ESPERA = Comparator
+            .comparingLong(Previsao::esperaMinutos)
+            .thenComparingInt(Previsao::aguardando)
+            .thenComparing(Previsao::barbeiroId);
+
+    private final MotorFilaAtendimento motorFila;
+    private final EstimadorEspera estimadorEspera;
+
+    public DistribuidorFilaBarbearia(MotorFilaAtendimento motorFila, EstimadorEspera estimadorEspera) {
+        this.motorFila = motorFila;
+        this.estimadorEspera = estimadorEspera;
+    }
+
+    /**
+     * Barbeiro que deve receber um novo cliente: o de menor espera prevista.
+     */
+    public Optional<Long> barbeiroComMenorEspera(Collection<Long> barbeiroIds) {
+        PriorityQueue<Previsao> previsoes = new PriorityQueue<>(MENOR_ESPERA);
+        for (Long barbeiroId : barbeiroIds) {
+            FilaBarbeiro fila = motorFila.consultar(barbeiroId);
+            long[] esperas = estimadorEspera.esperas(fila);
+            previsoes.add(new Previsao(barbeiroId, esperas[esperas.length - 1], fila.aguardando().size()));
+        }
+        return Optional.ofNullable(previsoes.peek()).map(Previsao::barbeiroId);
+    }
+
+    /**
+     * Clientes da fila compartilhada aguardando com os barbeiros informados,
+     * na ordem em que devem ser chamados (chegada mais antiga primeiro).
+     */
+    public List<EntradaFila> compartilhadosPorChegada(Collection<Long> barbeiroIds) {
+        return barbeiroIds.stream()
+                .flatMap(barbeiroId -> motorFila.consultar(barbeiroId).aguardando().stream())
+                .filter(EntradaFila::compartilhada)
+                .sorted(Comparator.comparing(EntradaFila::horaChegada).thenComparing(EntradaFila::atendimentoId))
+                .toList();
+    }
+
+    private record Previsao(Long barbeiroId, long esperaMinutos, int aguardando) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.fila.EntradaFila;
+import com.reguamaxima.orquestrador.dominio.fila.FilaBarbeiro;
+import com.reguamaxima.orquestrador.dominio.repository.AtendimentoRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimativa do tempo de espera na fila, sem acesso ao banco.
+ * <p>
+ * Mantém, por barbeiro e serviço, uma média móvel exponencial (EWMA) da duração
+ * dos atendimentos, atualizada a cada finalização. Sem histórico do par, usa a
+ * duração cadastrada do serviço. A espera de cada posição é o restante previsto
+ * do atendimento em andamento mais as durações previstas de quem está à frente,
+ * calculadas em uma única passada pela fila.
+ */
+@Slf4j
+@Component
+public class EstimadorEspera {
+
+    // Peso da duração mais recente na média (0..1): maior reage mais rápido a mudanças de ritmo
+    private static final double PESO_NOVA_AMOSTRA = 0.3;
+
+    // Histórico usado para iniciar as médias na subida da aplicação
+    private static final int DIAS_HISTORICO_INICIAL = 30;
+
+    // Duração assumida quando não há histórico nem duração cadastrada
+    private static final long DURACAO_PADRAO_MINUTOS = 30;
+
+    private final AtendimentoRepository atendimentoRepository;
+
+    private final ConcurrentHashMap<ChaveServico, Double> medias = new ConcurrentHashMap<>();
+
+    public EstimadorEspera(AtendimentoRepository atendimentoRepository) {
+        this.atendimentoRepository = atendimentoRepository;
+    }
+
+    // ========== Aprendizado ==========
+
+    /**
+     * Inicia as médias com a duração média recente de cada barbeiro e serviço.
+     */
+    @PostConstruct
+    public void carregar() {
+        LocalDate desde = LocalDate.now().minusDays(DIAS_HISTORICO_INICIAL);
+        for (Object[] linha : atendimentoRepository.calcularDuracaoMediaPorServico(desde)) {
+            if (linha[2] != null) {
+                medias.put(new ChaveServico((Long) linha[0], (Long) linha[1]), ((Number) linha[2]).doubleValue());
+            }
+        }
+        log.info("Estimador de espera iniciado com {} pares barbeiro/serviço", medias.size());
+    }
+
+    /**
+     * Registra a duração de um atendimento finalizado, após o commit da transação atual.
+     */
+    public void registrarDuracao(Long barbeiroId, Long servicoId, long minutos) {
+        if (minutos <= 0) {
+            // Finalização imediata (engano do barbeiro) distorceria a média
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                medias.merge(new ChaveServico(barbeiroId, servicoId), (double) minutos,
+                        (media, amostra) -> media + PESO_NOVA_AMOSTRA * (amostra - media));
+            }
+        });
+    }
+
+    // ========== Estimativas ==========
+
+    /**
+     * Espera estimada, em minutos, de cada posição da fila: o índice i corresponde à
+     * posição i + 1 e o último elemento à espera de quem entrar agora no fim da fila.
+     */
+    public long[] esperas(FilaBarbeiro fila) {
+        List<EntradaFila> aguardando = fila.aguardando();
+        long[] esperas = new long[aguardando.size() + 1];
+
+        esperas[0] = restanteEmAndamento(fila.emAtendimento(), LocalDateTime.now());
+        for (int i = 0; i < aguardando.size(); i++) {
+            esperas[i + 1] = esperas[i] + duracaoPrevista(aguardando.get(i));
+        }
+        return esperas;
+    }
+
+    /**
+     * Espera estimada do atendimento na fila, ou 0 se não estiver aguardando.
+     */
+    public long esperaEstimada(FilaBarbeiro fila, Long atendimentoId) {
+        int posicao = fila.posicao(atendimentoId);
+        return posicao > 0 ? esperas(fila)[posicao - 1] : 0;
+    }
+
+    /**
+     * Duração prevista do atendimento: média do barbeiro no serviço ou duração cadastrada.
+     */
+    private long duracaoPrevista(EntradaFila entrada) {
+        Double media = medias.get(new ChaveServico(entrada.barbeiroId(), entrada.servicoId()));
+        if (media != null) {
+            return Math.round(media);
+        }
+        return entrada.duracaoServicoMinutos() != null ? entrada.duracaoServicoMinutos() : DURACAO_PADRAO_MINUTOS;
+    }
+
+    private long restanteEmAndamento(EntradaFila emAtendimento, LocalDateTime agora) {
+        if (emAtendimento == null) {
+            return 0;
+        }
+        long decorrido = emAtendimento.horaInicio() != null
+                ? ChronoUnit.MINUTES.between(emAtendimento.horaInicio(), agora)
+                : 0;
+        return Math.max(duracaoPrevista(emAtendimento) - decorrido, 0);
+    }
+
+    private record ChaveServico(Long barbeiroId, Long servicoId) {
+    }
+}
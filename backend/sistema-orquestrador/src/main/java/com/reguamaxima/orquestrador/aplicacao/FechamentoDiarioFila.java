@@ -0,0 +1,97 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.config.AgendaProperties;
+import com.reguamaxima.orquestrador.dominio.repository.AtendimentoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.ResumoDiarioAtendimentoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Fechamento diário das filas de atendimento.
+ * <p>
+ * Logo após a virada do dia, encerra como cancelado quem ficou aguardando em dias
+ * anteriores (uma única atualização) e grava em atendimentos_resumo_diario o
+ * consolidado de cada barbeiro por dia. Os últimos
+ * {@link AgendaProperties.Fechamento#getDiasReconsolidacao()} dias são
+ * reconsolidados a cada execução, cobrindo execuções perdidas; a gravação é
+ * idempotente. Atendimentos deixados em andamento não são alterados.
+ */
+@Slf4j
+@Component
+public class FechamentoDiarioFila {
+
+    private static final String MOTIVO_ENCERRAMENTO = "Fila encerrada ao fim do dia";
+
+    private final AtendimentoRepository atendimentoRepository;
+    private final ResumoDiarioAtendimentoRepository resumoDiarioRepository;
+    private final AgendaProperties.Fechamento config;
+    private final TransactionTemplate transacao;
+
+    private final Counter esperasEncerradas;
+    private final Counter diasConsolidados;
+    private final Timer duracao;
+
+    public FechamentoDiarioFila(
+            AtendimentoRepository atendimentoRepository,
+            ResumoDiarioAtendimentoRepository resumoDiarioRepository,
+            AgendaProperties agendaProperties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.atendimentoRepository = atendimentoRepository;
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.config = agendaProperties.getFechamento();
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.esperasEncerradas = Counter.builder("fila.fechamento.encerrados")
+                .description("Atendimentos aguardando encerrados no fechamento do dia")
+                .register(meterRegistry);
+        this.diasConsolidados = Counter.builder("fila.fechamento.dias")
+                .description("Dias consolidados no resumo diário")
+                .register(meterRegistry);
+        this.duracao = Timer.builder("fila.fechamento.duracao")
+                .description("Duração de cada execução do fechamento diário")
+                .register(meterRegistry);
+    }
+
+    // ========== Execução ==========
+
+    /**
+     * Encerra a espera dos dias anteriores e consolida os últimos dias.
+     */
+    @Scheduled(cron = "${agenda.fechamento.cron:0 5 0 * * *}")
+    public void executar() {
+        if (!config.isHabilitado()) {
+            return;
+        }
+
+        duracao.record(() -> {
+            LocalDate hoje = LocalDate.now();
+
+            Integer encerrados = transacao.execute(status ->
+                    atendimentoRepository.encerrarEsperaAnteriorA(hoje, MOTIVO_ENCERRAMENTO));
+            int quantidade = encerrados != null ? encerrados : 0;
+            esperasEncerradas.increment(quantidade);
+
+            // Consolida depois de encerrar, para que os encerrados entrem como cancelados
+            LocalDate inicio = hoje.minusDays(Math.max(config.getDiasReconsolidacao(), 1));
+            for (LocalDate data = inicio; data.isBefore(hoje); data = data.plusDays(1)) {
+                LocalDate dia = data;
+                transacao.executeWithoutResult(status -> resumoDiarioRepository.consolidarDia(dia));
+                diasConsolidados.increment();
+            }
+
+            log.info("Fechamento diário: {} atendimentos aguardando encerrados, dias {} a {} consolidados",
+                    quantidade, inicio, hoje.minusDays(1));
+        });
+    }
+}
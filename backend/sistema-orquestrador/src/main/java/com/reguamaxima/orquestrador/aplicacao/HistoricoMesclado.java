@@ -0,0 +1,64 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Mescla listagens da tabela principal com as da tabela de arquivo.
+ * As duas fontes já vêm ordenadas pela mesma chave; a mescla mantém a ordem
+ * sem recarregar nada, e a paginação continua transparente para o cliente.
+ */
+final class HistoricoMesclado {
+
+    private HistoricoMesclado() {
+    }
+
+    /**
+     * Intercala duas listas ordenadas pela mesma ordem, retornando no máximo {@code limite} itens.
+     */
+    static <T> List<T> mesclar(List<T> recentes, List<T> arquivados, Comparator<T> ordem, int limite) {
+        if (arquivados.isEmpty()) {
+            return recentes.size() <= limite ? recentes : recentes.subList(0, limite);
+        }
+
+        List<T> resultado = new ArrayList<>(Math.min(limite, recentes.size() + arquivados.size()));
+        int i = 0;
+        int j = 0;
+        while (resultado.size() < limite && (i < recentes.size() || j < arquivados.size())) {
+            if (j >= arquivados.size()
+                    || (i < recentes.size() && ordem.compare(recentes.get(i), arquivados.get(j)) <= 0)) {
+                resultado.add(recentes.get(i++));
+            } else {
+                resultado.add(arquivados.get(j++));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Monta uma página por offset sobre as duas fontes: busca os primeiros
+     * (offset + tamanho) itens de cada uma, mescla e recorta a página pedida.
+     *
+     * @param recentes   primeiros N itens da tabela principal
+     * @param arquivados primeiros N itens da tabela de arquivo
+     * @param total      total de itens somando as duas tabelas
+     */
+    static <T> Page<T> pagina(
+            Pageable pageable,
+            IntFunction<List<T>> recentes,
+            IntFunction<List<T>> arquivados,
+            Comparator<T> ordem,
+            long total) {
+        int ate = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        List<T> mesclados = mesclar(recentes.apply(ate), arquivados.apply(ate), ordem, ate);
+
+        int inicio = (int) Math.min(pageable.getOffset(), mesclados.size());
+        return new PageImpl<>(mesclados.subList(inicio, mesclados.size()), pageable, total);
+    }
+}
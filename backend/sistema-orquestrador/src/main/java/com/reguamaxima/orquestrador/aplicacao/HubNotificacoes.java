@@ -0,0 +1,241 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.dto.NotificacaoAgendaDTO;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+import com.reguamaxima.orquestrador.dominio.evento.AgendaBarbeariaAlteradaEvento;
+import com.reguamaxima.orquestrador.dominio.evento.AgendamentoAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.evento.FilaBarbeiroAlteradaEvento;
+import com.reguamaxima.orquestrador.dominio.evento.StatusBarbeariaAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Hub de notificações em tempo real (Server-Sent Events).
+ * <p>
+ * Clientes se inscrevem em tópicos — fila de um barbeiro, agenda de um
+ * barbeiro ou status de uma barbearia — e recebem o estado atual a cada
+ * alteração, em vez de consultar periodicamente. Eventos de tópicos sem
+ * inscritos são descartados. Rajadas de alterações do mesmo tópico dentro
+ * da janela de agrupamento geram um único envio, e o conteúdo é montado
+ * uma vez por tópico e repassado a todos os inscritos em threads virtuais.
+ */
+@Slf4j
+@Component
+public class HubNotificacoes {
+
+    // Conexões são encerradas após este tempo; o EventSource do cliente reconecta sozinho
+    private static final long TIMEOUT_CONEXAO_MS = Duration.ofMinutes(30).toMillis();
+
+    // Janela em que alterações do mesmo tópico são agrupadas num único envio
+    private static final long JANELA_AGRUPAMENTO_MS = 250;
+
+    private final ServicoAtendimento servicoAtendimento;
+    private final ServicoSessaoTrabalho servicoSessaoTrabalho;
+    private final BarbeiroRepository barbeiroRepository;
+
+    private final ConcurrentHashMap<Topico, Set<SseEmitter>> inscritos = new ConcurrentHashMap<>();
+    private final Set<Topico> pendentes = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Topico> filaEnvio = new LinkedBlockingQueue<>();
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread despachante;
+
+    public HubNotificacoes(
+            ServicoAtendimento servicoAtendimento,
+            ServicoSessaoTrabalho servicoSessaoTrabalho,
+            BarbeiroRepository barbeiroRepository) {
+        this.servicoAtendimento = servicoAtendimento;
+        this.servicoSessaoTrabalho = servicoSessaoTrabalho;
+        this.barbeiroRepository = barbeiroRepository;
+        this.despachante = Thread.ofVirtual().name("hub-notificacoes").start(this::despachar);
+    }
+
+    // ========== Inscrição ==========
+
+    /**
+     * Inscreve na fila de atendimentos do barbeiro. Envia a fila atual imediatamente.
+     */
+    public SseEmitter inscreverFila(Long barbeiroId) {
+        return inscrever(new Topico(Canal.FILA_BARBEIRO, barbeiroId));
+    }
+
+    /**
+     * Inscreve no status da barbearia. Envia o status atual imediatamente.
+     */
+    public SseEmitter inscreverStatusBarbearia(Long barbeariaId) {
+        return inscrever(new Topico(Canal.STATUS_BARBEARIA, barbeariaId));
+    }
+
+    /**
+     * Inscreve o barbeiro logado nos avisos de alteração da própria agenda.
+     */
+    public SseEmitter inscreverAgenda(Long usuarioIdBarbeiro) {
+        Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
+                .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
+        return inscrever(new Topico(Canal.AGENDA_BARBEIRO, barbeiro.getId()));
+    }
+
+    // ========== Eventos ==========
+
+    @TransactionalEventListener
+    public void aoAlterarFila(FilaBarbeiroAlteradaEvento evento) {
+        marcarAlterado(new Topico(Canal.FILA_BARBEIRO, evento.barbeiroId()));
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarAgendamento(AgendamentoAlteradoEvento evento) {
+        marcarAlterado(new Topico(Canal.AGENDA_BARBEIRO, evento.barbeiroId()));
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarStatusBarbearia(StatusBarbeariaAlteradoEvento evento) {
+        marcarAlterado(new Topico(Canal.STATUS_BARBEARIA, evento.barbeariaId()));
+    }
+
+    /**
+     * Horários e folgas alteram o expediente de hoje exibido no status.
+     */
+    @TransactionalEventListener
+    public void aoAlterarAgendaBarbearia(AgendaBarbeariaAlteradaEvento evento) {
+        marcarAlterado(new Topico(Canal.STATUS_BARBEARIA, evento.barbeariaId()));
+    }
+
+    // ========== Manutenção ==========
+
+    /**
+     * Envia comentário periódico para manter conexões abertas através de proxies.
+     */
+    @Scheduled(fixedRate = 25_000, initialDelay = 25_000)
+    public void enviarHeartbeat() {
+        inscritos.forEach((topico, emissores) -> emissores.forEach(emissor -> envios.execute(() ->
+                enviar(topico, emissor, SseEmitter.event().comment("heartbeat")))));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        despachante.interrupt();
+        envios.shutdownNow();
+        inscritos.values().forEach(emissores -> emissores.forEach(SseEmitter::complete));
+        inscritos.clear();
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private SseEmitter inscrever(Topico topico) {
+        Object conteudo = montarConteudo(topico);
+
+        SseEmitter emissor = new SseEmitter(TIMEOUT_CONEXAO_MS);
+        emissor.onCompletion(() -> remover(topico, emissor));
+        emissor.onTimeout(() -> remover(topico, emissor));
+        emissor.onError(erro -> remover(topico, emissor));
+
+        inscritos.computeIfAbsent(topico, chave -> ConcurrentHashMap.newKeySet()).add(emissor);
+        enviar(topico, emissor, SseEmitter.event().name(topico.canal().evento).data(conteudo));
+
+        log.debug("Inscrição em {} - inscritos no tópico: {}", topico, inscritos.get(topico).size());
+        return emissor;
+    }
+
+    private void remover(Topico topico, SseEmitter emissor) {
+        inscritos.computeIfPresent(topico, (chave, emissores) -> {
+            emissores.remove(emissor);
+            return emissores.isEmpty() ? null : emissores;
+        });
+    }
+
+    private void marcarAlterado(Topico topico) {
+        if (inscritos.containsKey(topico) && pendentes.add(topico)) {
+            filaEnvio.offer(topico);
+        }
+    }
+
+    /**
+     * Laço do despachante: aguarda o primeiro tópico alterado, espera a janela
+     * de agrupamento e envia uma vez cada tópico acumulado no período.
+     */
+    private void despachar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Set<Topico> lote = new HashSet<>();
+                lote.add(filaEnvio.take());
+                Thread.sleep(JANELA_AGRUPAMENTO_MS);
+                filaEnvio.drainTo(lote);
+                lote.forEach(pendentes::remove);
+                lote.forEach(this::difundir);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao despachar notificações: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void difundir(Topico topico) {
+        Set<SseEmitter> emissores = inscritos.get(topico);
+        if (emissores == null || emissores.isEmpty()) {
+            return;
+        }
+
+        Object conteudo;
+        try {
+            conteudo = montarConteudo(topico);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao montar notificação de {}: {}", topico, e.getMessage());
+            return;
+        }
+
+        for (SseEmitter emissor : emissores) {
+            envios.execute(() -> enviar(topico, emissor,
+                    SseEmitter.event().name(topico.canal().evento).data(conteudo)));
+        }
+    }
+
+    private Object montarConteudo(Topico topico) {
+        return switch (topico.canal()) {
+            case FILA_BARBEIRO -> servicoAtendimento.buscarFilaDoBarbeiro(topico.id());
+            case STATUS_BARBEARIA -> servicoSessaoTrabalho.verificarStatusBarbearia(topico.id());
+            case AGENDA_BARBEIRO -> new NotificacaoAgendaDTO(topico.id(), LocalDateTime.now());
+        };
+    }
+
+    private void enviar(Topico topico, SseEmitter emissor, SseEmitter.SseEventBuilder evento) {
+        try {
+            emissor.send(evento);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: descarta a conexão
+            remover(topico, emissor);
+            emissor.completeWithError(e);
+        }
+    }
+
+    private enum Canal {
+        FILA_BARBEIRO("fila"),
+        AGENDA_BARBEIRO("agenda"),
+        STATUS_BARBEARIA("status");
+
+        private final String evento;
+
+        Canal(String evento) {
+            this.evento = evento;
+        }
+    }
+
+    private record Topico(Canal canal, Long id) {
+    }
+}
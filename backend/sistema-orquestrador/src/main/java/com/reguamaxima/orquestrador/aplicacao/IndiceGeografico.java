@@ -0,0 +1,287 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+import com.reguamaxima.orquestrador.dominio.evento.PontoMapaAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.geo.CaixaEnvolvente;
+import com.reguamaxima.orquestrador.dominio.geo.GradeGeografica;
+import com.reguamaxima.orquestrador.dominio.geo.PontoProximo;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Índice geográfico em memória das barbearias ativas e dos barbeiros visíveis
+ * no mapa, usado nas buscas por proximidade.
+ * <p>
+ * Cada busca consulta a grade ({@link GradeGeografica}) apenas nas células do
+ * raio, com distância exata só para os candidatos, e carrega as entidades
+ * encontradas por ID. A busca pelos mais próximos pagina por (distância, id) e
+ * expande a área só até a página estar garantida. Criações e alterações de
+ * posição ou visibilidade chegam por {@link PontoMapaAlteradoEvento} após o
+ * commit; a reconstrução periódica a partir do banco cobre alterações feitas
+ * por fora dos serviços.
+ * <p>
+ * Até a primeira carga terminar, ou com {@code busca.indice-geografico.habilitado}
+ * desligado, as buscas usam as consultas do banco, que filtram pelo SPATIAL INDEX
+ * da coluna {@code localizacao}. A grade pressupõe uma única instância da
+ * aplicação, como as filas em memória; com várias instâncias, desligue-a.
+ */
+@Slf4j
+@Component
+public class IndiceGeografico {
+
+    // Lado de cada célula da grade (~5,5 km de latitude): poucas células por busca de 10 km
+    private static final double TAMANHO_CELULA_GRAUS = 0.05;
+
+    // Raio da primeira consulta ao banco na busca pelos mais próximos; dobra enquanto faltarem resultados
+    private static final double RAIO_INICIAL_BANCO_KM = 2.0;
+
+    private final BarbeariaRepository barbeariaRepository;
+    private final BarbeiroRepository barbeiroRepository;
+    private final boolean habilitado;
+
+    private volatile GradeGeografica barbearias;
+    private volatile GradeGeografica barbeiros;
+
+    public IndiceGeografico(
+            BarbeariaRepository barbeariaRepository,
+            BarbeiroRepository barbeiroRepository,
+            @Value("${busca.indice-geografico.habilitado:true}") boolean habilitado) {
+        this.barbeariaRepository = barbeariaRepository;
+        this.barbeiroRepository = barbeiroRepository;
+        this.habilitado = habilitado;
+    }
+
+    // ========== Consultas ==========
+
+    /**
+     * Barbearias ativas a até {@code raioKm} da origem, da mais próxima à mais distante.
+     */
+    public List<BarbeariaProxima> barbeariasProximas(double latitude, double longitude, double raioKm) {
+        GradeGeografica grade = barbearias;
+        List<PontoProximo> pontos = grade != null
+                ? grade.buscarNoRaio(latitude, longitude, raioKm)
+                : pontos(barbeariaRepository.findProximas(latitude, longitude, raioKm,
+                        CaixaEnvolvente.doRaio(latitude, longitude, raioKm).wkt()));
+        return carregarBarbearias(pontos);
+    }
+
+    /**
+     * Barbeiros ativos e visíveis no mapa a até {@code raioKm} da origem, do mais próximo ao mais distante.
+     */
+    public List<BarbeiroProximo> barbeirosProximos(double latitude, double longitude, double raioKm) {
+        GradeGeografica grade = barbeiros;
+        List<PontoProximo> pontos = grade != null
+                ? grade.buscarNoRaio(latitude, longitude, raioKm)
+                : pontos(barbeiroRepository.findBarbeirosProximos(latitude, longitude, raioKm,
+                        CaixaEnvolvente.doRaio(latitude, longitude, raioKm).wkt()));
+        return carregarBarbeiros(pontos);
+    }
+
+    /**
+     * As {@code quantidade} barbearias ativas mais próximas da origem a até {@code raioMaximoKm},
+     * em ordem de (distância, id) e depois de {@code apos} (ou do início, se nulo).
+     */
+    public List<BarbeariaProxima> barbeariasMaisProximas(double latitude, double longitude, int quantidade,
+            double raioMaximoKm, PontoProximo apos) {
+        GradeGeografica grade = barbearias;
+        return maisProximos(quantidade, apos, this::carregarBarbearias, BarbeariaProxima::ponto,
+                (faltam, cursor) -> grade != null
+                        ? grade.buscarMaisProximos(latitude, longitude, faltam, raioMaximoKm, cursor)
+                        : maisProximosNoBanco(barbeariaRepository::findMaisProximasApos,
+                                latitude, longitude, faltam, raioMaximoKm, cursor));
+    }
+
+    /**
+     * Os {@code quantidade} barbeiros ativos e visíveis no mapa mais próximos da origem a até
+     * {@code raioMaximoKm}, em ordem de (distância, id) e depois de {@code apos} (ou do início, se nulo).
+     */
+    public List<BarbeiroProximo> barbeirosMaisProximos(double latitude, double longitude, int quantidade,
+            double raioMaximoKm, PontoProximo apos) {
+        GradeGeografica grade = barbeiros;
+        return maisProximos(quantidade, apos, this::carregarBarbeiros, BarbeiroProximo::ponto,
+                (faltam, cursor) -> grade != null
+                        ? grade.buscarMaisProximos(latitude, longitude, faltam, raioMaximoKm, cursor)
+                        : maisProximosNoBanco(barbeiroRepository::findMaisProximosApos,
+                                latitude, longitude, faltam, raioMaximoKm, cursor));
+    }
+
+    // ========== Manutenção ==========
+
+    /**
+     * Remonta as duas grades a partir do banco e substitui as atuais.
+     * Executa logo após a subida e depois periodicamente. Desligado, as grades
+     * nunca são carregadas e as buscas ficam sempre no banco.
+     */
+    @Scheduled(initialDelay = 0, fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public synchronized void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        GradeGeografica novasBarbearias = montar(barbeariaRepository.findCoordenadasAtivas());
+        GradeGeografica novosBarbeiros = montar(barbeiroRepository.findCoordenadasVisiveisMapa());
+        barbearias = novasBarbearias;
+        barbeiros = novosBarbeiros;
+        log.debug("Índice geográfico reconstruído: {} barbearias, {} barbeiros",
+                novasBarbearias.tamanho(), novosBarbeiros.tamanho());
+    }
+
+    /**
+     * Aplica a posição e a visibilidade atuais do ponto. Sincronizado com a
+     * reconstrução para que uma alteração não se perca na troca das grades.
+     */
+    @TransactionalEventListener
+    public synchronized void aoAlterarPontoMapa(PontoMapaAlteradoEvento evento) {
+        GradeGeografica grade = evento.tipo() == PontoMapaAlteradoEvento.Tipo.BARBEARIA ? barbearias : barbeiros;
+        if (grade == null) {
+            // Ainda não carregado: a primeira carga lê o estado já gravado
+            return;
+        }
+        if (evento.indexavel()) {
+            grade.inserir(evento.id(), evento.latitude(), evento.longitude());
+        } else {
+            grade.remover(evento.id());
+        }
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private List<BarbeariaProxima> carregarBarbearias(List<PontoProximo> pontos) {
+        if (pontos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Barbearia> porId = barbeariaRepository.findAllById(ids(pontos)).stream()
+                .collect(Collectors.toMap(Barbearia::getId, Function.identity()));
+
+        // Na ordem da busca, descartando o que mudou desde a última atualização
+        return pontos.stream()
+                .filter(ponto -> porId.containsKey(ponto.id()))
+                .filter(ponto -> Boolean.TRUE.equals(porId.get(ponto.id()).getAtivo()))
+                .map(ponto -> new BarbeariaProxima(porId.get(ponto.id()), ponto.distanciaKm()))
+                .toList();
+    }
+
+    private List<BarbeiroProximo> carregarBarbeiros(List<PontoProximo> pontos) {
+        if (pontos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Barbeiro> porId = barbeiroRepository.findByIdInComUsuario(ids(pontos)).stream()
+                .collect(Collectors.toMap(Barbeiro::getId, Function.identity()));
+
+        return pontos.stream()
+                .filter(ponto -> porId.containsKey(ponto.id()))
+                .filter(ponto -> Boolean.TRUE.equals(porId.get(ponto.id()).getAtivo())
+                        && Boolean.TRUE.equals(porId.get(ponto.id()).getVisivelMapa()))
+                .map(ponto -> new BarbeiroProximo(porId.get(ponto.id()), ponto.distanciaKm()))
+                .toList();
+    }
+
+    /**
+     * Busca os mais próximos em lotes até completar {@code quantidade}: pontos
+     * descartados ao carregar (alterados desde a última atualização) são
+     * repostos pelos seguintes, para que a página só venha curta no fim da busca.
+     */
+    private static <T> List<T> maisProximos(int quantidade, PontoProximo apos,
+            Function<List<PontoProximo>, List<T>> carregar, Function<T, PontoProximo> ponto,
+            BiFunction<Integer, PontoProximo, List<PontoProximo>> buscar) {
+        List<T> encontrados = new ArrayList<>();
+        PontoProximo cursor = apos;
+        while (encontrados.size() < quantidade) {
+            int faltam = quantidade - encontrados.size();
+            List<PontoProximo> pontos = buscar.apply(faltam, cursor);
+            List<T> carregados = carregar.apply(pontos);
+            encontrados.addAll(carregados);
+            if (pontos.size() < faltam) {
+                break;
+            }
+            cursor = pontos.get(pontos.size() - 1);
+        }
+        return encontrados;
+    }
+
+    /**
+     * Mais próximos pelo banco, com raio crescente a partir do cursor: cada
+     * consulta usa a caixa envolvente do raio atual e o raio só dobra enquanto
+     * faltarem resultados, até {@code raioMaximoKm}.
+     */
+    private static List<PontoProximo> maisProximosNoBanco(ConsultaMaisProximos consulta, double latitude,
+            double longitude, int quantidade, double raioMaximoKm, PontoProximo apos) {
+        double distanciaApos = apos != null ? apos.distanciaKm() : -1.0;
+        long idApos = apos != null ? apos.id() : 0L;
+        double raio = Math.min(Math.max(distanciaApos, 0.0) + RAIO_INICIAL_BANCO_KM, raioMaximoKm);
+        while (true) {
+            List<PontoProximo> pontos = pontos(consulta.buscar(latitude, longitude, raio,
+                    CaixaEnvolvente.doRaio(latitude, longitude, raio).wkt(), distanciaApos, idApos, quantidade));
+            if (pontos.size() >= quantidade || raio >= raioMaximoKm) {
+                return pontos;
+            }
+            raio = Math.min(raio * 2, raioMaximoKm);
+        }
+    }
+
+    private static GradeGeografica montar(List<Object[]> coordenadas) {
+        GradeGeografica grade = new GradeGeografica(TAMANHO_CELULA_GRAUS);
+        for (Object[] linha : coordenadas) {
+            grade.inserir((Long) linha[0], (Double) linha[1], (Double) linha[2]);
+        }
+        return grade;
+    }
+
+    private static List<PontoProximo> pontos(List<Object[]> linhas) {
+        return linhas.stream()
+                .map(linha -> new PontoProximo(((Number) linha[0]).longValue(), ((Number) linha[1]).doubleValue()))
+                .toList();
+    }
+
+    private static List<Long> ids(List<PontoProximo> pontos) {
+        return pontos.stream().map(PontoProximo::id).toList();
+    }
+
+    /**
+     * Barbearia encontrada com a distância até a origem.
+     */
+    public record BarbeariaProxima(Barbearia barbearia, double distanciaKm) {
+
+        /**
+         * Chave de ordenação (distância, id) da barbearia na busca.
+         */
+        public PontoProximo ponto() {
+            return new PontoProximo(barbearia.getId(), distanciaKm);
+        }
+    }
+
+    /**
+     * Barbeiro encontrado com a distância até a origem.
+     */
+    public record BarbeiroProximo(Barbeiro barbeiro, double distanciaKm) {
+
+        /**
+         * Chave de ordenação (distância, id) do barbeiro na busca.
+         */
+        public PontoProximo ponto() {
+            return new PontoProximo(barbeiro.getId(), distanciaKm);
+        }
+    }
+
+    /**
+     * Consulta paginada dos mais próximos no repositório (ver findMaisProximasApos).
+     */
+    @FunctionalInterface
+    private interface ConsultaMaisProximos {
+        List<Object[]> buscar(Double latitude, Double longitude, Double raioKm, String caixa,
+                Double distanciaApos, Long idApos, int limite);
+    }
+}
@@ -0,0 +1,312 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimento;
+import com.reguamaxima.orquestrador.dominio.fila.EntradaFila;
+import com.reguamaxima.orquestrador.dominio.fila.FilaBarbeiro;
+import com.reguamaxima.orquestrador.dominio.repository.AtendimentoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Filas de atendimento em memória, uma por barbeiro, autoritativas para
+ * ordem e posição dos clientes.
+ * <p>
+ * Cada fila tem um único escritor por vez: o serviço trava a fila do barbeiro
+ * com {@link #travar(Long)} antes de validar e gravar, a trava dura até o fim
+ * da transação e as alterações são aplicadas em memória somente após o commit.
+ * Leituras não travam: o estado da fila é imutável e substituído a cada
+ * alteração. A ordem persistida é a chave esparsa ordem_fila de cada
+ * atendimento, e as filas do dia são reconstruídas do banco na subida.
+ * <p>
+ * As filas e travas em memória pressupõem uma única instância da aplicação.
+ * Com {@code fila.memoria.habilitada} desligado (várias instâncias), o banco é
+ * o dono da ordem e das posições: a trava é a linha do barbeiro
+ * ({@code SELECT ... FOR UPDATE}), cada consulta lê a fila das linhas de
+ * atendimento e as alterações após o commit não têm o que aplicar.
+ */
+@Slf4j
+@Component
+public class MotorFilaAtendimento {
+
+    // Tempo máximo de espera pela trava da fila de um barbeiro
+    private static final long ESPERA_TRAVA_SEGUNDOS = 5;
+
+    private final AtendimentoRepository atendimentoRepository;
+    private final BarbeiroRepository barbeiroRepository;
+    private final boolean memoriaHabilitada;
+
+    private final ConcurrentHashMap<Long, EstadoFila> filas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> barbeiroPorCliente = new ConcurrentHashMap<>();
+
+    public MotorFilaAtendimento(
+            AtendimentoRepository atendimentoRepository,
+            BarbeiroRepository barbeiroRepository,
+            @Value("${fila.memoria.habilitada:true}") boolean memoriaHabilitada) {
+        this.atendimentoRepository = atendimentoRepository;
+        this.barbeiroRepository = barbeiroRepository;
+        this.memoriaHabilitada = memoriaHabilitada;
+    }
+
+    // ========== Recuperação ==========
+
+    /**
+     * Reconstrói as filas do dia a partir do banco.
+     */
+    @PostConstruct
+    public void recuperar() {
+        if (!memoriaHabilitada) {
+            log.info("Filas de atendimento em memória desligadas: ordem e travas ficam no banco");
+            return;
+        }
+
+        LocalDate hoje = LocalDate.now();
+
+        for (EntradaFila entrada : atendimentoRepository.findEntradasFila(hoje, StatusAtendimento.EM_ATENDIMENTO)) {
+            EstadoFila estado = estado(entrada.barbeiroId());
+            estado.fila = new FilaBarbeiro(entrada.barbeiroId(), hoje, entrada, estado.fila.aguardando());
+            barbeiroPorCliente.put(entrada.clienteId(), entrada.barbeiroId());
+        }
+        for (EntradaFila entrada : atendimentoRepository.findEntradasFila(hoje, StatusAtendimento.AGUARDANDO)) {
+            EstadoFila estado = estado(entrada.barbeiroId());
+            estado.fila = estado.fila.comEntrada(entrada);
+            barbeiroPorCliente.put(entrada.clienteId(), entrada.barbeiroId());
+        }
+
+        log.info("Filas de atendimento recuperadas: {} barbeiros, {} clientes", filas.size(), barbeiroPorCliente.size());
+    }
+
+    // ========== Leitura ==========
+
+    /**
+     * Estado atual da fila do barbeiro hoje (sem trava).
+     */
+    public FilaBarbeiro consultar(Long barbeiroId) {
+        if (!memoriaHabilitada) {
+            return carregar(barbeiroId);
+        }
+        EstadoFila estado = filas.get(barbeiroId);
+        return estado != null ? doDia(estado.fila, barbeiroId) : FilaBarbeiro.vazia(barbeiroId, LocalDate.now());
+    }
+
+    /**
+     * Fila em que o cliente está hoje, se estiver em alguma.
+     */
+    public Optional<FilaBarbeiro> filaDoCliente(Long clienteId) {
+        Long barbeiroId = memoriaHabilitada
+                ? barbeiroPorCliente.get(clienteId)
+                : atendimentoRepository.findBarbeirosDaFilaDoCliente(clienteId, LocalDate.now()).stream()
+                        .findFirst()
+                        .orElse(null);
+        if (barbeiroId == null) {
+            return Optional.empty();
+        }
+        FilaBarbeiro fila = consultar(barbeiroId);
+        boolean presente = (fila.emAtendimento() != null && fila.emAtendimento().clienteId().equals(clienteId))
+                || fila.aguardando().stream().anyMatch(entrada -> entrada.clienteId().equals(clienteId));
+        return presente ? Optional.of(fila) : Optional.empty();
+    }
+
+    /**
+     * Verifica se o cliente está aguardando ou em atendimento em alguma fila hoje.
+     */
+    public boolean clienteEstaEmFila(Long clienteId) {
+        return filaDoCliente(clienteId).isPresent();
+    }
+
+    // ========== Escrita ==========
+
+    /**
+     * Trava a fila do barbeiro até o fim da transação atual e retorna seu estado.
+     * Deve ser chamado antes de qualquer validação baseada na fila.
+     *
+     * @throws IllegalStateException se a fila estiver ocupada por outra operação
+     */
+    public FilaBarbeiro travar(Long barbeiroId) {
+        exigirTransacao();
+
+        if (!memoriaHabilitada) {
+            try {
+                barbeiroRepository.travarFila(barbeiroId);
+            } catch (PessimisticLockingFailureException e) {
+                throw new IllegalStateException("Fila ocupada no momento. Tente novamente.");
+            }
+            return carregar(barbeiroId);
+        }
+
+        EstadoFila estado = estado(barbeiroId);
+        try {
+            if (!estado.trava.tryLock(ESPERA_TRAVA_SEGUNDOS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Fila ocupada no momento. Tente novamente.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operação na fila interrompida");
+        }
+
+        liberarAoFinal(estado);
+        return doDia(estado.fila, barbeiroId);
+    }
+
+    /**
+     * Como {@link #travar(Long)}, mas sem esperar: vazio se a fila estiver ocupada.
+     * Usado ao travar a fila de outro barbeiro já segurando a própria.
+     */
+    public Optional<FilaBarbeiro> tentarTravar(Long barbeiroId) {
+        exigirTransacao();
+
+        if (!memoriaHabilitada) {
+            return barbeiroRepository.tentarTravarFila(barbeiroId).map(this::carregar);
+        }
+
+        EstadoFila estado = estado(barbeiroId);
+        if (!estado.trava.tryLock()) {
+            return Optional.empty();
+        }
+
+        liberarAoFinal(estado);
+        return Optional.of(doDia(estado.fila, barbeiroId));
+    }
+
+    /**
+     * Adiciona o cliente ao fim da espera após o commit.
+     */
+    public void enfileirar(EntradaFila entrada) {
+        aposCommit(entrada.barbeiroId(), fila -> fila.comEntrada(entrada));
+        aposCommit(() -> barbeiroPorCliente.put(entrada.clienteId(), entrada.barbeiroId()));
+    }
+
+    /**
+     * Altera a chave de ordenação de um cliente aguardando após o commit.
+     */
+    public void reordenar(Long barbeiroId, Long atendimentoId, long ordem) {
+        aposCommit(barbeiroId, fila -> fila.comOrdem(atendimentoId, ordem));
+    }
+
+    /**
+     * Redistribui as chaves de ordenação da espera após o commit.
+     */
+    public void redistribuir(Long barbeiroId) {
+        aposCommit(barbeiroId, FilaBarbeiro::comOrdensRedistribuidas);
+    }
+
+    /**
+     * Coloca o atendimento em andamento após o commit.
+     */
+    public void iniciar(Long barbeiroId, Long atendimentoId, LocalDateTime inicio) {
+        aposCommit(barbeiroId, fila -> fila.comInicio(atendimentoId, inicio));
+    }
+
+    /**
+     * Encerra o atendimento em andamento após o commit.
+     */
+    public void finalizar(Long barbeiroId, Long clienteId) {
+        aposCommit(barbeiroId, FilaBarbeiro::semAtendimentoEmAndamento);
+        aposCommit(() -> barbeiroPorCliente.remove(clienteId, barbeiroId));
+    }
+
+    /**
+     * Remove o atendimento da fila (cancelamento ou não comparecimento) após o commit.
+     */
+    public void remover(Long barbeiroId, Long atendimentoId, Long clienteId) {
+        aposCommit(barbeiroId, fila -> fila.semAtendimento(atendimentoId));
+        aposCommit(() -> barbeiroPorCliente.remove(clienteId, barbeiroId));
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private static void exigirTransacao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Alterações na fila exigem uma transação ativa");
+        }
+    }
+
+    private static void liberarAoFinal(EstadoFila estado) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                estado.trava.unlock();
+            }
+        });
+    }
+
+    private EstadoFila estado(Long barbeiroId) {
+        return filas.computeIfAbsent(barbeiroId, id -> new EstadoFila(FilaBarbeiro.vazia(id, LocalDate.now())));
+    }
+
+    /**
+     * Lê a fila de hoje do barbeiro das linhas de atendimento (filas fora da memória).
+     */
+    private FilaBarbeiro carregar(Long barbeiroId) {
+        LocalDate hoje = LocalDate.now();
+        List<EntradaFila> emAtendimento = atendimentoRepository.findEntradasFilaDoBarbeiro(
+                barbeiroId, hoje, StatusAtendimento.EM_ATENDIMENTO);
+        return new FilaBarbeiro(
+                barbeiroId,
+                hoje,
+                emAtendimento.isEmpty() ? null : emAtendimento.get(0),
+                atendimentoRepository.findEntradasFilaDoBarbeiro(barbeiroId, hoje, StatusAtendimento.AGUARDANDO));
+    }
+
+    /**
+     * Descarta a fila de um dia anterior: a fila vale apenas para o dia corrente.
+     */
+    private FilaBarbeiro doDia(FilaBarbeiro fila, Long barbeiroId) {
+        LocalDate hoje = LocalDate.now();
+        return fila.data().equals(hoje) ? fila : FilaBarbeiro.vazia(barbeiroId, hoje);
+    }
+
+    /**
+     * Aplica a alteração à fila do barbeiro após o commit. Exige a trava da fila.
+     * Com as filas fora da memória, a alteração já está nas linhas gravadas.
+     */
+    private void aposCommit(Long barbeiroId, UnaryOperator<FilaBarbeiro> alteracao) {
+        if (!memoriaHabilitada) {
+            return;
+        }
+        EstadoFila estado = estado(barbeiroId);
+        if (!estado.trava.isHeldByCurrentThread()) {
+            throw new IllegalStateException("Fila do barbeiro " + barbeiroId + " não está travada");
+        }
+        aposCommit(() -> estado.fila = alteracao.apply(doDia(estado.fila, barbeiroId)));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!memoriaHabilitada) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    /**
+     * Fila de um barbeiro com sua trava de escritor único.
+     */
+    private static final class EstadoFila {
+
+        private final ReentrantLock trava = new ReentrantLock();
+        private volatile FilaBarbeiro fila;
+
+        private EstadoFila(FilaBarbeiro fila) {
+            this.fila = fila;
+        }
+    }
+}
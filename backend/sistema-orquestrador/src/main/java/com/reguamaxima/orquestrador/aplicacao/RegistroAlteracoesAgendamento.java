@@ -0,0 +1,88 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.entidade.AlteracaoAgendamento;
+import com.reguamaxima.orquestrador.dominio.evento.AgendamentoAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.repository.AlteracaoAgendamentoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava o log de alterações de agendamentos usado pela sincronização incremental.
+ * <p>
+ * As alterações da transação são acumuladas e gravadas no {@code beforeCommit}, na
+ * mesma transação, depois de descarregar as demais alterações: o insert no log é o
+ * último comando antes do commit. Não há trava global, apenas a da agenda de cada
+ * barbeiro; como ids AUTO_INCREMENT não seguem a ordem de commit, a leitura só vai
+ * até as linhas gravadas há mais que a janela de segurança
+ * ({@link ServicoAgendamento#buscarAlteracoesCliente}).
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistroAlteracoesAgendamento {
+
+    private final AlteracaoAgendamentoRepository alteracaoRepository;
+
+    /**
+     * Registra a alteração na transação corrente (síncrono, antes do commit).
+     */
+    @EventListener
+    public void aoAlterarAgendamento(AgendamentoAlteradoEvento evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Alteração de agendamento fora de transação");
+        }
+        pendentesDaTransacao().adicionar(evento);
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private Pendentes pendentesDaTransacao() {
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacao instanceof Pendentes pendentes && pendentes.dono() == this) {
+                return pendentes;
+            }
+        }
+        Pendentes pendentes = new Pendentes();
+        TransactionSynchronizationManager.registerSynchronization(pendentes);
+        return pendentes;
+    }
+
+    /**
+     * Alterações da transação, uma por agendamento, na ordem da última alteração de cada um.
+     */
+    private final class Pendentes implements TransactionSynchronization {
+
+        private final Map<Long, AgendamentoAlteradoEvento> eventos = new LinkedHashMap<>();
+
+        private RegistroAlteracoesAgendamento dono() {
+            return RegistroAlteracoesAgendamento.this;
+        }
+
+        void adicionar(AgendamentoAlteradoEvento evento) {
+            eventos.remove(evento.agendamentoId());
+            eventos.put(evento.agendamentoId(), evento);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (eventos.isEmpty()) {
+                return;
+            }
+
+            alteracaoRepository.flush();
+
+            List<AlteracaoAgendamento> linhas = new ArrayList<>(eventos.size());
+            for (AgendamentoAlteradoEvento evento : eventos.values()) {
+                linhas.add(new AlteracaoAgendamento(evento.agendamentoId(), evento.barbeiroId(), evento.clienteId()));
+            }
+            alteracaoRepository.saveAll(linhas);
+        }
+    }
+}
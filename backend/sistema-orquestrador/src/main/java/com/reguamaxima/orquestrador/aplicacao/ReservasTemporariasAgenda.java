@@ -0,0 +1,185 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.config.AgendaProperties;
+import com.reguamaxima.kernel.exception.RegraNegocioException;
+import com.reguamaxima.orquestrador.dominio.agenda.MapaOcupacaoDia;
+import com.reguamaxima.orquestrador.dominio.agenda.ReservaTemporaria;
+import com.reguamaxima.orquestrador.dominio.entidade.ReservaHorario;
+import com.reguamaxima.orquestrador.dominio.evento.AgendamentoAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.repository.AgendamentoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.ReservaHorarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reservas temporárias de horário (tabela reservas_horario, com expiração).
+ * <p>
+ * Cada cliente pode segurar um horário por alguns minutos enquanto conclui o
+ * agendamento. As reservas ficam no banco para que todas as instâncias as
+ * enxerguem; a criação e a verificação de conflito acontecem sob a trava de
+ * travas_agenda do barbeiro/dia, a mesma usada na criação de agendamentos.
+ * Reservas vencidas são ignoradas em todas as consultas e removidas pela
+ * {@link VarreduraAgendamentos}.
+ */
+@Slf4j
+@Component
+public class ReservasTemporariasAgenda {
+
+    private final ReservaHorarioRepository reservaHorarioRepository;
+    private final AgendamentoRepository agendamentoRepository;
+    private final Duration ttl;
+
+    public ReservasTemporariasAgenda(
+            ReservaHorarioRepository reservaHorarioRepository,
+            AgendamentoRepository agendamentoRepository,
+            AgendaProperties agendaProperties) {
+        this.reservaHorarioRepository = reservaHorarioRepository;
+        this.agendamentoRepository = agendamentoRepository;
+        this.ttl = Duration.ofSeconds(agendaProperties.getReserva().getTtlSegundos());
+    }
+
+    // ========== Reserva ==========
+
+    /**
+     * Reserva o intervalo [inicio, fim) da agenda do barbeiro para o cliente.
+     * Uma reserva anterior do mesmo cliente é substituída.
+     *
+     * @throws RegraNegocioException se outro cliente já reservou parte do intervalo
+     */
+    @Transactional
+    public ReservaTemporaria reservar(Long clienteId, Long barbeiroId, LocalDate data, int inicio, int fim) {
+        // Reservas e agendamentos concorrentes do mesmo barbeiro/dia aguardam o commit desta
+        agendamentoRepository.travarAgendaDia(barbeiroId, data);
+
+        LocalDateTime agora = LocalDateTime.now();
+        reservaHorarioRepository.removerDoCliente(clienteId);
+        boolean reservadoPorOutro = vigentes(barbeiroId, data).stream()
+                .anyMatch(reserva -> reserva.sobrepoe(inicio, fim));
+        if (reservadoPorOutro) {
+            throw new RegraNegocioException(
+                    "Este horário está reservado por outro cliente. Por favor, escolha outro horário.");
+        }
+
+        ReservaTemporaria nova = reservaHorarioRepository.save(ReservaHorario.builder()
+                        .token(UUID.randomUUID().toString())
+                        .clienteId(clienteId)
+                        .barbeiroId(barbeiroId)
+                        .data(data)
+                        .minutoInicio(inicio)
+                        .minutoFim(fim)
+                        .expiraEm(agora.plus(ttl))
+                        .build())
+                .paraReserva();
+
+        log.debug("Horário reservado - cliente: {}, barbeiro: {}, data: {}, expira em: {}",
+                clienteId, barbeiroId, data, nova.expiraEm());
+        return nova;
+    }
+
+    /**
+     * Libera a reserva do cliente identificada pelo token.
+     *
+     * @return true se a reserva existia e foi liberada
+     */
+    @Transactional
+    public boolean liberar(Long clienteId, UUID token) {
+        return reservaHorarioRepository.removerDoCliente(clienteId, token.toString()) > 0;
+    }
+
+    // ========== Consulta ==========
+
+    /**
+     * Verifica se outro cliente possui reserva vigente sobre o intervalo [inicio, fim).
+     * Deve ser chamado com a trava da agenda do barbeiro/dia em mãos.
+     */
+    public boolean conflitaComOutroCliente(Long barbeiroId, LocalDate data, int inicio, int fim, Long clienteId) {
+        return vigentes(barbeiroId, data).stream()
+                .anyMatch(reserva -> !reserva.clienteId().equals(clienteId) && reserva.sobrepoe(inicio, fim));
+    }
+
+    /**
+     * Retorna o mapa de ocupação acrescido das reservas vigentes do barbeiro na data.
+     */
+    public MapaOcupacaoDia comReservas(Long barbeiroId, LocalDate data, MapaOcupacaoDia ocupacao) {
+        MapaOcupacaoDia resultado = ocupacao;
+        for (ReservaHorario reserva : reservaHorarioRepository.findVigentes(barbeiroId, data, LocalDateTime.now())) {
+            resultado = ocupar(resultado, reserva);
+        }
+        return resultado;
+    }
+
+    /**
+     * Acrescenta as reservas vigentes aos mapas de ocupação de vários barbeiros
+     * na data, com uma única consulta.
+     */
+    public Map<Long, MapaOcupacaoDia> comReservas(Map<Long, MapaOcupacaoDia> ocupacoes, LocalDate data) {
+        Map<Long, MapaOcupacaoDia> resultado = new LinkedHashMap<>(ocupacoes);
+        if (ocupacoes.isEmpty()) {
+            return resultado;
+        }
+        reservaHorarioRepository.findVigentesDosBarbeiros(ocupacoes.keySet(), data, LocalDateTime.now())
+                .forEach(reserva -> resultado.computeIfPresent(
+                        reserva.getBarbeiroId(), (barbeiroId, ocupacao) -> ocupar(ocupacao, reserva)));
+        return resultado;
+    }
+
+    /**
+     * Acrescenta as reservas vigentes do barbeiro aos mapas de ocupação de cada
+     * data do período, com uma única consulta. Preserva a ordem das datas.
+     */
+    public Map<LocalDate, MapaOcupacaoDia> comReservas(Long barbeiroId, Map<LocalDate, MapaOcupacaoDia> ocupacoes) {
+        Map<LocalDate, MapaOcupacaoDia> resultado = new LinkedHashMap<>(ocupacoes);
+        if (ocupacoes.isEmpty()) {
+            return resultado;
+        }
+        Collection<LocalDate> datas = ocupacoes.keySet();
+        LocalDate dataInicio = datas.stream().min(LocalDate::compareTo).orElseThrow();
+        LocalDate dataFim = datas.stream().max(LocalDate::compareTo).orElseThrow();
+        reservaHorarioRepository.findVigentesNoPeriodo(barbeiroId, dataInicio, dataFim, LocalDateTime.now())
+                .forEach(reserva -> resultado.computeIfPresent(
+                        reserva.getData(), (data, ocupacao) -> ocupar(ocupacao, reserva)));
+        return resultado;
+    }
+
+    // ========== Consumo ==========
+
+    /**
+     * Consome a reserva do cliente quando o agendamento correspondente é criado,
+     * na mesma transação que grava o agendamento.
+     */
+    @EventListener
+    public void aoAlterarAgendamento(AgendamentoAlteradoEvento evento) {
+        if (evento.statusAnterior() != null) {
+            return;
+        }
+
+        int removidas = reservaHorarioRepository.removerDoClienteNaAgenda(
+                evento.clienteId(), evento.barbeiroId(), evento.data());
+        if (removidas > 0) {
+            log.debug("Reserva consumida pelo agendamento {}", evento.agendamentoId());
+        }
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private List<ReservaTemporaria> vigentes(Long barbeiroId, LocalDate data) {
+        return reservaHorarioRepository.findVigentes(barbeiroId, data, LocalDateTime.now()).stream()
+                .map(ReservaHorario::paraReserva)
+                .toList();
+    }
+
+    private static MapaOcupacaoDia ocupar(MapaOcupacaoDia ocupacao, ReservaHorario reserva) {
+        return ocupacao.comOcupacao(reserva.getMinutoInicio(), reserva.getMinutoFim());
+    }
+}
@@ -2,23 +2,47 @@ package com.reguamaxima.orquestrador.aplicacao;
 
 import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
 import com.reguamaxima.autenticacao.dominio.repository.UsuarioRepository;
+import com.reguamaxima.kernel.dto.CursorDTO;
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.kernel.exception.RegraNegocioException;
 import com.reguamaxima.kernel.exception.RecursoNaoEncontradoException;
+import com.reguamaxima.orquestrador.dominio.agenda.AgendaSemanal;
+import com.reguamaxima.orquestrador.dominio.agenda.ExpedienteDia;
+import com.reguamaxima.orquestrador.dominio.agenda.GradeSlots;
+import com.reguamaxima.orquestrador.dominio.agenda.MapaOcupacaoDia;
+import com.reguamaxima.orquestrador.dominio.agenda.ReservaTemporaria;
+import com.reguamaxima.orquestrador.dominio.agenda.SituacaoAgendamento;
 import com.reguamaxima.orquestrador.dominio.dto.*;
 import com.reguamaxima.orquestrador.dominio.entidade.*;
 import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import com.reguamaxima.orquestrador.dominio.evento.AgendamentoAlteradoEvento;
 import com.reguamaxima.orquestrador.dominio.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Serviço de aplicação para gerenciamento de Agendamentos.
@@ -29,9 +53,15 @@ import java.util.List;
 public class ServicoAgendamento {
 
     private final AgendamentoRepository agendamentoRepository;
+    private final AgendamentoArquivadoRepository agendamentoArquivadoRepository;
+    private final AlteracaoAgendamentoRepository alteracaoAgendamentoRepository;
     private final BarbeiroRepository barbeiroRepository;
     private final ServicoRepository servicoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final CacheOcupacaoAgenda cacheOcupacaoAgenda;
+    private final CacheAgendaSemanal cacheAgendaSemanal;
+    private final ReservasTemporariasAgenda reservasTemporarias;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Status que indicam cancelamento
     private static final List<StatusAgendamento> STATUS_CANCELADOS = List.of(
@@ -39,6 +69,19 @@ public class ServicoAgendamento {
             StatusAgendamento.CANCELADO_BARBEIRO,
             StatusAgendamento.CANCELADO_BARBEARIA);
 
+    // Status que liberam o horário na agenda (cancelados e não comparecimento)
+    private static final List<StatusAgendamento> STATUS_SEM_OCUPACAO = StatusAgendamento.statusSemOcupacao();
+
+    // Tamanho máximo de página nas listagens por cursor
+    private static final int TAMANHO_MAXIMO_PAGINA = 50;
+
+    // Máximo de alterações por chamada de sincronização incremental
+    private static final int LIMITE_ALTERACOES = 200;
+    private static final int JANELA_ALTERACOES_SEGUNDOS = 5;
+
+    // Limite de dias da consulta de disponibilidade por período
+    private static final int MAXIMO_DIAS_DISPONIBILIDADE = 31;
+
     // Status que indicam finalização
     private static final List<StatusAgendamento> STATUS_FINALIZADOS = List.of(
             StatusAgendamento.CONCLUIDO,
@@ -47,12 +90,24 @@ public class ServicoAgendamento {
             StatusAgendamento.CANCELADO_BARBEIRO,
             StatusAgendamento.CANCELADO_BARBEARIA);
 
+    // Ordem do histórico (mais recentes primeiro), comum às tabelas principal e de arquivo
+    private static final Comparator<AgendamentoProjecao> ORDEM_HISTORICO = Comparator
+            .comparing(AgendamentoProjecao::data)
+            .thenComparing(AgendamentoProjecao::horaInicio)
+            .thenComparing(AgendamentoProjecao::id)
+            .reversed();
+
     // Status ativos (não cancelados)
     private static final List<StatusAgendamento> STATUS_ATIVOS = List.of(
             StatusAgendamento.PENDENTE,
             StatusAgendamento.CONFIRMADO,
             StatusAgendamento.EM_ANDAMENTO);
 
+    // Status de origem permitidos em cada transição em lote
+    private static final List<StatusAgendamento> ORIGENS_CONFIRMACAO = StatusAgendamento.filtrar(StatusAgendamento::podeConfirmar);
+    private static final List<StatusAgendamento> ORIGENS_CANCELAMENTO = StatusAgendamento.filtrar(StatusAgendamento::podeCancelar);
+    private static final List<StatusAgendamento> ORIGENS_NAO_COMPARECEU = StatusAgendamento.filtrar(StatusAgendamento::podeMarcarNaoCompareceu);
+
     // ========== CRUD Básico ==========
 
     /**
@@ -73,6 +128,10 @@ public class ServicoAgendamento {
         log.info("Criando agendamento para cliente {} com barbeiro {} na data {}",
                 clienteId, dto.barbeiroId(), dto.data());
 
+        // Trava a agenda do barbeiro no dia antes de qualquer leitura:
+        // agendamentos concorrentes do mesmo barbeiro/dia aguardam o commit deste
+        agendamentoRepository.travarAgendaDia(dto.barbeiroId(), dto.data());
+
         // Buscar entidades
         Usuario cliente = usuarioRepository.findById(clienteId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Cliente não encontrado"));
@@ -80,37 +139,7 @@ public class ServicoAgendamento {
         Barbeiro barbeiro = barbeiroRepository.findById(dto.barbeiroId())
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Barbeiro não encontrado"));
 
-        if (!Boolean.TRUE.equals(barbeiro.getAtivo())) {
-            throw new RegraNegocioException("Este barbeiro não está disponível no momento");
-        }
-
-        Servico servico = servicoRepository.findById(dto.servicoId())
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Serviço não encontrado"));
-
-        if (!servico.getAtivo()) {
-            throw new RegraNegocioException("Este serviço não está disponível");
-        }
-
-        // Validar se o serviço pertence à barbearia do barbeiro
-        Barbearia barbearia = barbeiro.getBarbearia();
-        if (barbearia == null) {
-            throw new RegraNegocioException("Barbeiro não está vinculado a uma barbearia");
-        }
-
-        if (!servico.getBarbearia().getId().equals(barbearia.getId())) {
-            throw new RegraNegocioException("Serviço não pertence à barbearia do barbeiro selecionado");
-        }
-
-        // Validar data
-        if (dto.data().isBefore(LocalDate.now())) {
-            throw new RegraNegocioException("Não é possível agendar para uma data passada");
-        }
-
-        if (dto.data().equals(LocalDate.now()) && dto.horaInicio().isBefore(LocalTime.now())) {
-            throw new RegraNegocioException("Não é possível agendar para um horário que já passou");
-        }
-
-        // Calcular hora de fim
+        Servico servico = validarHorarioSolicitado(barbeiro, dto.servicoId(), dto.data(), dto.horaInicio());
         LocalTime horaFim = dto.horaInicio().plusMinutes(servico.getDuracaoMinutos());
 
         // Verificar conflito de horário
@@ -119,34 +148,141 @@ public class ServicoAgendamento {
                 dto.data(),
                 dto.horaInicio(),
                 horaFim,
-                STATUS_CANCELADOS);
+                STATUS_SEM_OCUPACAO);
 
         if (temConflito) {
             throw new RegraNegocioException("Este horário não está disponível. Por favor, escolha outro horário.");
         }
 
+        // Verificar reservas temporárias de outros clientes (a do próprio cliente é consumida ao gravar)
+        boolean reservadoPorOutro = reservasTemporarias.conflitaComOutroCliente(
+                barbeiro.getId(),
+                dto.data(),
+                MapaOcupacaoDia.minutoInicio(dto.horaInicio()),
+                MapaOcupacaoDia.minutoFim(dto.horaInicio(), horaFim),
+                clienteId);
+
+        if (reservadoPorOutro) {
+            throw new RegraNegocioException("Este horário está reservado por outro cliente. Por favor, escolha outro horário.");
+        }
+
         // Criar agendamento
-        Agendamento agendamento = Agendamento.builder()
-                .cliente(cliente)
-                .barbeiro(barbeiro)
-                .barbearia(barbearia)
-                .servico(servico)
-                .data(dto.data())
-                .horaInicio(dto.horaInicio())
-                .horaFim(horaFim)
-                .duracaoMinutos(servico.getDuracaoMinutos())
-                .preco(servico.getPreco())
-                .status(StatusAgendamento.PENDENTE)
-                .observacoesCliente(dto.observacoes())
-                .build();
+        Agendamento agendamento = novoAgendamento(
+                cliente, barbeiro, servico, dto.data(), dto.horaInicio(), horaFim, dto.observacoes());
 
         agendamento = agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, null));
 
         log.info("Agendamento {} criado com sucesso", agendamento.getId());
 
         return AgendamentoDTO.fromEntity(agendamento);
     }
 
+    /**
+     * Cria uma série de agendamentos recorrentes (mesmo horário a cada N semanas).
+     * <p>
+     * Trava a agenda de todos os dias da série em ordem crescente de data, para
+     * que séries concorrentes não entrem em deadlock, verifica conflitos de todas
+     * as datas numa única consulta e grava as ocorrências disponíveis num insert
+     * em lote. Datas indisponíveis são recusadas sem impedir as demais.
+     */
+    @Transactional
+    public ResultadoRecorrenciaDTO criarAgendamentosRecorrentes(Long clienteId, CriarAgendamentoRecorrenteDTO dto) {
+        List<LocalDate> datas = dto.datas();
+        log.info("Criando série de {} agendamentos para cliente {} com barbeiro {} a partir de {}",
+                datas.size(), clienteId, dto.barbeiroId(), dto.dataInicial());
+
+        datas.forEach(data -> agendamentoRepository.travarAgendaDia(dto.barbeiroId(), data));
+
+        Usuario cliente = usuarioRepository.findById(clienteId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Cliente não encontrado"));
+
+        Barbeiro barbeiro = barbeiroRepository.findById(dto.barbeiroId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Barbeiro não encontrado"));
+
+        Servico servico = validarServicoDoBarbeiro(barbeiro, dto.servicoId());
+        LocalTime horaFim = dto.horaInicio().plusMinutes(servico.getDuracaoMinutos());
+        int inicio = MapaOcupacaoDia.minutoInicio(dto.horaInicio());
+        int fim = MapaOcupacaoDia.minutoFim(dto.horaInicio(), horaFim);
+
+        Map<LocalDate, String> recusadas = new HashMap<>();
+        for (LocalDate data : datas) {
+            try {
+                validarDataHorario(barbeiro, servico, data, dto.horaInicio());
+            } catch (RegraNegocioException e) {
+                recusadas.put(data, e.getMessage());
+            }
+        }
+
+        List<LocalDate> candidatas = datas.stream().filter(data -> !recusadas.containsKey(data)).toList();
+        if (!candidatas.isEmpty()) {
+            agendamentoRepository.findDatasComConflito(
+                            barbeiro.getId(), candidatas, dto.horaInicio(), horaFim, STATUS_SEM_OCUPACAO)
+                    .forEach(data -> recusadas.put(data, "Este horário não está disponível"));
+        }
+        for (LocalDate data : candidatas) {
+            if (reservasTemporarias.conflitaComOutroCliente(barbeiro.getId(), data, inicio, fim, clienteId)) {
+                recusadas.putIfAbsent(data, "Este horário está reservado por outro cliente");
+            }
+        }
+
+        List<Agendamento> novos = datas.stream()
+                .filter(data -> !recusadas.containsKey(data))
+                .map(data -> novoAgendamento(
+                        cliente, barbeiro, servico, data, dto.horaInicio(), horaFim, dto.observacoes()))
+                .toList();
+
+        List<Agendamento> salvos = agendamentoRepository.saveAll(novos);
+        salvos.forEach(agendamento -> eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, null)));
+
+        log.info("Série criada - cliente: {}, agendados: {}, recusados: {}",
+                clienteId, salvos.size(), recusadas.size());
+
+        return new ResultadoRecorrenciaDTO(
+                datas.size(),
+                salvos.stream().map(AgendamentoDTO::fromEntity).toList(),
+                datas.stream()
+                        .filter(recusadas::containsKey)
+                        .map(data -> new ResultadoRecorrenciaDTO.DataRecusada(data, recusadas.get(data)))
+                        .toList());
+    }
+
+    /**
+     * Reserva temporariamente um horário para o cliente enquanto ele conclui o agendamento.
+     * A reserva substitui uma anterior do mesmo cliente e é consumida ao criar o agendamento.
+     */
+    @Transactional
+    public ReservaHorarioDTO reservarHorario(Long clienteId, ReservarHorarioDTO dto) {
+        Barbeiro barbeiro = barbeiroRepository.findById(dto.barbeiroId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Barbeiro não encontrado"));
+
+        Servico servico = validarHorarioSolicitado(barbeiro, dto.servicoId(), dto.data(), dto.horaInicio());
+        LocalTime horaFim = dto.horaInicio().plusMinutes(servico.getDuracaoMinutos());
+
+        int inicio = MapaOcupacaoDia.minutoInicio(dto.horaInicio());
+        int fim = MapaOcupacaoDia.minutoFim(dto.horaInicio(), horaFim);
+
+        if (!cacheOcupacaoAgenda.obter(barbeiro.getId(), dto.data()).estaLivre(inicio, fim)) {
+            throw new RegraNegocioException("Este horário não está disponível. Por favor, escolha outro horário.");
+        }
+
+        ReservaTemporaria reserva = reservasTemporarias.reservar(clienteId, barbeiro.getId(), dto.data(), inicio, fim);
+
+        log.info("Horário {} de {} reservado para cliente {} com barbeiro {}",
+                dto.horaInicio(), dto.data(), clienteId, barbeiro.getId());
+
+        return ReservaHorarioDTO.from(reserva, servico.getId(), dto.horaInicio(), horaFim);
+    }
+
+    /**
+     * Libera a reserva temporária do cliente.
+     */
+    public void liberarReserva(Long clienteId, UUID token) {
+        if (!reservasTemporarias.liberar(clienteId, token)) {
+            throw new RecursoNaoEncontradoException("Reserva não encontrada ou expirada");
+        }
+    }
+
     // ========== Ações de Status ==========
 
     /**
@@ -156,8 +292,10 @@ public class ServicoAgendamento {
     public AgendamentoDTO confirmarAgendamento(Long agendamentoId, Long barbeiroId) {
         Agendamento agendamento = buscarAgendamentoValidandoBarbeiro(agendamentoId, barbeiroId);
 
+        StatusAgendamento statusAnterior = agendamento.getStatus();
         agendamento.confirmar();
         agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, statusAnterior));
 
         log.info("Agendamento {} confirmado", agendamentoId);
 
@@ -171,8 +309,10 @@ public class ServicoAgendamento {
     public AgendamentoDTO iniciarAtendimento(Long agendamentoId, Long barbeiroId) {
         Agendamento agendamento = buscarAgendamentoValidandoBarbeiro(agendamentoId, barbeiroId);
 
+        StatusAgendamento statusAnterior = agendamento.getStatus();
         agendamento.iniciarAtendimento();
         agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, statusAnterior));
 
         log.info("Atendimento do agendamento {} iniciado", agendamentoId);
 
@@ -186,8 +326,10 @@ public class ServicoAgendamento {
     public AgendamentoDTO concluirAgendamento(Long agendamentoId, Long barbeiroId) {
         Agendamento agendamento = buscarAgendamentoValidandoBarbeiro(agendamentoId, barbeiroId);
 
+        StatusAgendamento statusAnterior = agendamento.getStatus();
         agendamento.concluir();
         agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, statusAnterior));
 
         log.info("Agendamento {} concluído", agendamentoId);
 
@@ -201,8 +343,10 @@ public class ServicoAgendamento {
     public AgendamentoDTO marcarNaoCompareceu(Long agendamentoId, Long barbeiroId) {
         Agendamento agendamento = buscarAgendamentoValidandoBarbeiro(agendamentoId, barbeiroId);
 
+        StatusAgendamento statusAnterior = agendamento.getStatus();
         agendamento.marcarNaoCompareceu();
         agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, statusAnterior));
 
         log.info("Agendamento {} marcado como não compareceu", agendamentoId);
 
@@ -221,8 +365,10 @@ public class ServicoAgendamento {
             throw new RegraNegocioException("Você não tem permissão para cancelar este agendamento");
         }
 
+        StatusAgendamento statusAnterior = agendamento.getStatus();
         agendamento.cancelarPeloCliente(dto != null ? dto.motivo() : null);
         agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, statusAnterior));
 
         log.info("Agendamento {} cancelado pelo cliente", agendamentoId);
 
@@ -236,14 +382,92 @@ public class ServicoAgendamento {
     public AgendamentoDTO cancelarPeloBarbeiro(Long agendamentoId, Long barbeiroId, CancelarAgendamentoDTO dto) {
         Agendamento agendamento = buscarAgendamentoValidandoBarbeiro(agendamentoId, barbeiroId);
 
+        StatusAgendamento statusAnterior = agendamento.getStatus();
         agendamento.cancelarPeloBarbeiro(dto != null ? dto.motivo() : null);
         agendamentoRepository.save(agendamento);
+        eventPublisher.publishEvent(AgendamentoAlteradoEvento.de(agendamento, statusAnterior));
 
         log.info("Agendamento {} cancelado pelo barbeiro", agendamentoId);
 
         return AgendamentoDTO.fromEntity(agendamento);
     }
 
+    // ========== Ações de Status em Lote ==========
+
+    /**
+     * Confirma vários agendamentos pendentes do barbeiro.
+     */
+    @Transactional
+    public ResultadoLoteAgendamentosDTO confirmarEmLote(Long barbeiroId, AlterarAgendamentosLoteDTO dto) {
+        return alterarEmLote(barbeiroId, dto.ids(), ORIGENS_CONFIRMACAO, StatusAgendamento.CONFIRMADO,
+                (ids, agora) -> agendamentoRepository.confirmarEmLote(ids, barbeiroId, ORIGENS_CONFIRMACAO, agora));
+    }
+
+    /**
+     * Cancela vários agendamentos do barbeiro.
+     */
+    @Transactional
+    public ResultadoLoteAgendamentosDTO cancelarEmLotePeloBarbeiro(Long barbeiroId, AlterarAgendamentosLoteDTO dto) {
+        return alterarEmLote(barbeiroId, dto.ids(), ORIGENS_CANCELAMENTO, StatusAgendamento.CANCELADO_BARBEIRO,
+                (ids, agora) -> agendamentoRepository.cancelarEmLote(ids, barbeiroId, ORIGENS_CANCELAMENTO,
+                        StatusAgendamento.CANCELADO_BARBEIRO, dto.motivo(), agora));
+    }
+
+    /**
+     * Marca vários agendamentos do barbeiro como não compareceu.
+     */
+    @Transactional
+    public ResultadoLoteAgendamentosDTO marcarNaoCompareceuEmLote(Long barbeiroId, AlterarAgendamentosLoteDTO dto) {
+        return alterarEmLote(barbeiroId, dto.ids(), ORIGENS_NAO_COMPARECEU, StatusAgendamento.NAO_COMPARECEU,
+                (ids, agora) -> agendamentoRepository.marcarNaoCompareceuEmLote(ids, barbeiroId, ORIGENS_NAO_COMPARECEU, agora));
+    }
+
+    /**
+     * Valida posse e status de todos os ids com uma consulta (linhas travadas) e
+     * aplica a transição com um único UPDATE restrito aos status de origem.
+     * Ids inválidos não impedem a alteração dos demais.
+     */
+    private ResultadoLoteAgendamentosDTO alterarEmLote(
+            Long barbeiroId,
+            List<Long> ids,
+            List<StatusAgendamento> origens,
+            StatusAgendamento destino,
+            BiFunction<List<Long>, LocalDateTime, Integer> atualizacao) {
+        List<Long> solicitados = ids.stream().distinct().toList();
+        Map<Long, SituacaoAgendamento> situacoes = agendamentoRepository.findSituacoesParaAtualizar(solicitados).stream()
+                .collect(Collectors.toMap(SituacaoAgendamento::id, Function.identity()));
+
+        List<ResultadoLoteAgendamentosDTO.Item> itens = new ArrayList<>(solicitados.size());
+        List<SituacaoAgendamento> aptos = new ArrayList<>();
+        for (Long id : solicitados) {
+            SituacaoAgendamento situacao = situacoes.get(id);
+            if (situacao == null) {
+                itens.add(new ResultadoLoteAgendamentosDTO.Item(id, ResultadoLoteAgendamentosDTO.Resultado.NAO_ENCONTRADO, null));
+            } else if (!situacao.barbeiroId().equals(barbeiroId)) {
+                itens.add(new ResultadoLoteAgendamentosDTO.Item(id, ResultadoLoteAgendamentosDTO.Resultado.SEM_PERMISSAO, null));
+            } else if (!origens.contains(situacao.status())) {
+                itens.add(new ResultadoLoteAgendamentosDTO.Item(id, ResultadoLoteAgendamentosDTO.Resultado.STATUS_INVALIDO, situacao.status()));
+            } else {
+                aptos.add(situacao);
+                itens.add(new ResultadoLoteAgendamentosDTO.Item(id, ResultadoLoteAgendamentosDTO.Resultado.ALTERADO, destino));
+            }
+        }
+
+        if (!aptos.isEmpty()) {
+            int alterados = atualizacao.apply(aptos.stream().map(SituacaoAgendamento::id).toList(), LocalDateTime.now());
+            if (alterados != aptos.size()) {
+                // As linhas estão travadas desde a validação; divergência indica alteração fora da aplicação
+                throw new RegraNegocioException("Os agendamentos foram alterados durante a operação. Tente novamente.");
+            }
+            aptos.forEach(situacao -> eventPublisher.publishEvent(situacao.transicao(destino)));
+        }
+
+        log.info("Lote {} - barbeiro: {}, solicitados: {}, alterados: {}",
+                destino, barbeiroId, solicitados.size(), aptos.size());
+
+        return new ResultadoLoteAgendamentosDTO(destino, aptos.size(), itens);
+    }
+
     // ========== Consultas Cliente ==========
 
     /**
@@ -256,7 +480,7 @@ public class ServicoAgendamento {
                 LocalDate.now(),
                 LocalTime.now(),
                 STATUS_FINALIZADOS).stream()
-                .map(AgendamentoDTO::fromEntity)
+                .map(AgendamentoDTO::fromProjecao)
                 .toList();
     }
 
@@ -265,8 +489,48 @@ public class ServicoAgendamento {
      */
     @Transactional(readOnly = true)
     public Page<AgendamentoDTO> buscarHistoricoCliente(Long clienteId, Pageable pageable) {
-        return agendamentoRepository.findHistoricoCliente(clienteId, STATUS_FINALIZADOS, pageable)
-                .map(AgendamentoDTO::fromEntity);
+        long arquivados = agendamentoArquivadoRepository.countByClienteIdAndStatusIn(clienteId, STATUS_FINALIZADOS);
+        if (arquivados == 0) {
+            return agendamentoRepository.findHistoricoCliente(clienteId, STATUS_FINALIZADOS, pageable)
+                    .map(AgendamentoDTO::fromProjecao);
+        }
+
+        long total = arquivados + agendamentoRepository.countByClienteIdAndStatusIn(clienteId, STATUS_FINALIZADOS);
+        return HistoricoMesclado.pagina(
+                pageable,
+                ate -> agendamentoRepository.findHistoricoClienteInicio(clienteId, STATUS_FINALIZADOS, Limit.of(ate)),
+                ate -> agendamentoArquivadoRepository.findHistoricoClienteInicio(clienteId, STATUS_FINALIZADOS, Limit.of(ate)),
+                ORDEM_HISTORICO,
+                total).map(AgendamentoDTO::fromProjecao);
+    }
+
+    /**
+     * Busca histórico de agendamentos do cliente paginado por cursor (data, hora de início, id).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AgendamentoDTO> buscarHistoricoClienteCursor(Long clienteId, String cursor, int tamanho) {
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        List<AgendamentoProjecao> recentes;
+        List<AgendamentoProjecao> arquivados;
+        if (cursor == null || cursor.isBlank()) {
+            recentes = agendamentoRepository.findHistoricoClienteInicio(
+                    clienteId, STATUS_FINALIZADOS, Limit.of(limite + 1));
+            arquivados = agendamentoArquivadoRepository.findHistoricoClienteInicio(
+                    clienteId, STATUS_FINALIZADOS, Limit.of(limite + 1));
+        } else {
+            CursorDTO chave = CursorDTO.decode(cursor, 3);
+            recentes = agendamentoRepository.findHistoricoClienteApos(
+                    clienteId, STATUS_FINALIZADOS, chave.getDate(0), chave.getTime(1), chave.getLong(2),
+                    Limit.of(limite + 1));
+            arquivados = agendamentoArquivadoRepository.findHistoricoClienteApos(
+                    clienteId, STATUS_FINALIZADOS, chave.getDate(0), chave.getTime(1), chave.getLong(2),
+                    Limit.of(limite + 1));
+        }
+        List<AgendamentoProjecao> linhas = HistoricoMesclado.mesclar(recentes, arquivados, ORDEM_HISTORICO, limite + 1);
+
+        return CursorPageResponseDTO.of(linhas, limite, AgendamentoDTO::fromProjecao,
+                linha -> CursorDTO.of(linha.data(), linha.horaInicio(), linha.id()));
     }
 
     // ========== Consultas Barbeiro ==========
@@ -278,7 +542,7 @@ public class ServicoAgendamento {
     public List<AgendamentoDTO> buscarAgendaDia(Long barbeiroId, LocalDate data) {
         return agendamentoRepository.findByBarbeiroIdAndData(barbeiroId, data, STATUS_CANCELADOS)
                 .stream()
-                .map(AgendamentoDTO::fromEntity)
+                .map(AgendamentoDTO::fromProjecao)
                 .toList();
     }
 
@@ -292,7 +556,7 @@ public class ServicoAgendamento {
                 LocalDate.now(),
                 LocalTime.now(),
                 STATUS_ATIVOS).stream()
-                .map(AgendamentoDTO::fromEntity)
+                .map(AgendamentoDTO::fromProjecao)
                 .toList();
     }
 
@@ -311,14 +575,103 @@ public class ServicoAgendamento {
         return agendamentoRepository.findPendentesBarbearia(
                 barbeiro.getBarbearia().getId(),
                 StatusAgendamento.PENDENTE).stream()
-                .map(AgendamentoDTO::fromEntity)
+                .map(AgendamentoDTO::fromProjecao)
                 .toList();
     }
 
+    // ========== Sincronização Incremental ==========
+
+    /**
+     * Alterações nos agendamentos do cliente desde o token informado.
+     * Sem token, retorna apenas o token inicial: o cliente deve obtê-lo antes da carga completa.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesAgendamentosDTO buscarAlteracoesCliente(Long clienteId, String token) {
+        return buscarAlteracoes(token, (apos, ate) -> alteracaoAgendamentoRepository.findDoCliente(
+                clienteId, apos, ate, Limit.of(LIMITE_ALTERACOES + 1)));
+    }
+
+    /**
+     * Alterações nos agendamentos do barbeiro desde o token informado.
+     * Sem token, retorna apenas o token inicial: o cliente deve obtê-lo antes da carga completa.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesAgendamentosDTO buscarAlteracoesBarbeiro(Long barbeiroId, String token) {
+        return buscarAlteracoes(token, (apos, ate) -> alteracaoAgendamentoRepository.findDoBarbeiro(
+                barbeiroId, apos, ate, Limit.of(LIMITE_ALTERACOES + 1)));
+    }
+
+    /**
+     * Busca as alterações do log com id maior que o do token.
+     * <p>
+     * Ids AUTO_INCREMENT não seguem a ordem de commit, então o limite superior é o
+     * maior id gravado há mais de {@value #JANELA_ALTERACOES_SEGUNDOS}s: a linha do
+     * log é o último comando antes do commit ({@link RegistroAlteracoesAgendamento}),
+     * e passada a janela as de id menor já estão visíveis. Alterações mais recentes
+     * chegam na sincronização seguinte. Cada agendamento vem uma única vez, no estado
+     * atual, então reaplicar um item já recebido não altera o resultado no cliente.
+     */
+    private AlteracoesAgendamentosDTO buscarAlteracoes(
+            String token,
+            BiFunction<Long, Long, List<AlteracaoAgendamento>> consulta) {
+        Long primeira = alteracaoAgendamentoRepository.primeiroId();
+        Long consolidada = alteracaoAgendamentoRepository.ultimoIdConsolidado(JANELA_ALTERACOES_SEGUNDOS);
+        // Sem linha fora da janela, nada do log está liberado para leitura
+        long ate = consolidada != null ? consolidada : primeira != null ? primeira - 1 : 0;
+
+        if (token == null || token.isBlank()) {
+            return new AlteracoesAgendamentosDTO(List.of(), tokenAte(ate), false);
+        }
+
+        long apos = CursorDTO.decode(token, 1).getLong(0);
+        if (apos > ate) {
+            throw new RegraNegocioException("Token de sincronização inválido");
+        }
+        if (apos == ate) {
+            return new AlteracoesAgendamentosDTO(List.of(), token, false);
+        }
+
+        // A limpeza remove os menores ids: ids entre o token e o primeiro do log podem ter sido removidos
+        if (primeira == null || primeira > apos + 1) {
+            throw new IllegalStateException("Token de sincronização expirado: refaça a carga completa");
+        }
+
+        List<AlteracaoAgendamento> linhas = consulta.apply(apos, ate);
+        boolean haMais = linhas.size() > LIMITE_ALTERACOES;
+        List<AlteracaoAgendamento> alteracoes = haMais ? linhas.subList(0, LIMITE_ALTERACOES) : linhas;
+        long proxima = haMais ? alteracoes.get(alteracoes.size() - 1).getId() : ate;
+
+        // Um item por agendamento, na ordem da sua última alteração
+        LinkedHashSet<Long> ids = new LinkedHashSet<>();
+        for (AlteracaoAgendamento alteracao : alteracoes) {
+            ids.remove(alteracao.getAgendamentoId());
+            ids.add(alteracao.getAgendamentoId());
+        }
+
+        Map<Long, AgendamentoProjecao> atuais = ids.isEmpty() ? Map.of()
+                : agendamentoRepository.findProjecoesPorIds(ids).stream()
+                        .collect(Collectors.toMap(AgendamentoProjecao::id, Function.identity()));
+
+        return new AlteracoesAgendamentosDTO(
+                ids.stream()
+                        .map(atuais::get)
+                        .filter(Objects::nonNull)
+                        .map(AgendamentoDTO::fromProjecao)
+                        .toList(),
+                tokenAte(proxima),
+                haMais);
+    }
+
+    private static String tokenAte(long id) {
+        return CursorDTO.of(id).encode();
+    }
+
     // ========== Disponibilidade ==========
 
     /**
      * Busca horários disponíveis para um barbeiro em uma data.
+     * O expediente vem da agenda semanal compilada ({@link CacheAgendaSemanal}) e a
+     * ocupação do cache em memória ({@link CacheOcupacaoAgenda}).
      */
     @Transactional(readOnly = true)
     public List<HorarioDisponivelDTO> buscarHorariosDisponiveis(Long barbeiroId, Long servicoId, LocalDate data) {
@@ -328,55 +681,241 @@ public class ServicoAgendamento {
         Servico servico = servicoRepository.findById(servicoId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Serviço não encontrado"));
 
+        if (barbeiro.getBarbearia() == null) {
+            return List.of();
+        }
+
+        ExpedienteDia expediente = cacheAgendaSemanal.obter(barbeiro.getBarbearia().getId())
+                .expediente(barbeiroId, data);
+
         int duracaoMinutos = servico.getDuracaoMinutos();
+        int totalSlots = expediente.grade().contarSlots(duracaoMinutos);
+
+        MapaOcupacaoDia ocupacao = reservasTemporarias.comReservas(
+                barbeiroId, data, cacheOcupacaoAgenda.obter(barbeiroId, data));
+        BitSet disponiveis = expediente.slotsDisponiveis(ocupacao, data, duracaoMinutos);
+
+        List<HorarioDisponivelDTO> horarios = new ArrayList<>(totalSlots);
+        for (int slot = 0; slot < totalSlots; slot++) {
+            LocalTime horario = expediente.grade().horarioSlot(slot);
+            horarios.add(disponiveis.get(slot)
+                    ? HorarioDisponivelDTO.disponivel(horario)
+                    : HorarioDisponivelDTO.indisponivel(horario));
+        }
+
+        return horarios;
+    }
 
-        // Horário de funcionamento padrão (pode ser configurável por barbearia)
-        LocalTime abertura = LocalTime.of(8, 0);
-        LocalTime fechamento = LocalTime.of(20, 0);
-        int intervaloMinutos = 30; // Slots de 30 em 30 minutos
+    /**
+     * Busca a disponibilidade de um barbeiro em vários dias, em formato compacto
+     * (uma máscara de bits por dia). A ocupação do período vem de uma única consulta.
+     */
+    @Transactional(readOnly = true)
+    public DisponibilidadePeriodoDTO buscarDisponibilidadePeriodo(
+            Long barbeiroId, Long servicoId, LocalDate dataInicio, int dias) {
+        if (dias < 1 || dias > MAXIMO_DIAS_DISPONIBILIDADE) {
+            throw new RegraNegocioException(
+                    "O período deve ter entre 1 e " + MAXIMO_DIAS_DISPONIBILIDADE + " dias");
+        }
 
-        // Buscar horários ocupados
-        List<Object[]> horariosOcupados = agendamentoRepository.findHorariosOcupados(
-                barbeiroId, data, STATUS_CANCELADOS);
+        Barbeiro barbeiro = barbeiroRepository.findById(barbeiroId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Barbeiro não encontrado"));
 
-        List<HorarioDisponivelDTO> horarios = new ArrayList<>();
-        LocalTime horarioAtual = abertura;
-        LocalTime agora = LocalTime.now();
-        boolean isHoje = data.equals(LocalDate.now());
+        if (barbeiro.getBarbearia() == null) {
+            throw new RegraNegocioException("Barbeiro não está vinculado a uma barbearia");
+        }
 
-        while (horarioAtual.plusMinutes(duracaoMinutos).compareTo(fechamento) <= 0) {
-            LocalTime horaFim = horarioAtual.plusMinutes(duracaoMinutos);
+        Servico servico = servicoRepository.findById(servicoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Serviço não encontrado"));
 
-            // Verificar se é horário passado (para hoje)
-            boolean passado = isHoje && horarioAtual.isBefore(agora);
+        AgendaSemanal agenda = cacheAgendaSemanal.obter(barbeiro.getBarbearia().getId());
+        int duracaoMinutos = servico.getDuracaoMinutos();
 
-            // Verificar conflitos
-            boolean ocupado = false;
-            for (Object[] ocupacao : horariosOcupados) {
-                LocalTime ocupadoInicio = (LocalTime) ocupacao[0];
-                LocalTime ocupadoFim = (LocalTime) ocupacao[1];
+        Map<LocalDate, MapaOcupacaoDia> ocupacoes = reservasTemporarias.comReservas(barbeiroId,
+                cacheOcupacaoAgenda.obterPeriodo(barbeiroId, dataInicio, dataInicio.plusDays(dias - 1L)));
+
+        List<DisponibilidadePeriodoDTO.DisponibilidadeDiaDTO> disponibilidadeDias = new ArrayList<>(dias);
+        ocupacoes.forEach((data, ocupacao) -> {
+            ExpedienteDia expediente = agenda.expediente(barbeiroId, data);
+            int totalSlots = expediente.grade().contarSlots(duracaoMinutos);
+            BitSet disponiveis = expediente.slotsDisponiveis(ocupacao, data, duracaoMinutos);
+            disponibilidadeDias.add(new DisponibilidadePeriodoDTO.DisponibilidadeDiaDTO(
+                    data,
+                    expediente.abertura(),
+                    totalSlots,
+                    codificarMascara(disponiveis, totalSlots),
+                    disponiveis.cardinality()));
+        });
+
+        return new DisponibilidadePeriodoDTO(
+                barbeiroId,
+                servicoId,
+                duracaoMinutos,
+                barbeiro.getBarbearia().getIntervaloSlotsMinutos(),
+                disponibilidadeDias);
+    }
 
-                // Verifica sobreposição
-                if (!(horaFim.compareTo(ocupadoInicio) <= 0 || horarioAtual.compareTo(ocupadoFim) >= 0)) {
-                    ocupado = true;
-                    break;
-                }
-            }
+    /**
+     * Busca a grade de disponibilidade de todos os barbeiros ativos de uma barbearia
+     * em uma data, indicando o primeiro barbeiro livre de cada slot.
+     * A ocupação de todos os barbeiros vem de uma única consulta.
+     */
+    @Transactional(readOnly = true)
+    public GradeDisponibilidadeDTO buscarGradeBarbearia(Long barbeariaId, Long servicoId, LocalDate data) {
+        Servico servico = servicoRepository.findById(servicoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Serviço não encontrado"));
 
-            if (passado || ocupado) {
-                horarios.add(HorarioDisponivelDTO.indisponivel(horarioAtual));
-            } else {
-                horarios.add(HorarioDisponivelDTO.disponivel(horarioAtual));
+        if (!servico.getBarbearia().getId().equals(barbeariaId)) {
+            throw new RegraNegocioException("Serviço não pertence à barbearia informada");
+        }
+
+        List<Barbeiro> barbeiros = barbeiroRepository.findBarbeirosDaBarbeariaComUsuario(barbeariaId);
+
+        AgendaSemanal agenda = cacheAgendaSemanal.obter(barbeariaId);
+        GradeSlots gradeDia = agenda.expediente(data).grade();
+        int duracaoMinutos = servico.getDuracaoMinutos();
+        int totalSlots = gradeDia.contarSlots(duracaoMinutos);
+
+        Map<Long, MapaOcupacaoDia> ocupacoes = reservasTemporarias.comReservas(
+                cacheOcupacaoAgenda.obterBarbeiros(barbeiros.stream().map(Barbeiro::getId).toList(), data), data);
+
+        List<GradeDisponibilidadeDTO.BarbeiroGradeDTO> grade = new ArrayList<>(barbeiros.size());
+        List<BitSet> disponiveisPorBarbeiro = new ArrayList<>(barbeiros.size());
+        for (Barbeiro barbeiro : barbeiros) {
+            // Barbeiro de folga recebe o expediente fechado: nenhum slot disponível
+            BitSet disponiveis = agenda.expediente(barbeiro.getId(), data)
+                    .slotsDisponiveis(ocupacoes.get(barbeiro.getId()), data, duracaoMinutos);
+            disponiveisPorBarbeiro.add(disponiveis);
+            grade.add(new GradeDisponibilidadeDTO.BarbeiroGradeDTO(
+                    barbeiro.getId(),
+                    barbeiro.getNomeExibicao(),
+                    barbeiro.getFotoUrl(),
+                    codificarMascara(disponiveis, totalSlots),
+                    disponiveis.cardinality()));
+        }
+
+        // Varredura por slot: primeiro barbeiro livre (na ordem da grade) e total de livres
+        List<GradeDisponibilidadeDTO.SlotGradeDTO> slots = new ArrayList<>(totalSlots);
+        for (int slot = 0; slot < totalSlots; slot++) {
+            Long primeiroLivre = null;
+            int totalLivres = 0;
+            for (int i = 0; i < barbeiros.size(); i++) {
+                if (disponiveisPorBarbeiro.get(i).get(slot)) {
+                    if (primeiroLivre == null) {
+                        primeiroLivre = barbeiros.get(i).getId();
+                    }
+                    totalLivres++;
+                }
             }
 
-            horarioAtual = horarioAtual.plusMinutes(intervaloMinutos);
+            LocalTime horario = gradeDia.horarioSlot(slot);
+            slots.add(new GradeDisponibilidadeDTO.SlotGradeDTO(
+                    horario,
+                    HorarioDisponivelDTO.formatarHorario(horario),
+                    primeiroLivre,
+                    totalLivres));
         }
 
-        return horarios;
+        return new GradeDisponibilidadeDTO(
+                barbeariaId,
+                servicoId,
+                data,
+                duracaoMinutos,
+                gradeDia.intervaloMinutos(),
+                grade,
+                slots);
+    }
+
+    /**
+     * Codifica os slots disponíveis em base64 com tamanho fixo para o total de slots.
+     */
+    private static String codificarMascara(BitSet disponiveis, int totalSlots) {
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(disponiveis.toByteArray(), (totalSlots + 7) / 8));
     }
 
     // ========== Métodos Auxiliares ==========
 
+    /**
+     * Valida barbeiro, serviço, data e expediente de um horário solicitado pelo cliente.
+     *
+     * @return o serviço solicitado
+     */
+    private Servico validarHorarioSolicitado(Barbeiro barbeiro, Long servicoId, LocalDate data, LocalTime horaInicio) {
+        Servico servico = validarServicoDoBarbeiro(barbeiro, servicoId);
+        validarDataHorario(barbeiro, servico, data, horaInicio);
+        return servico;
+    }
+
+    /**
+     * Valida se o barbeiro está ativo e se o serviço está ativo e pertence à barbearia dele.
+     */
+    private Servico validarServicoDoBarbeiro(Barbeiro barbeiro, Long servicoId) {
+        if (!Boolean.TRUE.equals(barbeiro.getAtivo())) {
+            throw new RegraNegocioException("Este barbeiro não está disponível no momento");
+        }
+
+        Servico servico = servicoRepository.findById(servicoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Serviço não encontrado"));
+
+        if (!servico.getAtivo()) {
+            throw new RegraNegocioException("Este serviço não está disponível");
+        }
+
+        // Validar se o serviço pertence à barbearia do barbeiro
+        Barbearia barbearia = barbeiro.getBarbearia();
+        if (barbearia == null) {
+            throw new RegraNegocioException("Barbeiro não está vinculado a uma barbearia");
+        }
+
+        if (!servico.getBarbearia().getId().equals(barbearia.getId())) {
+            throw new RegraNegocioException("Serviço não pertence à barbearia do barbeiro selecionado");
+        }
+
+        return servico;
+    }
+
+    /**
+     * Valida se a data/horário não passou e está dentro do expediente do barbeiro.
+     */
+    private void validarDataHorario(Barbeiro barbeiro, Servico servico, LocalDate data, LocalTime horaInicio) {
+        // Validar data
+        if (data.isBefore(LocalDate.now())) {
+            throw new RegraNegocioException("Não é possível agendar para uma data passada");
+        }
+
+        if (data.equals(LocalDate.now()) && horaInicio.isBefore(LocalTime.now())) {
+            throw new RegraNegocioException("Não é possível agendar para um horário que já passou");
+        }
+
+        // Verificar expediente (horário de funcionamento, pausas e folgas)
+        LocalTime horaFim = horaInicio.plusMinutes(servico.getDuracaoMinutos());
+        boolean dentroDoExpediente = cacheAgendaSemanal.obter(barbeiro.getBarbearia().getId())
+                .expediente(barbeiro.getId(), data)
+                .permite(MapaOcupacaoDia.minutoInicio(horaInicio), MapaOcupacaoDia.minutoFim(horaInicio, horaFim));
+
+        if (!dentroDoExpediente) {
+            throw new RegraNegocioException("Este horário está fora do expediente do barbeiro.");
+        }
+    }
+
+    private static Agendamento novoAgendamento(
+            Usuario cliente, Barbeiro barbeiro, Servico servico,
+            LocalDate data, LocalTime horaInicio, LocalTime horaFim, String observacoes) {
+        return Agendamento.builder()
+                .cliente(cliente)
+                .barbeiro(barbeiro)
+                .barbearia(barbeiro.getBarbearia())
+                .servico(servico)
+                .data(data)
+                .horaInicio(horaInicio)
+                .horaFim(horaFim)
+                .duracaoMinutos(servico.getDuracaoMinutos())
+                .preco(servico.getPreco())
+                .status(StatusAgendamento.PENDENTE)
+                .observacoesCliente(observacoes)
+                .build();
+    }
+
     private Agendamento buscarAgendamentoValidandoBarbeiro(Long agendamentoId, Long barbeiroId) {
         Agendamento agendamento = agendamentoRepository.findByIdComDetalhes(agendamentoId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Agendamento não encontrado"));
@@ -2,19 +2,33 @@ package com.reguamaxima.orquestrador.aplicacao;
 
 import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
 import com.reguamaxima.autenticacao.dominio.repository.UsuarioRepository;
+import com.reguamaxima.kernel.dto.CursorDTO;
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
+import com.reguamaxima.orquestrador.dominio.agenda.AgendaSemanal;
+import com.reguamaxima.orquestrador.dominio.agenda.MapaOcupacaoDia;
 import com.reguamaxima.orquestrador.dominio.dto.*;
 import com.reguamaxima.orquestrador.dominio.entidade.Atendimento;
 import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimento;
 import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
 import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
 import com.reguamaxima.orquestrador.dominio.entidade.Servico;
+import com.reguamaxima.orquestrador.dominio.evento.FilaBarbeiroAlteradaEvento;
+import com.reguamaxima.orquestrador.dominio.fila.ContadoresDia;
+import com.reguamaxima.orquestrador.dominio.fila.EntradaFila;
+import com.reguamaxima.orquestrador.dominio.fila.FilaBarbeiro;
+import com.reguamaxima.orquestrador.dominio.repository.AtendimentoArquivadoRepository;
 import com.reguamaxima.orquestrador.dominio.repository.AtendimentoRepository;
 import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
 import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
+import com.reguamaxima.orquestrador.dominio.repository.ResumoDiarioAtendimentoRepository;
 import com.reguamaxima.orquestrador.dominio.repository.ServicoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.SessaoTrabalhoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,11 +36,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Serviço de aplicação para gestão de atendimentos/fila do barbeiro.
+ * Cada alteração da fila publica {@link FilaBarbeiroAlteradaEvento}.
  */
 @Slf4j
 @Service
@@ -34,10 +52,33 @@ import java.util.Optional;
 public class ServicoAtendimento {
 
     private final AtendimentoRepository atendimentoRepository;
+    private final AtendimentoArquivadoRepository atendimentoArquivadoRepository;
     private final BarbeiroRepository barbeiroRepository;
     private final UsuarioRepository usuarioRepository;
     private final ServicoRepository servicoRepository;
     private final BarbeariaRepository barbeariaRepository;
+    private final ResumoDiarioAtendimentoRepository resumoDiarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MotorFilaAtendimento motorFila;
+    private final CacheFilaBarbeiro cacheFila;
+    private final EstimadorEspera estimadorEspera;
+    private final DistribuidorFilaBarbearia distribuidorFila;
+    private final ContadoresFilaDia contadoresDia;
+    private final SessaoTrabalhoRepository sessaoRepository;
+    private final CacheAgendaSemanal cacheAgendaSemanal;
+
+    // Tamanho máximo de página nas listagens por cursor
+    private static final int TAMANHO_MAXIMO_PAGINA = 50;
+
+    // Período máximo (em dias) do histórico de resumos diários por consulta
+    private static final int DIAS_MAXIMOS_RESUMO = 366;
+
+    // Ordem do histórico (mais recentes primeiro), comum às tabelas principal e de arquivo
+    private static final Comparator<AtendimentoProjecao> ORDEM_HISTORICO = Comparator
+            .comparing(AtendimentoProjecao::dataAtendimento)
+            .thenComparing(AtendimentoProjecao::horaChegada)
+            .thenComparing(AtendimentoProjecao::id)
+            .reversed();
 
     // ========== Operações do Barbeiro ==========
 
@@ -56,45 +97,41 @@ public class ServicoAtendimento {
 
     /**
      * Busca a fila de um barbeiro específico.
+     * O resumo vem do cache por barbeiro e, quando precisa ser montado, usa
+     * apenas o nome do barbeiro e uma consulta com os atendimentos ativos do dia.
      */
     @Transactional(readOnly = true)
     public FilaBarbeiroDTO buscarFilaDoBarbeiro(Long barbeiroId) {
-        Barbeiro barbeiro = barbeiroRepository.findById(barbeiroId)
-                .orElseThrow(() -> new EntityNotFoundException("Barbeiro não encontrado"));
-
-        LocalDate hoje = LocalDate.now();
-
-        // Buscar atendimento atual
-        Optional<Atendimento> atendimentoAtual = atendimentoRepository
-                .findAtendimentoAtual(barbeiroId, hoje);
-
-        // Buscar fila de espera
-        List<Atendimento> filaEspera = atendimentoRepository
-                .findFilaEspera(barbeiroId, hoje);
-
-        // Estatísticas
-        Integer totalAtendidosHoje = atendimentoRepository
-                .countAtendidosHoje(barbeiroId, hoje);
-
-        Double tempoMedioEspera = atendimentoRepository
-                .calcularTempoMedioEspera(barbeiroId, hoje);
+        return cacheFila.obter(barbeiroId, fila -> montarFila(barbeiroId, fila));
+    }
 
-        Double tempoMedioAtendimento = atendimentoRepository
-                .calcularTempoMedioAtendimento(barbeiroId, hoje);
+    /**
+     * Busca o resumo diário da fila do barbeiro no período (datas inclusivas).
+     * Dias encerrados vêm do consolidado diário e o dia corrente dos contadores em memória.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumoDiarioAtendimentoDTO> buscarMeusResumosDiarios(Long usuarioId, LocalDate inicio, LocalDate fim) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à data inicial");
+        }
+        if (inicio.plusDays(DIAS_MAXIMOS_RESUMO).isBefore(fim)) {
+            throw new IllegalArgumentException("Período máximo de " + DIAS_MAXIMOS_RESUMO + " dias");
+        }
 
-        String nomeBarbeiro = barbeiro.getNomeProfissional() != null
-                ? barbeiro.getNomeProfissional()
-                : barbeiro.getUsuario().getNome();
+        Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioId)
+                .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
-        return new FilaBarbeiroDTO(
-                barbeiroId,
-                nomeBarbeiro,
-                atendimentoAtual.map(AtendimentoDTO::fromEntity).orElse(null),
-                filaEspera.stream().map(AtendimentoDTO::fromEntity).toList(),
-                filaEspera.size(),
-                totalAtendidosHoje,
-                tempoMedioEspera != null ? tempoMedioEspera.longValue() : 0L,
-                tempoMedioAtendimento != null ? tempoMedioAtendimento.longValue() : 0L);
+        LocalDate hoje = LocalDate.now();
+        List<ResumoDiarioAtendimentoDTO> resumos = new ArrayList<>(resumoDiarioRepository
+                .findByBarbeiroIdAndDataBetweenOrderByDataAsc(barbeiro.getId(), inicio, fim).stream()
+                .filter(resumo -> resumo.getData().isBefore(hoje))
+                .map(ResumoDiarioAtendimentoDTO::fromEntity)
+                .toList());
+
+        if (!hoje.isBefore(inicio) && !hoje.isAfter(fim)) {
+            resumos.add(ResumoDiarioAtendimentoDTO.fromContadores(contadoresDia.consultar(barbeiro.getId())));
+        }
+        return resumos;
     }
 
     /**
@@ -108,17 +145,6 @@ public class ServicoAtendimento {
         Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
                 .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
-        // Verificar se cliente já está em alguma fila
-        if (atendimentoRepository.clienteEstaEmFila(dto.clienteId())) {
-            throw new IllegalStateException("Cliente já está em uma fila de atendimento");
-        }
-
-        Usuario cliente = usuarioRepository.findById(dto.clienteId())
-                .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado"));
-
-        Servico servico = servicoRepository.findById(dto.servicoId())
-                .orElseThrow(() -> new EntityNotFoundException("Serviço não encontrado"));
-
         Barbearia barbearia = null;
         if (dto.barbeariaId() != null) {
             barbearia = barbeariaRepository.findById(dto.barbeariaId())
@@ -127,29 +153,86 @@ public class ServicoAtendimento {
             barbearia = barbeiro.getBarbearia();
         }
 
-        LocalDate hoje = LocalDate.now();
+        return enfileirar(barbeiro, barbearia, dto, false);
+    }
 
-        // Calcular posição na fila
-        List<Atendimento> filaAtual = atendimentoRepository.findFilaEspera(barbeiro.getId(), hoje);
-        int posicao = filaAtual.size() + 1;
+    /**
+     * Adiciona cliente na fila compartilhada da barbearia.
+     * O cliente vai para o barbeiro com menor espera prevista entre os que estão
+     * atendendo agora (sessão aberta e dentro do expediente) e pode ser chamado
+     * por qualquer barbeiro da barbearia que ficar livre antes.
+     */
+    @Transactional
+    public AtendimentoDTO adicionarNaFilaDaBarbearia(Long usuarioId, Long barbeariaId, CriarAtendimentoDTO dto) {
+        log.info("Adicionando cliente {} na fila compartilhada da barbearia {} (usuário: {})",
+                dto.clienteId(), barbeariaId, usuarioId);
 
-        Atendimento atendimento = Atendimento.builder()
-                .barbeiro(barbeiro)
-                .cliente(cliente)
-                .servico(servico)
-                .barbearia(barbearia)
-                .status(StatusAtendimento.AGUARDANDO)
-                .dataAtendimento(hoje)
-                .horaChegada(LocalDateTime.now())
-                .posicaoFila(posicao)
-                .observacoes(dto.observacoes())
-                .build();
+        Barbearia barbearia = barbeariaRepository.findById(barbeariaId)
+                .orElseThrow(() -> new EntityNotFoundException("Barbearia não encontrada"));
+
+        if (!Boolean.TRUE.equals(barbearia.getFilaCompartilhada())) {
+            throw new IllegalStateException("Esta barbearia não usa fila compartilhada");
+        }
+
+        List<Barbeiro> barbeiros = barbeiroRepository.findBarbeirosDaBarbearia(barbeariaId);
+
+        // Apenas o dono ou barbeiros da barbearia colocam clientes na fila dela
+        boolean membro = barbearia.getAdmin().getId().equals(usuarioId)
+                || barbeiros.stream().anyMatch(b -> b.getUsuario().getId().equals(usuarioId));
+        if (!membro) {
+            throw new IllegalStateException("Você não faz parte desta barbearia");
+        }
+
+        // Só concorre quem está atendendo agora: fila vazia de quem está de folga daria espera zero
+        Long barbeiroId = distribuidorFila.barbeiroComMenorEspera(barbeirosAtendendoAgora(barbearia, barbeiros))
+                .orElseThrow(() -> new IllegalStateException("Barbearia sem barbeiros ativos"));
+        Barbeiro barbeiro = barbeiros.stream()
+                .filter(b -> b.getId().equals(barbeiroId))
+                .findFirst()
+                .orElseThrow();
+
+        return enfileirar(barbeiro, barbearia, dto, true);
+    }
+
+    /**
+     * Move um cliente aguardando para outra posição da fila.
+     * Grava apenas a chave de ordenação do atendimento movido, exceto quando
+     * não há espaço entre os vizinhos e a espera precisa ser redistribuída.
+     */
+    @Transactional
+    public AtendimentoDTO moverNaFila(Long usuarioIdBarbeiro, Long atendimentoId, int novaPosicao) {
+        log.info("Movendo atendimento {} para posição {} (usuário barbeiro: {})",
+                atendimentoId, novaPosicao, usuarioIdBarbeiro);
+
+        Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
+                .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
+        FilaBarbeiro fila = motorFila.travar(barbeiro.getId());
+        if (fila.posicao(atendimentoId) == 0) {
+            throw new IllegalStateException("Atendimento não está aguardando na sua fila de hoje");
+        }
+
+        OptionalLong ordem = fila.ordemParaPosicao(atendimentoId, novaPosicao);
+        if (ordem.isEmpty()) {
+            // Sem espaço entre os vizinhos: redistribui as chaves da espera e recalcula
+            atendimentoRepository.redistribuirOrdemFila(
+                    barbeiro.getId(), fila.data(), FilaBarbeiro.ESPACAMENTO_ORDEM);
+            motorFila.redistribuir(barbeiro.getId());
+            fila = fila.comOrdensRedistribuidas();
+            ordem = fila.ordemParaPosicao(atendimentoId, novaPosicao);
+        }
+
+        Atendimento atendimento = atendimentoRepository.findById(atendimentoId)
+                .orElseThrow(() -> new EntityNotFoundException("Atendimento não encontrado"));
+        atendimento.setOrdemFila(ordem.getAsLong());
         atendimento = atendimentoRepository.save(atendimento);
-        log.info("Cliente adicionado na fila - Atendimento ID: {}, Posição: {}",
-                atendimento.getId(), posicao);
+        motorFila.reordenar(barbeiro.getId(), atendimentoId, ordem.getAsLong());
 
-        return AtendimentoDTO.fromEntity(atendimento);
+        int posicao = fila.comOrdem(atendimentoId, ordem.getAsLong()).posicao(atendimentoId);
+
+        eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(barbeiro.getId()));
+        log.info("Atendimento {} movido para posição {}", atendimentoId, posicao);
+        return AtendimentoDTO.fromEntity(atendimento).comPosicao(posicao);
     }
 
     /**
@@ -162,27 +245,28 @@ public class ServicoAtendimento {
         Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
                 .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
-        LocalDate hoje = LocalDate.now();
+        FilaBarbeiro fila = motorFila.travar(barbeiro.getId());
 
         // Verificar se já tem atendimento em andamento
-        if (atendimentoRepository.barbeiroTemAtendimentoEmAndamento(barbeiro.getId())) {
+        if (fila.temAtendimentoEmAndamento()) {
             throw new IllegalStateException("Já existe um atendimento em andamento. Finalize-o primeiro.");
         }
 
-        // Pegar o primeiro da fila
-        List<Atendimento> fila = atendimentoRepository.findFilaEspera(barbeiro.getId(), hoje);
-        if (fila.isEmpty()) {
-            throw new IllegalStateException("Não há clientes na fila de espera");
-        }
+        // Pegar o primeiro da fila; sem clientes, puxar da fila compartilhada da barbearia
+        EntradaFila primeiro = fila.proximo()
+                .or(() -> chamarDaFilaCompartilhada(barbeiro, fila))
+                .orElseThrow(() -> new IllegalStateException("Não há clientes na fila de espera"));
 
-        Atendimento proximo = fila.get(0);
+        Atendimento proximo = atendimentoRepository.findById(primeiro.atendimentoId())
+                .orElseThrow(() -> new EntityNotFoundException("Atendimento não encontrado"));
         proximo.iniciar();
 
-        proximo = atendimentoRepository.save(proximo);
-
-        // Recalcular posições da fila
-        atendimentoRepository.recalcularPosicoesFila(barbeiro.getId(), hoje);
+        proximo = gravar(proximo, "Já existe um atendimento em andamento. Finalize-o primeiro.");
+        motorFila.iniciar(barbeiro.getId(), proximo.getId(), proximo.getHoraInicioAtendimento());
+        contadoresDia.registrarInicio(barbeiro.getId(), proximo.getDataAtendimento(),
+                proximo.getTempoEsperaMinutos());
 
+        eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(barbeiro.getId()));
         log.info("Atendimento {} iniciado", proximo.getId());
         return AtendimentoDTO.fromEntity(proximo);
     }
@@ -197,8 +281,10 @@ public class ServicoAtendimento {
         Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
                 .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
+        FilaBarbeiro fila = motorFila.travar(barbeiro.getId());
+
         // Verificar se já tem atendimento em andamento
-        if (atendimentoRepository.barbeiroTemAtendimentoEmAndamento(barbeiro.getId())) {
+        if (fila.temAtendimentoEmAndamento()) {
             throw new IllegalStateException("Já existe um atendimento em andamento. Finalize-o primeiro.");
         }
 
@@ -210,12 +296,17 @@ public class ServicoAtendimento {
             throw new IllegalStateException("Este atendimento não pertence a você");
         }
 
-        atendimento.iniciar();
-        atendimento = atendimentoRepository.save(atendimento);
+        if (fila.posicao(atendimentoId) == 0) {
+            throw new IllegalStateException("Atendimento não está aguardando na fila de hoje");
+        }
 
-        // Recalcular posições
-        atendimentoRepository.recalcularPosicoesFila(barbeiro.getId(), atendimento.getDataAtendimento());
+        atendimento.iniciar();
+        atendimento = gravar(atendimento, "Já existe um atendimento em andamento. Finalize-o primeiro.");
+        motorFila.iniciar(barbeiro.getId(), atendimento.getId(), atendimento.getHoraInicioAtendimento());
+        contadoresDia.registrarInicio(barbeiro.getId(), atendimento.getDataAtendimento(),
+                atendimento.getTempoEsperaMinutos());
 
+        eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(barbeiro.getId()));
         log.info("Atendimento {} iniciado", atendimento.getId());
         return AtendimentoDTO.fromEntity(atendimento);
     }
@@ -230,19 +321,27 @@ public class ServicoAtendimento {
         Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
                 .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
-        LocalDate hoje = LocalDate.now();
+        FilaBarbeiro fila = motorFila.travar(barbeiro.getId());
+        if (!fila.temAtendimentoEmAndamento()) {
+            throw new IllegalStateException("Não há atendimento em andamento");
+        }
 
-        Atendimento atendimentoAtual = atendimentoRepository
-                .findAtendimentoAtual(barbeiro.getId(), hoje)
+        Atendimento atendimentoAtual = atendimentoRepository.findById(fila.emAtendimento().atendimentoId())
                 .orElseThrow(() -> new IllegalStateException("Não há atendimento em andamento"));
 
         atendimentoAtual.finalizar();
         atendimentoAtual = atendimentoRepository.save(atendimentoAtual);
+        motorFila.finalizar(barbeiro.getId(), atendimentoAtual.getCliente().getId());
+        estimadorEspera.registrarDuracao(barbeiro.getId(), atendimentoAtual.getServico().getId(),
+                atendimentoAtual.getDuracaoAtendimentoMinutos());
+        contadoresDia.registrarConclusao(barbeiro.getId(), atendimentoAtual.getDataAtendimento(),
+                atendimentoAtual.getDuracaoAtendimentoMinutos());
 
         // Incrementar contador de atendimentos do barbeiro
         barbeiro.setTotalAtendimentos(barbeiro.getTotalAtendimentos() + 1);
         barbeiroRepository.save(barbeiro);
 
+        eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(barbeiro.getId()));
         log.info("Atendimento {} finalizado", atendimentoAtual.getId());
         return AtendimentoDTO.fromEntity(atendimentoAtual);
     }
@@ -257,6 +356,8 @@ public class ServicoAtendimento {
         Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
                 .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
+        motorFila.travar(barbeiro.getId());
+
         Atendimento atendimento = atendimentoRepository.findById(atendimentoId)
                 .orElseThrow(() -> new EntityNotFoundException("Atendimento não encontrado"));
 
@@ -266,10 +367,10 @@ public class ServicoAtendimento {
 
         atendimento.cancelar(motivo);
         atendimento = atendimentoRepository.save(atendimento);
+        motorFila.remover(barbeiro.getId(), atendimento.getId(), atendimento.getCliente().getId());
+        contadoresDia.registrarCancelamento(barbeiro.getId(), atendimento.getDataAtendimento());
 
-        // Recalcular posições
-        atendimentoRepository.recalcularPosicoesFila(barbeiro.getId(), atendimento.getDataAtendimento());
-
+        eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(barbeiro.getId()));
         log.info("Atendimento {} cancelado", atendimento.getId());
         return AtendimentoDTO.fromEntity(atendimento);
     }
@@ -285,6 +386,8 @@ public class ServicoAtendimento {
         Barbeiro barbeiro = barbeiroRepository.findByUsuarioId(usuarioIdBarbeiro)
                 .orElseThrow(() -> new EntityNotFoundException("Perfil de barbeiro não encontrado"));
 
+        motorFila.travar(barbeiro.getId());
+
         Atendimento atendimento = atendimentoRepository.findById(atendimentoId)
                 .orElseThrow(() -> new EntityNotFoundException("Atendimento não encontrado"));
 
@@ -294,14 +397,175 @@ public class ServicoAtendimento {
 
         atendimento.marcarNaoCompareceu();
         atendimento = atendimentoRepository.save(atendimento);
+        motorFila.remover(barbeiro.getId(), atendimento.getId(), atendimento.getCliente().getId());
+        contadoresDia.registrarNaoComparecimento(barbeiro.getId(), atendimento.getDataAtendimento());
 
-        // Recalcular posições
-        atendimentoRepository.recalcularPosicoesFila(barbeiro.getId(), atendimento.getDataAtendimento());
-
+        eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(barbeiro.getId()));
         log.info("Atendimento {} marcado como não compareceu", atendimento.getId());
         return AtendimentoDTO.fromEntity(atendimento);
     }
 
+    /**
+     * Coloca o cliente no fim da fila do barbeiro.
+     */
+    private AtendimentoDTO enfileirar(Barbeiro barbeiro, Barbearia barbearia, CriarAtendimentoDTO dto,
+            boolean compartilhada) {
+        FilaBarbeiro fila = motorFila.travar(barbeiro.getId());
+
+        // Verificar se cliente já está em alguma fila
+        if (motorFila.clienteEstaEmFila(dto.clienteId())) {
+            throw new IllegalStateException("Cliente já está em uma fila de atendimento");
+        }
+
+        Usuario cliente = usuarioRepository.findById(dto.clienteId())
+                .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado"));
+
+        Servico servico = servicoRepository.findById(dto.servicoId())
+                .orElseThrow(() -> new EntityNotFoundException("Serviço não encontrado"));
+
+        // Entra no fim da espera: chave após a do último cliente
+        int posicao = fila.aguardando().size() + 1;
+        long ordem = fila.ordemNoFim();
+
+        Atendimento atendimento = Atendimento.builder()
+                .barbeiro(barbeiro)
+                .cliente(cliente)
+                .servico(servico)
+                .barbearia(barbearia)
+                .status(StatusAtendimento.AGUARDANDO)
+                .dataAtendimento(fila.data())
+                .horaChegada(LocalDateTime.now())
+                .ordemFila(ordem)
+                .filaCompartilhada(compartilhada)
+                .observacoes(dto.observacoes())
+                .build();
+
+        atendimento = gravar(atendimento, "Cliente já está em uma fila de atendimento");
+        motorFila.enfileirar(new EntradaFila(
+                atendimento.getId(), barbeiro.getId(), cliente.getId(), servico.getId(), servico.getDuracaoMinutos(),
+                atendimento.getHoraChegada(), null, ordem, compartilhada));
+
+        eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(barbeiro.getId()));
+        log.info("Cliente adicionado na fila do barbeiro {} - Atendimento ID: {}, Posição: {}",
+                barbeiro.getId(), atendimento.getId(), posicao);
+
+        return AtendimentoDTO.fromEntity(atendimento).comPosicao(posicao);
+    }
+
+    /**
+     * Barbeiros que podem receber clientes da fila compartilhada agora: a barbearia
+     * precisa ter sessão aberta e o momento atual estar dentro do expediente do
+     * barbeiro (fora de pausas, folgas e feriados).
+     */
+    private List<Long> barbeirosAtendendoAgora(Barbearia barbearia, List<Barbeiro> barbeiros) {
+        if (!sessaoRepository.isBarbeariaAberta(barbearia.getId())) {
+            return List.of();
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        int minuto = MapaOcupacaoDia.minutoInicio(agora.toLocalTime());
+        AgendaSemanal agenda = cacheAgendaSemanal.obter(barbearia.getId());
+        return barbeiros.stream()
+                .map(Barbeiro::getId)
+                .filter(id -> agenda.expediente(id, agora.toLocalDate()).permite(minuto, minuto + 1))
+                .toList();
+    }
+
+    /**
+     * Transfere para a fila (vazia) do barbeiro o cliente compartilhado que chegou primeiro
+     * na fila de um colega. Filas de colegas ocupadas no momento são ignoradas.
+     */
+    private Optional<EntradaFila> chamarDaFilaCompartilhada(Barbeiro barbeiro, FilaBarbeiro fila) {
+        Barbearia barbearia = barbeiro.getBarbearia();
+        if (barbearia == null || !Boolean.TRUE.equals(barbearia.getFilaCompartilhada())) {
+            return Optional.empty();
+        }
+
+        List<Long> colegas = barbeiroRepository.findBarbeirosDaBarbearia(barbearia.getId()).stream()
+                .map(Barbeiro::getId)
+                .filter(id -> !id.equals(barbeiro.getId()))
+                .toList();
+
+        for (EntradaFila candidata : distribuidorFila.compartilhadosPorChegada(colegas)) {
+            Optional<FilaBarbeiro> filaColega = motorFila.tentarTravar(candidata.barbeiroId());
+            if (filaColega.isEmpty() || filaColega.get().posicao(candidata.atendimentoId()) == 0) {
+                continue;
+            }
+
+            long ordem = fila.ordemNoFim();
+            Atendimento atendimento = atendimentoRepository.findById(candidata.atendimentoId())
+                    .orElseThrow(() -> new EntityNotFoundException("Atendimento não encontrado"));
+            atendimento.setBarbeiro(barbeiro);
+            atendimento.setOrdemFila(ordem);
+            atendimentoRepository.save(atendimento);
+
+            EntradaFila transferida = candidata.transferidaPara(barbeiro.getId(), ordem);
+            motorFila.remover(candidata.barbeiroId(), candidata.atendimentoId(), candidata.clienteId());
+            motorFila.enfileirar(transferida);
+
+            eventPublisher.publishEvent(new FilaBarbeiroAlteradaEvento(candidata.barbeiroId()));
+            log.info("Atendimento {} transferido da fila do barbeiro {} para o barbeiro {}",
+                    candidata.atendimentoId(), candidata.barbeiroId(), barbeiro.getId());
+            return Optional.of(transferida);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Grava o atendimento imediatamente. A trava da fila serializa operações no mesmo
+     * barbeiro; os índices únicos da fila ativa cobrem o restante (cliente entrando em
+     * filas de barbeiros diferentes ao mesmo tempo ou outra instância da aplicação).
+     */
+    private Atendimento gravar(Atendimento atendimento, String mensagemConflito) {
+        try {
+            return atendimentoRepository.saveAndFlush(atendimento);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Conflito ao gravar atendimento na fila: {}", e.getMostSpecificCause().getMessage());
+            throw new IllegalStateException(mensagemConflito);
+        }
+    }
+
+    /**
+     * Monta o resumo da fila a partir dos atendimentos ativos do dia. Ordem, posição e
+     * espera estimada vêm da fila em memória, as estatísticas dos contadores do dia; o
+     * banco fornece apenas os dados de exibição.
+     */
+    private FilaBarbeiroDTO montarFila(Long barbeiroId, FilaBarbeiro fila) {
+        String nomeBarbeiro = barbeiroRepository.findNomeExibicao(barbeiroId)
+                .orElseThrow(() -> new EntityNotFoundException("Barbeiro não encontrado"));
+
+        List<AtendimentoDTO> doDia = atendimentoRepository.findAtendimentosAtivosDoDia(barbeiroId, fila.data()).stream()
+                .map(AtendimentoDTO::fromProjecao)
+                .toList();
+
+        AtendimentoDTO atendimentoAtual = doDia.stream()
+                .filter(atendimento -> atendimento.status() == StatusAtendimento.EM_ATENDIMENTO)
+                .findFirst()
+                .orElse(null);
+
+        long[] esperas = estimadorEspera.esperas(fila);
+        List<AtendimentoDTO> filaEspera = doDia.stream()
+                .filter(atendimento -> atendimento.status() == StatusAtendimento.AGUARDANDO)
+                .filter(atendimento -> fila.posicao(atendimento.id()) > 0)
+                .map(atendimento -> atendimento.comPosicao(fila.posicao(atendimento.id())))
+                .map(atendimento -> atendimento.comEsperaEstimada(esperas[atendimento.posicaoFila() - 1]))
+                .sorted(Comparator.comparing(AtendimentoDTO::posicaoFila))
+                .toList();
+
+        ContadoresDia contadores = contadoresDia.consultar(barbeiroId);
+
+        return new FilaBarbeiroDTO(
+                barbeiroId,
+                nomeBarbeiro,
+                atendimentoAtual,
+                filaEspera,
+                filaEspera.size(),
+                contadores.atendidos(),
+                contadores.tempoMedioEsperaMinutos(),
+                contadores.tempoMedioAtendimentoMinutos(),
+                esperas[fila.aguardando().size()]);
+    }
+
     // ========== Operações do Cliente ==========
 
     /**
@@ -309,8 +573,43 @@ public class ServicoAtendimento {
      */
     @Transactional(readOnly = true)
     public Optional<AtendimentoDTO> buscarMeuAtendimentoAtivo(Long clienteId) {
+        // Cliente fora das filas de hoje: sem consulta ao banco
+        Optional<FilaBarbeiro> fila = motorFila.filaDoCliente(clienteId);
+        if (fila.isEmpty()) {
+            return Optional.empty();
+        }
+
         return atendimentoRepository.findAtendimentoAtivoCliente(clienteId)
-                .map(AtendimentoDTO::fromEntity);
+                .map(AtendimentoDTO::fromProjecao)
+                .map(atendimento -> atendimento.status() == StatusAtendimento.AGUARDANDO
+                        ? atendimento.comPosicao(fila.get().posicao(atendimento.id()))
+                                .comEsperaEstimada(estimadorEspera.esperaEstimada(fila.get(), atendimento.id()))
+                        : atendimento);
+    }
+
+    /**
+     * Busca histórico de atendimentos do cliente paginado por cursor (data, chegada, id).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AtendimentoDTO> buscarHistoricoClienteCursor(Long clienteId, String cursor, int tamanho) {
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        List<AtendimentoProjecao> recentes;
+        List<AtendimentoProjecao> arquivados;
+        if (cursor == null || cursor.isBlank()) {
+            recentes = atendimentoRepository.findHistoricoClienteInicio(clienteId, Limit.of(limite + 1));
+            arquivados = atendimentoArquivadoRepository.findHistoricoClienteInicio(clienteId, Limit.of(limite + 1));
+        } else {
+            CursorDTO chave = CursorDTO.decode(cursor, 3);
+            recentes = atendimentoRepository.findHistoricoClienteApos(
+                    clienteId, chave.getDate(0), chave.getDateTime(1), chave.getLong(2), Limit.of(limite + 1));
+            arquivados = atendimentoArquivadoRepository.findHistoricoClienteApos(
+                    clienteId, chave.getDate(0), chave.getDateTime(1), chave.getLong(2), Limit.of(limite + 1));
+        }
+        List<AtendimentoProjecao> linhas = HistoricoMesclado.mesclar(recentes, arquivados, ORDEM_HISTORICO, limite + 1);
+
+        return CursorPageResponseDTO.of(linhas, limite, AtendimentoDTO::fromProjecao,
+                linha -> CursorDTO.of(linha.dataAtendimento(), linha.horaChegada(), linha.id()));
     }
 
     /**
@@ -318,8 +617,19 @@ public class ServicoAtendimento {
      */
     @Transactional(readOnly = true)
     public Page<AtendimentoDTO> buscarHistoricoCliente(Long clienteId, Pageable pageable) {
-        return atendimentoRepository.findByClienteId(clienteId, pageable)
-                .map(AtendimentoDTO::fromEntity);
+        long arquivados = atendimentoArquivadoRepository.countByClienteId(clienteId);
+        if (arquivados == 0) {
+            return atendimentoRepository.findByClienteId(clienteId, pageable)
+                    .map(AtendimentoDTO::fromProjecao);
+        }
+
+        long total = arquivados + atendimentoRepository.countByClienteId(clienteId);
+        return HistoricoMesclado.pagina(
+                pageable,
+                ate -> atendimentoRepository.findHistoricoClienteInicio(clienteId, Limit.of(ate)),
+                ate -> atendimentoArquivadoRepository.findHistoricoClienteInicio(clienteId, Limit.of(ate)),
+                ORDEM_HISTORICO,
+                total).map(AtendimentoDTO::fromProjecao);
     }
 
     // ========== Operações da Barbearia ==========
@@ -331,7 +641,7 @@ public class ServicoAtendimento {
     public List<AtendimentoDTO> buscarAtendimentosDaBarbearia(Long barbeariaId, LocalDate data) {
         return atendimentoRepository.findByBarbeariaAndData(barbeariaId, data)
                 .stream()
-                .map(AtendimentoDTO::fromEntity)
+                .map(AtendimentoDTO::fromProjecao)
                 .toList();
     }
 }
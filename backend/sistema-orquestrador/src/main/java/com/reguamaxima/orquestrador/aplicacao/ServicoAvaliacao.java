@@ -8,8 +8,11 @@ import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
 import com.reguamaxima.orquestrador.dominio.enums.TipoAvaliacao;
 import com.reguamaxima.orquestrador.dominio.repository.*;
 import jakarta.persistence.EntityNotFoundException;
+import com.reguamaxima.kernel.dto.CursorDTO;
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -33,6 +36,9 @@ public class ServicoAvaliacao {
     private final BarbeiroRepository barbeiroRepository;
     private final AgendamentoRepository agendamentoRepository;
 
+    // Tamanho máximo de página nas listagens por cursor
+    private static final int TAMANHO_MAXIMO_PAGINA = 50;
+
     // ========== Criar Avaliação ==========
 
     /**
@@ -203,6 +209,46 @@ public class ServicoAvaliacao {
                 .map(AvaliacaoDTO::fromEntity);
     }
 
+    /**
+     * Lista avaliações de uma barbearia paginadas por cursor (data de criação, id).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AvaliacaoDTO> listarAvaliacoesBarbeariaCursor(Long barbeariaId, String cursor, int tamanho) {
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        List<Avaliacao> avaliacoes;
+        if (cursor == null || cursor.isBlank()) {
+            avaliacoes = avaliacaoRepository.findVisiveisBarbeariaInicio(barbeariaId, Limit.of(limite + 1));
+        } else {
+            CursorDTO chave = CursorDTO.decode(cursor, 2);
+            avaliacoes = avaliacaoRepository.findVisiveisBarbeariaApos(
+                    barbeariaId, chave.getDateTime(0), chave.getLong(1), Limit.of(limite + 1));
+        }
+
+        return CursorPageResponseDTO.of(avaliacoes, limite, AvaliacaoDTO::fromEntity,
+                avaliacao -> CursorDTO.of(avaliacao.getDataCriacao(), avaliacao.getId()));
+    }
+
+    /**
+     * Lista avaliações de um barbeiro paginadas por cursor (data de criação, id).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AvaliacaoDTO> listarAvaliacoesBarbeiroCursor(Long barbeiroId, String cursor, int tamanho) {
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        List<Avaliacao> avaliacoes;
+        if (cursor == null || cursor.isBlank()) {
+            avaliacoes = avaliacaoRepository.findVisiveisBarbeiroInicio(barbeiroId, Limit.of(limite + 1));
+        } else {
+            CursorDTO chave = CursorDTO.decode(cursor, 2);
+            avaliacoes = avaliacaoRepository.findVisiveisBarbeiroApos(
+                    barbeiroId, chave.getDateTime(0), chave.getLong(1), Limit.of(limite + 1));
+        }
+
+        return CursorPageResponseDTO.of(avaliacoes, limite, AvaliacaoDTO::fromEntity,
+                avaliacao -> CursorDTO.of(avaliacao.getDataCriacao(), avaliacao.getId()));
+    }
+
     /**
      * Lista avaliações feitas pelo cliente.
      */
@@ -2,12 +2,17 @@ package com.reguamaxima.orquestrador.aplicacao;
 
 import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
 import com.reguamaxima.autenticacao.dominio.repository.UsuarioRepository;
+import com.reguamaxima.kernel.dto.CursorDTO;
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.orquestrador.dominio.dto.*;
 import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
 import com.reguamaxima.orquestrador.dominio.entidade.Servico;
+import com.reguamaxima.orquestrador.dominio.evento.PontoMapaAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.geo.PontoProximo;
 import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
 import com.reguamaxima.orquestrador.dominio.repository.ServicoRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,6 +22,7 @@ import java.util.List;
 
 /**
  * Serviço de aplicação para gestão de barbearias.
+ * Alterações de posição ou de ativação publicam {@link PontoMapaAlteradoEvento}.
  */
 @Service
 @Transactional
@@ -25,14 +31,24 @@ public class ServicoBarbearia {
     private final BarbeariaRepository barbeariaRepository;
     private final ServicoRepository servicoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final IndiceGeografico indiceGeografico;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Tamanho máximo de página e raio padrão da busca pelas mais próximas
+    private static final int TAMANHO_MAXIMO_PAGINA = 50;
+    private static final double RAIO_MAXIMO_PADRAO_KM = 50.0;
 
     public ServicoBarbearia(
             BarbeariaRepository barbeariaRepository,
             ServicoRepository servicoRepository,
-            UsuarioRepository usuarioRepository) {
+            UsuarioRepository usuarioRepository,
+            IndiceGeografico indiceGeografico,
+            ApplicationEventPublisher eventPublisher) {
         this.barbeariaRepository = barbeariaRepository;
         this.servicoRepository = servicoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.indiceGeografico = indiceGeografico;
+        this.eventPublisher = eventPublisher;
     }
 
     // ==================== OPERAÇÕES DE ADMIN ====================
@@ -84,6 +100,7 @@ public class ServicoBarbearia {
         }
 
         Barbearia salva = barbeariaRepository.save(barbearia);
+        eventPublisher.publishEvent(PontoMapaAlteradoEvento.de(salva));
         return BarbeariaDTO.fromEntity(salva);
     }
 
@@ -123,8 +140,13 @@ public class ServicoBarbearia {
             barbearia.setBannerUrl(dto.bannerUrl());
         if (dto.logoUrl() != null)
             barbearia.setLogoUrl(dto.logoUrl());
+        if (dto.filaCompartilhada() != null)
+            barbearia.setFilaCompartilhada(dto.filaCompartilhada());
 
         Barbearia salva = barbeariaRepository.save(barbearia);
+        if (dto.latitude() != null || dto.longitude() != null) {
+            eventPublisher.publishEvent(PontoMapaAlteradoEvento.de(salva));
+        }
         return BarbeariaDTO.fromEntity(salva, listarServicosDTO(salva.getId()));
     }
 
@@ -155,6 +177,7 @@ public class ServicoBarbearia {
         Barbearia barbearia = buscarBarbeariaDoAdmin(adminId);
         barbearia.setAtivo(false);
         barbeariaRepository.save(barbearia);
+        eventPublisher.publishEvent(PontoMapaAlteradoEvento.de(barbearia));
     }
 
     /**
@@ -166,6 +189,7 @@ public class ServicoBarbearia {
                         .orElseThrow(() -> new IllegalArgumentException("Barbearia não encontrada")));
         barbearia.setAtivo(true);
         barbeariaRepository.save(barbearia);
+        eventPublisher.publishEvent(PontoMapaAlteradoEvento.de(barbearia));
     }
 
     // ==================== OPERAÇÕES PÚBLICAS ====================
@@ -219,7 +243,7 @@ public class ServicoBarbearia {
     }
 
     /**
-     * Busca barbearias próximas por geolocalização.
+     * Busca barbearias próximas por geolocalização, pelo índice geográfico em memória.
      */
     @Transactional(readOnly = true)
     public List<BarbeariaResumoDTO> buscarProximas(Double latitude, Double longitude, Double raioKm) {
@@ -229,16 +253,42 @@ public class ServicoBarbearia {
 
         double raio = raioKm != null ? raioKm : 10.0; // Padrão: 10km
 
-        return barbeariaRepository.findProximas(latitude, longitude, raio)
+        return indiceGeografico.barbeariasProximas(latitude, longitude, raio)
                 .stream()
-                .map(result -> {
-                    Barbearia b = (Barbearia) result[0];
-                    Double distancia = (Double) result[1];
-                    return BarbeariaResumoDTO.fromEntity(b, distancia);
-                })
+                .map(proxima -> BarbeariaResumoDTO.fromEntity(proxima.barbearia(), proxima.distanciaKm()))
                 .toList();
     }
 
+    /**
+     * Busca as barbearias ativas mais próximas da origem (kNN), paginadas por cursor (distância, id).
+     * {@code raioKm} limita até onde a busca se expande (padrão: {@value #RAIO_MAXIMO_PADRAO_KM} km).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<BarbeariaResumoDTO> buscarProximasCursor(
+            Double latitude, Double longitude, Double raioKm, String cursor, int tamanho) {
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Latitude e longitude são obrigatórios");
+        }
+        double raio = raioKm != null ? raioKm : RAIO_MAXIMO_PADRAO_KM;
+        if (!(raio > 0) || Double.isInfinite(raio)) {
+            throw new IllegalArgumentException("Raio deve ser positivo");
+        }
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        PontoProximo apos = null;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorDTO chave = CursorDTO.decode(cursor, 2);
+            apos = new PontoProximo(chave.getLong(1), chave.getDouble(0));
+        }
+
+        List<IndiceGeografico.BarbeariaProxima> encontradas = indiceGeografico.barbeariasMaisProximas(
+                latitude, longitude, limite + 1, raio, apos);
+
+        return CursorPageResponseDTO.of(encontradas, limite,
+                proxima -> BarbeariaResumoDTO.fromEntity(proxima.barbearia(), proxima.distanciaKm()),
+                proxima -> CursorDTO.of(proxima.distanciaKm(), proxima.barbearia().getId()));
+    }
+
     // ==================== MÉTODOS AUXILIARES ====================
 
     private Barbearia buscarBarbeariaDoAdmin(Long adminId) {
@@ -2,15 +2,20 @@ package com.reguamaxima.orquestrador.aplicacao;
 
 import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
 import com.reguamaxima.autenticacao.dominio.repository.UsuarioRepository;
+import com.reguamaxima.kernel.dto.CursorDTO;
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.orquestrador.dominio.dto.*;
 import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
 import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro.StatusVinculo;
 import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.evento.PontoMapaAlteradoEvento;
+import com.reguamaxima.orquestrador.dominio.geo.PontoProximo;
 import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
 import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,6 +25,7 @@ import java.util.List;
 
 /**
  * Serviço de aplicação para gestão de barbeiros.
+ * Alterações de posição ou de visibilidade no mapa publicam {@link PontoMapaAlteradoEvento}.
  */
 @Slf4j
 @Service
@@ -29,6 +35,12 @@ public class ServicoBarbeiro {
     private final BarbeiroRepository barbeiroRepository;
     private final BarbeariaRepository barbeariaRepository;
     private final UsuarioRepository usuarioRepository;
+    private final IndiceGeografico indiceGeografico;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Tamanho máximo de página e raio padrão da busca pelos mais próximos
+    private static final int TAMANHO_MAXIMO_PAGINA = 50;
+    private static final double RAIO_MAXIMO_PADRAO_KM = 50.0;
 
     // ========== Operações do Barbeiro ==========
 
@@ -74,6 +86,7 @@ public class ServicoBarbeiro {
         }
 
         barbeiro = barbeiroRepository.save(barbeiro);
+        eventPublisher.publishEvent(PontoMapaAlteradoEvento.de(barbeiro));
         log.info("Perfil de barbeiro criado com ID: {}", barbeiro.getId());
 
         return BarbeiroDTO.fromEntity(barbeiro);
@@ -138,6 +151,9 @@ public class ServicoBarbeiro {
         }
 
         barbeiro = barbeiroRepository.save(barbeiro);
+        if (dto.latitude() != null || dto.longitude() != null || dto.visivelMapa() != null) {
+            eventPublisher.publishEvent(PontoMapaAlteradoEvento.de(barbeiro));
+        }
         return BarbeiroDTO.fromEntity(barbeiro);
     }
 
@@ -313,16 +329,46 @@ public class ServicoBarbeiro {
     }
 
     /**
-     * Busca barbeiros próximos por geolocalização.
+     * Busca barbeiros próximos por geolocalização, pelo índice geográfico em memória.
      */
     @Transactional(readOnly = true)
     public List<BarbeiroResumoDTO> buscarProximos(Double latitude, Double longitude, Double raioKm) {
-        return barbeiroRepository.findBarbeirosProximos(latitude, longitude, raioKm)
+        return indiceGeografico.barbeirosProximos(latitude, longitude, raioKm)
                 .stream()
-                .map(BarbeiroResumoDTO::fromEntity)
+                .map(proximo -> BarbeiroResumoDTO.fromEntity(proximo.barbeiro()))
                 .toList();
     }
 
+    /**
+     * Busca os barbeiros visíveis no mapa mais próximos da origem (kNN), paginados por cursor (distância, id).
+     * {@code raioKm} limita até onde a busca se expande (padrão: {@value #RAIO_MAXIMO_PADRAO_KM} km).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<BarbeiroResumoDTO> buscarProximosCursor(
+            Double latitude, Double longitude, Double raioKm, String cursor, int tamanho) {
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Latitude e longitude são obrigatórios");
+        }
+        double raio = raioKm != null ? raioKm : RAIO_MAXIMO_PADRAO_KM;
+        if (!(raio > 0) || Double.isInfinite(raio)) {
+            throw new IllegalArgumentException("Raio deve ser positivo");
+        }
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA);
+
+        PontoProximo apos = null;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorDTO chave = CursorDTO.decode(cursor, 2);
+            apos = new PontoProximo(chave.getLong(1), chave.getDouble(0));
+        }
+
+        List<IndiceGeografico.BarbeiroProximo> encontrados = indiceGeografico.barbeirosMaisProximos(
+                latitude, longitude, limite + 1, raio, apos);
+
+        return CursorPageResponseDTO.of(encontrados, limite,
+                proximo -> BarbeiroResumoDTO.fromEntity(proximo.barbeiro()),
+                proximo -> CursorDTO.of(proximo.distanciaKm(), proximo.barbeiro().getId()));
+    }
+
     /**
      * Busca barbeiros por termo (nome ou especialidade).
      */
@@ -0,0 +1,266 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.kernel.exception.RegraNegocioException;
+import com.reguamaxima.orquestrador.dominio.agenda.AgendaSemanal;
+import com.reguamaxima.orquestrador.dominio.agenda.ExpedienteDia;
+import com.reguamaxima.orquestrador.dominio.agenda.GradeSlots;
+import com.reguamaxima.orquestrador.dominio.agenda.MapaOcupacaoDia;
+import com.reguamaxima.orquestrador.dominio.dto.HorarioDisponivelDTO;
+import com.reguamaxima.orquestrador.dominio.dto.HorarioProximoDTO;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+import com.reguamaxima.orquestrador.dominio.entidade.Servico;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
+import com.reguamaxima.orquestrador.dominio.repository.ServicoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de busca dos horários livres mais cedo em barbearias próximas.
+ * <p>
+ * Combina o filtro geográfico das barbearias ({@link IndiceGeografico}) com a
+ * agenda semanal compilada ({@link CacheAgendaSemanal}) e os mapas de ocupação
+ * em memória ({@link CacheOcupacaoAgenda}). Os dias da janela são percorridos em
+ * ordem e a busca para assim que os K melhores resultados não podem mais ser
+ * superados por um dia posterior.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ServicoBuscaHorarios {
+
+    private final IndiceGeografico indiceGeografico;
+    private final BarbeiroRepository barbeiroRepository;
+    private final ServicoRepository servicoRepository;
+    private final CacheOcupacaoAgenda cacheOcupacaoAgenda;
+    private final CacheAgendaSemanal cacheAgendaSemanal;
+    private final ReservasTemporariasAgenda reservasTemporarias;
+
+    private static final double RAIO_PADRAO_KM = 10.0;
+    private static final double RAIO_MAXIMO_KM = 50.0;
+    private static final int LIMITE_PADRAO = 10;
+    private static final int LIMITE_MAXIMO = 50;
+    private static final int DIAS_JANELA_PADRAO = 7;
+    private static final int MAXIMO_DIAS_JANELA = 14;
+
+    // Ranking: mais cedo primeiro, depois o mais próximo; ids desempatam de forma estável
+    private static final Comparator<Candidato> ORDEM = Comparator
+            .comparing(Candidato::data)
+            .thenComparingInt(Candidato::minuto)
+            .thenComparingDouble(Candidato::distanciaKm)
+            .thenComparing(candidato -> candidato.barbeiro().getId())
+            .thenComparing(candidato -> candidato.servico().getId());
+
+    /**
+     * Busca os horários livres mais cedo para um serviço em barbearias próximas.
+     * Retorna no máximo um horário por barbeiro e serviço, ordenado por início e distância.
+     *
+     * @param termo  trecho do nome ou da descrição do serviço (ex: "corte")
+     * @param inicio início da janela (padrão: agora)
+     * @param fim    fim da janela, exclusivo (padrão: 7 dias após o início)
+     */
+    @Transactional(readOnly = true)
+    public List<HorarioProximoDTO> buscarMaisCedo(
+            Double latitude,
+            Double longitude,
+            Double raioKm,
+            String termo,
+            LocalDateTime inicio,
+            LocalDateTime fim,
+            Integer limite) {
+        if (latitude == null || longitude == null) {
+            throw new RegraNegocioException("Latitude e longitude são obrigatórios");
+        }
+        if (termo == null || termo.isBlank()) {
+            throw new RegraNegocioException("Informe o serviço desejado");
+        }
+
+        double raio = raioKm != null ? Math.min(raioKm, RAIO_MAXIMO_KM) : RAIO_PADRAO_KM;
+        int quantidade = limite != null ? Math.max(1, Math.min(limite, LIMITE_MAXIMO)) : LIMITE_PADRAO;
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime inicioJanela = inicio != null && inicio.isAfter(agora) ? inicio : agora;
+        LocalDateTime fimJanela = fim != null
+                ? fim
+                : inicioJanela.toLocalDate().plusDays(DIAS_JANELA_PADRAO).atStartOfDay();
+
+        if (!fimJanela.isAfter(inicioJanela)) {
+            throw new RegraNegocioException("O fim da janela deve ser posterior ao início");
+        }
+        if (ChronoUnit.DAYS.between(inicioJanela.toLocalDate(), fimJanela.toLocalDate()) > MAXIMO_DIAS_JANELA) {
+            throw new RegraNegocioException("A janela de busca deve ter no máximo " + MAXIMO_DIAS_JANELA + " dias");
+        }
+
+        // Filtro geográfico
+        Map<Long, Barbearia> barbearias = new HashMap<>();
+        Map<Long, Double> distancias = new HashMap<>();
+        for (IndiceGeografico.BarbeariaProxima proxima
+                : indiceGeografico.barbeariasProximas(latitude, longitude, raio)) {
+            barbearias.put(proxima.barbearia().getId(), proxima.barbearia());
+            distancias.put(proxima.barbearia().getId(), proxima.distanciaKm());
+        }
+        if (barbearias.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Servico>> servicosPorBarbearia = servicoRepository
+                .findAtivosPorTermoNasBarbearias(barbearias.keySet(), termo.trim()).stream()
+                .sorted(Comparator.comparing(Servico::getId))
+                .collect(Collectors.groupingBy(servico -> servico.getBarbearia().getId()));
+        if (servicosPorBarbearia.isEmpty()) {
+            return List.of();
+        }
+
+        List<Barbeiro> barbeiros = barbeiroRepository
+                .findBarbeirosDasBarbeariasComUsuario(servicosPorBarbearia.keySet());
+        if (barbeiros.isEmpty()) {
+            return List.of();
+        }
+        List<Long> barbeiroIds = barbeiros.stream().map(Barbeiro::getId).toList();
+
+        Map<Long, AgendaSemanal> agendas = new HashMap<>();
+        for (Long barbeariaId : servicosPorBarbearia.keySet()) {
+            agendas.put(barbeariaId, cacheAgendaSemanal.obter(barbeariaId));
+        }
+
+        // Heap com o pior dos K melhores no topo
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(quantidade + 1, ORDEM.reversed());
+        LocalDate primeiroDia = inicioJanela.toLocalDate();
+        LocalDate ultimoDia = fimJanela.toLocalDate();
+        int diasVarridos = 0;
+
+        // Dias em ordem: com K resultados, nenhum dia seguinte consegue entrar no ranking
+        for (LocalDate data = primeiroDia;
+                !data.isAfter(ultimoDia) && melhores.size() < quantidade;
+                data = data.plusDays(1)) {
+            int minutoMinimo = Math.max(
+                    GradeSlots.primeiroMinutoFuturo(data, agora),
+                    data.equals(primeiroDia) ? MapaOcupacaoDia.minutoArredondadoParaCima(inicioJanela.toLocalTime()) : 0);
+            int minutoLimite = data.equals(ultimoDia)
+                    ? MapaOcupacaoDia.minutoInicio(fimJanela.toLocalTime())
+                    : MapaOcupacaoDia.MINUTOS_DIA;
+            if (minutoMinimo >= minutoLimite) {
+                continue;
+            }
+
+            diasVarridos++;
+            Map<Long, MapaOcupacaoDia> ocupacoes = reservasTemporarias.comReservas(
+                    cacheOcupacaoAgenda.obterBarbeiros(barbeiroIds, data), data);
+
+            for (Barbeiro barbeiro : barbeiros) {
+                Long barbeariaId = barbeiro.getBarbearia().getId();
+                ExpedienteDia expediente = agendas.get(barbeariaId).expediente(barbeiro.getId(), data);
+                if (expediente.isFechado()) {
+                    continue;
+                }
+
+                MapaOcupacaoDia ocupacao = ocupacoes.get(barbeiro.getId());
+
+                for (Servico servico : servicosPorBarbearia.getOrDefault(barbeariaId, List.of())) {
+                    Candidato candidato = primeiroHorarioLivre(
+                            expediente, ocupacao, data, minutoMinimo, minutoLimite,
+                            barbearias.get(barbeariaId), distancias.get(barbeariaId), barbeiro, servico,
+                            melhores, quantidade);
+                    if (candidato != null) {
+                        melhores.offer(candidato);
+                        if (melhores.size() > quantidade) {
+                            melhores.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        log.debug("Busca de horários próximos - barbearias: {}, barbeiros: {}, dias varridos: {}, resultados: {}",
+                barbearias.size(), barbeiros.size(), diasVarridos, melhores.size());
+
+        List<Candidato> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(ORDEM);
+        return ordenados.stream().map(Candidato::toDTO).toList();
+    }
+
+    /**
+     * Primeiro slot livre do barbeiro para o serviço em [minutoMinimo, minutoLimite),
+     * dentro do expediente do dia.
+     * A varredura para assim que o slot já não entraria entre os K melhores.
+     */
+    private Candidato primeiroHorarioLivre(
+            ExpedienteDia expediente,
+            MapaOcupacaoDia ocupacao,
+            LocalDate data,
+            int minutoMinimo,
+            int minutoLimite,
+            Barbearia barbearia,
+            double distanciaKm,
+            Barbeiro barbeiro,
+            Servico servico,
+            PriorityQueue<Candidato> melhores,
+            int quantidade) {
+        int duracaoMinutos = servico.getDuracaoMinutos();
+        GradeSlots grade = expediente.grade();
+        int totalSlots = grade.contarSlots(duracaoMinutos);
+
+        int primeiroSlot = Math.max(0, Math.ceilDiv(minutoMinimo - grade.minutoAbertura(), grade.intervaloMinutos()));
+        for (int slot = primeiroSlot; slot < totalSlots; slot++) {
+            int inicio = grade.inicioSlot(slot);
+            if (inicio >= minutoLimite) {
+                return null;
+            }
+
+            Candidato candidato = new Candidato(data, inicio, distanciaKm, barbearia, barbeiro, servico);
+            if (melhores.size() >= quantidade && ORDEM.compare(candidato, melhores.peek()) >= 0) {
+                return null;
+            }
+            int fim = inicio + duracaoMinutos;
+            if (expediente.permite(inicio, fim) && ocupacao.estaLivre(inicio, fim)) {
+                return candidato;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Horário livre candidato ao ranking.
+     */
+    private record Candidato(
+            LocalDate data,
+            int minuto,
+            double distanciaKm,
+            Barbearia barbearia,
+            Barbeiro barbeiro,
+            Servico servico) {
+
+        HorarioProximoDTO toDTO() {
+            LocalTime horaInicio = MapaOcupacaoDia.paraHorario(minuto);
+            return new HorarioProximoDTO(
+                    barbearia.getId(),
+                    barbearia.getNome(),
+                    barbearia.getSlug(),
+                    Math.round(distanciaKm * 100.0) / 100.0,
+                    barbeiro.getId(),
+                    barbeiro.getNomeExibicao(),
+                    barbeiro.getFotoUrl(),
+                    servico.getId(),
+                    servico.getNome(),
+                    servico.getDuracaoMinutos(),
+                    servico.getPreco(),
+                    data,
+                    horaInicio,
+                    HorarioDisponivelDTO.formatarHorario(horaInicio));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.orquestrador.dominio.dto.*;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+import com.reguamaxima.orquestrador.dominio.entidade.FolgaAgenda;
+import com.reguamaxima.orquestrador.dominio.entidade.HorarioFuncionamento;
+import com.reguamaxima.orquestrador.dominio.evento.AgendaBarbeariaAlteradaEvento;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
+import com.reguamaxima.orquestrador.dominio.repository.FolgaAgendaRepository;
+import com.reguamaxima.orquestrador.dominio.repository.HorarioFuncionamentoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serviço de aplicação para horários de funcionamento, folgas e feriados.
+ * Cada alteração publica {@link AgendaBarbeariaAlteradaEvento} para que a
+ * agenda semanal compilada seja refeita.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ServicoHorarioFuncionamento {
+
+    private final BarbeariaRepository barbeariaRepository;
+    private final BarbeiroRepository barbeiroRepository;
+    private final HorarioFuncionamentoRepository horarioRepository;
+    private final FolgaAgendaRepository folgaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ========== Consulta Pública ==========
+
+    /**
+     * Lista o horário de funcionamento semanal de uma barbearia.
+     */
+    @Transactional(readOnly = true)
+    public HorariosBarbeariaDTO listarHorarios(Long barbeariaId) {
+        Barbearia barbearia = barbeariaRepository.findById(barbeariaId)
+                .orElseThrow(() -> new IllegalArgumentException("Barbearia não encontrada"));
+        return montarHorarios(barbearia);
+    }
+
+    // ========== Horários (Admin) ==========
+
+    /**
+     * Lista o horário de funcionamento da barbearia do admin.
+     */
+    @Transactional(readOnly = true)
+    public HorariosBarbeariaDTO listarMeusHorarios(Long adminId) {
+        return montarHorarios(buscarBarbeariaDoAdmin(adminId));
+    }
+
+    /**
+     * Substitui o horário de funcionamento semanal da barbearia do admin.
+     */
+    @Transactional
+    public HorariosBarbeariaDTO atualizarMeusHorarios(Long adminId, AtualizarHorariosDTO dto) {
+        Barbearia barbearia = buscarBarbeariaDoAdmin(adminId);
+
+        Set<DayOfWeek> dias = EnumSet.noneOf(DayOfWeek.class);
+        for (HorarioFuncionamentoDTO dia : dto.dias()) {
+            if (!dias.add(dia.diaSemana())) {
+                throw new IllegalArgumentException("Dia da semana repetido: " + dia.diaSemana());
+            }
+            validarHorario(dia);
+        }
+
+        horarioRepository.deleteByBarbeariaId(barbearia.getId());
+        horarioRepository.saveAll(dto.dias().stream()
+                .map(dia -> HorarioFuncionamento.builder()
+                        .barbearia(barbearia)
+                        .diaSemana(dia.diaSemana())
+                        .horaAbertura(dia.horaAbertura())
+                        .horaFechamento(dia.horaFechamento())
+                        .inicioIntervalo(dia.inicioIntervalo())
+                        .fimIntervalo(dia.fimIntervalo())
+                        .build())
+                .toList());
+
+        barbearia.setIntervaloSlotsMinutos(dto.intervaloSlotsMinutos());
+        barbeariaRepository.save(barbearia);
+
+        eventPublisher.publishEvent(new AgendaBarbeariaAlteradaEvento(barbearia.getId()));
+        log.info("Horário de funcionamento atualizado - barbearia: {}, dias: {}", barbearia.getId(), dias.size());
+
+        return montarHorarios(barbearia);
+    }
+
+    // ========== Folgas e Feriados (Admin) ==========
+
+    /**
+     * Lista folgas e feriados vigentes da barbearia do admin.
+     */
+    @Transactional(readOnly = true)
+    public List<FolgaAgendaDTO> listarMinhasFolgas(Long adminId) {
+        Barbearia barbearia = buscarBarbeariaDoAdmin(adminId);
+        return folgaRepository.findVigentes(barbearia.getId(), LocalDate.now()).stream()
+                .map(FolgaAgendaDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Cadastra folga de barbeiro ou feriado da barbearia do admin.
+     */
+    @Transactional
+    public FolgaAgendaDTO adicionarFolga(Long adminId, CriarFolgaDTO dto) {
+        Barbearia barbearia = buscarBarbeariaDoAdmin(adminId);
+
+        if ((dto.data() == null) == (dto.diaSemana() == null)) {
+            throw new IllegalArgumentException("Informe a data ou o dia da semana da folga");
+        }
+        if (dto.data() != null && dto.data().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Não é possível cadastrar folga em data passada");
+        }
+
+        Barbeiro barbeiro = null;
+        if (dto.barbeiroId() != null) {
+            barbeiro = barbeiroRepository.findById(dto.barbeiroId())
+                    .orElseThrow(() -> new IllegalArgumentException("Barbeiro não encontrado"));
+            if (barbeiro.getBarbearia() == null || !barbeiro.getBarbearia().getId().equals(barbearia.getId())) {
+                throw new IllegalArgumentException("Barbeiro não pertence a esta barbearia");
+            }
+        }
+
+        FolgaAgenda folga = folgaRepository.save(FolgaAgenda.builder()
+                .barbearia(barbearia)
+                .barbeiro(barbeiro)
+                .data(dto.data())
+                .diaSemana(dto.diaSemana())
+                .descricao(dto.descricao())
+                .build());
+
+        eventPublisher.publishEvent(new AgendaBarbeariaAlteradaEvento(barbearia.getId()));
+        log.info("Folga {} cadastrada - barbearia: {}, barbeiro: {}", folga.getId(), barbearia.getId(), dto.barbeiroId());
+
+        return FolgaAgendaDTO.fromEntity(folga);
+    }
+
+    /**
+     * Remove folga ou feriado da barbearia do admin.
+     */
+    @Transactional
+    public void removerFolga(Long adminId, Long folgaId) {
+        Barbearia barbearia = buscarBarbeariaDoAdmin(adminId);
+
+        FolgaAgenda folga = folgaRepository.findByIdAndBarbeariaId(folgaId, barbearia.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Folga não encontrada"));
+
+        folgaRepository.delete(folga);
+        eventPublisher.publishEvent(new AgendaBarbeariaAlteradaEvento(barbearia.getId()));
+        log.info("Folga {} removida - barbearia: {}", folgaId, barbearia.getId());
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private Barbearia buscarBarbeariaDoAdmin(Long adminId) {
+        return barbeariaRepository.findByAdminIdAndAtivoTrue(adminId)
+                .orElseThrow(() -> new IllegalArgumentException("Barbearia não encontrada para este administrador"));
+    }
+
+    private HorariosBarbeariaDTO montarHorarios(Barbearia barbearia) {
+        List<HorarioFuncionamentoDTO> dias = horarioRepository.findByBarbeariaId(barbearia.getId()).stream()
+                .sorted(Comparator.comparing(HorarioFuncionamento::getDiaSemana))
+                .map(HorarioFuncionamentoDTO::fromEntity)
+                .toList();
+
+        return new HorariosBarbeariaDTO(
+                barbearia.getId(),
+                barbearia.getIntervaloSlotsMinutos(),
+                dias.isEmpty(),
+                dias);
+    }
+
+    private void validarHorario(HorarioFuncionamentoDTO dia) {
+        if (!dia.horaFechamento().isAfter(dia.horaAbertura())) {
+            throw new IllegalArgumentException("Fechamento deve ser após a abertura (" + dia.diaSemana() + ")");
+        }
+
+        if ((dia.inicioIntervalo() == null) != (dia.fimIntervalo() == null)) {
+            throw new IllegalArgumentException("Informe início e fim do intervalo (" + dia.diaSemana() + ")");
+        }
+
+        if (dia.inicioIntervalo() != null
+                && (dia.inicioIntervalo().isBefore(dia.horaAbertura())
+                        || !dia.fimIntervalo().isAfter(dia.inicioIntervalo())
+                        || dia.fimIntervalo().isAfter(dia.horaFechamento()))) {
+            throw new IllegalArgumentException("Intervalo deve estar dentro do expediente (" + dia.diaSemana() + ")");
+        }
+    }
+}
@@ -2,24 +2,29 @@ package com.reguamaxima.orquestrador.aplicacao;
 
 import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
 import com.reguamaxima.autenticacao.dominio.repository.UsuarioRepository;
+import com.reguamaxima.orquestrador.dominio.agenda.ExpedienteDia;
 import com.reguamaxima.orquestrador.dominio.dto.*;
 import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
 import com.reguamaxima.orquestrador.dominio.entidade.SessaoTrabalho;
 import com.reguamaxima.orquestrador.dominio.enums.StatusSessao;
+import com.reguamaxima.orquestrador.dominio.evento.StatusBarbeariaAlteradoEvento;
 import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
 import com.reguamaxima.orquestrador.dominio.repository.SessaoTrabalhoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Serviço de aplicação para gestão de sessões de trabalho/caixa.
+ * Cada mudança de sessão publica {@link StatusBarbeariaAlteradoEvento}.
  */
 @Slf4j
 @Service
@@ -29,6 +34,8 @@ public class ServicoSessaoTrabalho {
     private final SessaoTrabalhoRepository sessaoRepository;
     private final BarbeariaRepository barbeariaRepository;
     private final UsuarioRepository usuarioRepository;
+    private final CacheAgendaSemanal cacheAgendaSemanal;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ========== Operações de Sessão ==========
 
@@ -63,6 +70,7 @@ public class ServicoSessaoTrabalho {
                 .build();
 
         sessao = sessaoRepository.save(sessao);
+        eventPublisher.publishEvent(new StatusBarbeariaAlteradoEvento(dto.barbeariaId()));
         log.info("Sessão {} aberta com sucesso - ID: {}", numeroSessao, sessao.getId());
 
         return SessaoTrabalhoDTO.fromEntity(sessao);
@@ -81,6 +89,7 @@ public class ServicoSessaoTrabalho {
         sessao.pausar();
         sessao = sessaoRepository.save(sessao);
 
+        eventPublisher.publishEvent(new StatusBarbeariaAlteradoEvento(barbeariaId));
         log.info("Sessão {} pausada", sessao.getId());
         return SessaoTrabalhoDTO.fromEntity(sessao);
     }
@@ -98,6 +107,7 @@ public class ServicoSessaoTrabalho {
         sessao.retomar();
         sessao = sessaoRepository.save(sessao);
 
+        eventPublisher.publishEvent(new StatusBarbeariaAlteradoEvento(barbeariaId));
         log.info("Sessão {} retomada", sessao.getId());
         return SessaoTrabalhoDTO.fromEntity(sessao);
     }
@@ -121,6 +131,7 @@ public class ServicoSessaoTrabalho {
 
         sessao = sessaoRepository.save(sessao);
 
+        eventPublisher.publishEvent(new StatusBarbeariaAlteradoEvento(barbeariaId));
         log.info("Sessão {} fechada - Valor esperado: {}, Valor real: {}, Diferença: {}",
                 sessao.getId(),
                 sessao.getValorEsperado(),
@@ -167,6 +178,7 @@ public class ServicoSessaoTrabalho {
 
     /**
      * Verifica se a barbearia está aberta (para clientes).
+     * Inclui o expediente de hoje, lido da agenda semanal compilada.
      */
     @Transactional(readOnly = true)
     public StatusBarbeariaDTO verificarStatusBarbearia(Long barbeariaId) {
@@ -175,18 +187,20 @@ public class ServicoSessaoTrabalho {
 
         Optional<SessaoTrabalho> sessaoAtiva = sessaoRepository.findSessaoAtiva(barbeariaId);
 
+        StatusBarbeariaDTO status;
         if (sessaoAtiva.isEmpty()) {
-            return StatusBarbeariaDTO.fechada(barbeariaId, barbearia.getNome());
-        }
-
-        SessaoTrabalho sessao = sessaoAtiva.get();
-        if (sessao.getStatus() == StatusSessao.ABERTA) {
-            return StatusBarbeariaDTO.aberta(barbeariaId, barbearia.getNome());
-        } else if (sessao.getStatus() == StatusSessao.PAUSADA) {
-            return StatusBarbeariaDTO.pausada(barbeariaId, barbearia.getNome());
+            status = StatusBarbeariaDTO.fechada(barbeariaId, barbearia.getNome());
+        } else if (sessaoAtiva.get().getStatus() == StatusSessao.ABERTA) {
+            status = StatusBarbeariaDTO.aberta(barbeariaId, barbearia.getNome());
+        } else if (sessaoAtiva.get().getStatus() == StatusSessao.PAUSADA) {
+            status = StatusBarbeariaDTO.pausada(barbeariaId, barbearia.getNome());
         } else {
-            return StatusBarbeariaDTO.fechada(barbeariaId, barbearia.getNome());
+            status = StatusBarbeariaDTO.fechada(barbeariaId, barbearia.getNome());
         }
+
+        LocalDateTime agora = LocalDateTime.now();
+        ExpedienteDia hoje = cacheAgendaSemanal.obter(barbeariaId).expediente(agora.toLocalDate());
+        return status.comExpediente(hoje, agora.toLocalTime());
     }
 
     /**
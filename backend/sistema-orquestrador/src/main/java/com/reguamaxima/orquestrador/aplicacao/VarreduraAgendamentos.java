@@ -0,0 +1,184 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.config.AgendaProperties;
+import com.reguamaxima.orquestrador.dominio.agenda.SituacaoAgendamento;
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import com.reguamaxima.orquestrador.dominio.repository.AgendamentoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.ReservaHorarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Varredura periódica de agendamentos vencidos.
+ * <p>
+ * Cancela pendentes que nunca foram confirmados e marca como não compareceu
+ * confirmados cujo horário já passou, conforme as políticas de
+ * {@link AgendaProperties.Varredura}. Cada lote roda em transação própria,
+ * trava apenas as linhas do lote (pulando as travadas por outras transações)
+ * e aplica a transição com um único UPDATE, sem travas longas na tabela.
+ */
+@Slf4j
+@Component
+public class VarreduraAgendamentos {
+
+    private static final String MOTIVO_CANCELAMENTO = "Cancelado automaticamente: não confirmado até o horário agendado";
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final ReservaHorarioRepository reservaHorarioRepository;
+    private final AgendaProperties.Varredura config;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transacaoLote;
+
+    private final Counter pendentesCancelados;
+    private final Counter naoComparecimentos;
+    private final Counter travasRemovidas;
+    private final Counter reservasRemovidas;
+    private final Timer duracao;
+
+    public VarreduraAgendamentos(
+            AgendamentoRepository agendamentoRepository,
+            ReservaHorarioRepository reservaHorarioRepository,
+            AgendaProperties agendaProperties,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.agendamentoRepository = agendamentoRepository;
+        this.reservaHorarioRepository = reservaHorarioRepository;
+        this.config = agendaProperties.getVarredura();
+        this.eventPublisher = eventPublisher;
+        this.transacaoLote = new TransactionTemplate(transactionManager);
+        this.transacaoLote.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.pendentesCancelados = Counter.builder("agenda.varredura.agendamentos")
+                .description("Agendamentos alterados pela varredura")
+                .tag("politica", "pendente_cancelado")
+                .register(meterRegistry);
+        this.naoComparecimentos = Counter.builder("agenda.varredura.agendamentos")
+                .description("Agendamentos alterados pela varredura")
+                .tag("politica", "nao_compareceu")
+                .register(meterRegistry);
+        this.travasRemovidas = Counter.builder("agenda.varredura.travas")
+                .description("Linhas de travas_agenda removidas pela varredura")
+                .register(meterRegistry);
+        this.reservasRemovidas = Counter.builder("agenda.varredura.reservas")
+                .description("Reservas temporárias expiradas removidas pela varredura")
+                .register(meterRegistry);
+        this.duracao = Timer.builder("agenda.varredura.duracao")
+                .description("Duração de cada varredura de agendamentos")
+                .register(meterRegistry);
+    }
+
+    // ========== Execução ==========
+
+    /**
+     * Executa todas as políticas habilitadas.
+     */
+    @Scheduled(
+            fixedDelayString = "${agenda.varredura.intervalo-ms:300000}",
+            initialDelayString = "${agenda.varredura.intervalo-ms:300000}")
+    public void executar() {
+        if (!config.isHabilitada()) {
+            return;
+        }
+
+        duracao.record(() -> {
+            LocalDateTime agora = LocalDateTime.now();
+
+            if (config.getPendentes().isHabilitada()) {
+                LocalDateTime limite = agora.minusMinutes(config.getPendentes().getToleranciaMinutos());
+                int total = processarEmLotes(pagina -> cancelarPendentes(limite, pagina));
+                pendentesCancelados.increment(total);
+                if (total > 0) {
+                    log.info("Varredura: {} agendamentos pendentes cancelados", total);
+                }
+            }
+
+            if (config.getConfirmados().isHabilitada()) {
+                LocalDateTime limite = agora.minusMinutes(config.getConfirmados().getToleranciaMinutos());
+                int total = processarEmLotes(pagina -> marcarNaoCompareceu(limite, pagina));
+                naoComparecimentos.increment(total);
+                if (total > 0) {
+                    log.info("Varredura: {} agendamentos marcados como não compareceu", total);
+                }
+            }
+
+            LocalDate limiteTravas = agora.toLocalDate().minusDays(config.getRetencaoTravasDias());
+            int travas = processarEmLotes(
+                    pagina -> agendamentoRepository.removerTravasAnteriores(limiteTravas, pagina.getPageSize()));
+            travasRemovidas.increment(travas);
+
+            int reservas = processarEmLotes(
+                    pagina -> reservaHorarioRepository.removerExpiradas(agora, pagina.getPageSize()));
+            reservasRemovidas.increment(reservas);
+        });
+    }
+
+    // ========== Políticas ==========
+
+    private int cancelarPendentes(LocalDateTime limite, PageRequest pagina) {
+        List<SituacaoAgendamento> vencidos = agendamentoRepository.findVencidosPeloInicio(
+                StatusAgendamento.PENDENTE, limite.toLocalDate(), limite.toLocalTime(), pagina);
+        if (vencidos.isEmpty()) {
+            return 0;
+        }
+
+        int alterados = agendamentoRepository.cancelarVencidos(
+                ids(vencidos), StatusAgendamento.PENDENTE, StatusAgendamento.CANCELADO_BARBEARIA,
+                MOTIVO_CANCELAMENTO, LocalDateTime.now());
+        vencidos.forEach(situacao -> eventPublisher.publishEvent(
+                situacao.transicao(StatusAgendamento.CANCELADO_BARBEARIA)));
+        return alterados;
+    }
+
+    private int marcarNaoCompareceu(LocalDateTime limite, PageRequest pagina) {
+        List<SituacaoAgendamento> vencidos = agendamentoRepository.findVencidosPeloFim(
+                StatusAgendamento.CONFIRMADO, limite.toLocalDate(), limite.toLocalTime(), pagina);
+        if (vencidos.isEmpty()) {
+            return 0;
+        }
+
+        int alterados = agendamentoRepository.marcarNaoCompareceuVencidos(
+                ids(vencidos), StatusAgendamento.CONFIRMADO, LocalDateTime.now());
+        vencidos.forEach(situacao -> eventPublisher.publishEvent(
+                situacao.transicao(StatusAgendamento.NAO_COMPARECEU)));
+        return alterados;
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    /**
+     * Executa lotes em transações separadas até um lote vir incompleto ou o limite de lotes ser atingido.
+     * Sempre busca a primeira página: os registros já processados saem do filtro.
+     */
+    private int processarEmLotes(Function<PageRequest, Integer> lote) {
+        PageRequest pagina = PageRequest.of(0, config.getTamanhoLote());
+        int total = 0;
+        for (int i = 0; i < config.getMaximoLotes(); i++) {
+            Integer alterados = transacaoLote.execute(status -> lote.apply(pagina));
+            int quantidade = alterados != null ? alterados : 0;
+            total += quantidade;
+            if (quantidade < config.getTamanhoLote()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private static List<Long> ids(List<SituacaoAgendamento> situacoes) {
+        return situacoes.stream().map(SituacaoAgendamento::id).toList();
+    }
+}
@@ -0,0 +1,126 @@
+package com.reguamaxima.orquestrador.dominio.agenda;
+
+import com.reguamaxima.orquestrador.dominio.entidade.FolgaAgenda;
+import com.reguamaxima.orquestrador.dominio.entidade.HorarioFuncionamento;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Agenda semanal compilada de uma barbearia.
+ * <p>
+ * Reúne o expediente de cada dia da semana (com pausas), os feriados da
+ * barbearia e as folgas dos barbeiros. Imutável: qualquer alteração feita
+ * pelo admin gera uma nova compilação.
+ */
+public final class AgendaSemanal {
+
+    private final Map<DayOfWeek, ExpedienteDia> expedientes;
+    private final Set<LocalDate> feriados;
+    private final Map<Long, Set<DayOfWeek>> folgasSemanais;
+    private final Map<Long, Set<LocalDate>> folgasAvulsas;
+
+    private AgendaSemanal(
+            Map<DayOfWeek, ExpedienteDia> expedientes,
+            Set<LocalDate> feriados,
+            Map<Long, Set<DayOfWeek>> folgasSemanais,
+            Map<Long, Set<LocalDate>> folgasAvulsas) {
+        this.expedientes = expedientes;
+        this.feriados = feriados;
+        this.folgasSemanais = folgasSemanais;
+        this.folgasAvulsas = folgasAvulsas;
+    }
+
+    /**
+     * Compila horários e folgas em uma agenda semanal.
+     * Sem nenhum horário cadastrado, todos os dias usam o horário padrão ({@link GradeSlots#PADRAO}).
+     */
+    public static AgendaSemanal compilar(
+            List<HorarioFuncionamento> horarios,
+            List<FolgaAgenda> folgas,
+            int intervaloMinutos) {
+        Map<DayOfWeek, ExpedienteDia> expedientes = new EnumMap<>(DayOfWeek.class);
+        if (horarios.isEmpty()) {
+            ExpedienteDia padrao = ExpedienteDia.de(
+                    GradeSlots.PADRAO.minutoAbertura(), GradeSlots.PADRAO.minutoFechamento(),
+                    null, null, intervaloMinutos);
+            for (DayOfWeek dia : DayOfWeek.values()) {
+                expedientes.put(dia, padrao);
+            }
+        } else {
+            for (HorarioFuncionamento horario : horarios) {
+                expedientes.put(horario.getDiaSemana(), ExpedienteDia.de(
+                        MapaOcupacaoDia.minutoInicio(horario.getHoraAbertura()),
+                        MapaOcupacaoDia.minutoInicio(horario.getHoraFechamento()),
+                        horario.possuiIntervalo() ? MapaOcupacaoDia.minutoInicio(horario.getInicioIntervalo()) : null,
+                        horario.possuiIntervalo() ? MapaOcupacaoDia.minutoInicio(horario.getFimIntervalo()) : null,
+                        intervaloMinutos));
+            }
+        }
+
+        Set<LocalDate> feriados = new HashSet<>();
+        Map<Long, Set<DayOfWeek>> folgasSemanais = new HashMap<>();
+        Map<Long, Set<LocalDate>> folgasAvulsas = new HashMap<>();
+        for (FolgaAgenda folga : folgas) {
+            if (folga.getBarbeiro() == null) {
+                if (folga.getData() != null) {
+                    feriados.add(folga.getData());
+                } else if (folga.getDiaSemana() != null) {
+                    expedientes.remove(folga.getDiaSemana());
+                }
+                continue;
+            }
+
+            Long barbeiroId = folga.getBarbeiro().getId();
+            if (folga.getData() != null) {
+                folgasAvulsas.computeIfAbsent(barbeiroId, id -> new HashSet<>()).add(folga.getData());
+            } else if (folga.getDiaSemana() != null) {
+                folgasSemanais.computeIfAbsent(barbeiroId, id -> EnumSet.noneOf(DayOfWeek.class))
+                        .add(folga.getDiaSemana());
+            }
+        }
+
+        return new AgendaSemanal(
+                Collections.unmodifiableMap(expedientes),
+                Set.copyOf(feriados),
+                copiar(folgasSemanais),
+                copiar(folgasAvulsas));
+    }
+
+    // ========== Consultas ==========
+
+    /**
+     * Expediente da barbearia na data (fechado em feriados e dias sem expediente).
+     */
+    public ExpedienteDia expediente(LocalDate data) {
+        if (feriados.contains(data)) {
+            return ExpedienteDia.FECHADO;
+        }
+        return expedientes.getOrDefault(data.getDayOfWeek(), ExpedienteDia.FECHADO);
+    }
+
+    /**
+     * Expediente do barbeiro na data: o da barbearia, ou fechado se o barbeiro estiver de folga.
+     */
+    public ExpedienteDia expediente(Long barbeiroId, LocalDate data) {
+        if (folgasSemanais.getOrDefault(barbeiroId, Set.of()).contains(data.getDayOfWeek())
+                || folgasAvulsas.getOrDefault(barbeiroId, Set.of()).contains(data)) {
+            return ExpedienteDia.FECHADO;
+        }
+        return expediente(data);
+    }
+
+    private static <T> Map<Long, Set<T>> copiar(Map<Long, Set<T>> mapa) {
+        Map<Long, Set<T>> copia = new HashMap<>();
+        mapa.forEach((id, valores) -> copia.put(id, Set.copyOf(valores)));
+        return Map.copyOf(copia);
+    }
+}
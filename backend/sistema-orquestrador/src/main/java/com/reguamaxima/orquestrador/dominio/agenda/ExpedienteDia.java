@@ -0,0 +1,82 @@
+package com.reguamaxima.orquestrador.dominio.agenda;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+
+/**
+ * Expediente de um dia: a grade de slots e os minutos fora do expediente
+ * (antes da abertura, na pausa e após o fechamento), marcados como ocupados.
+ *
+ * @param grade             grade de slots do dia
+ * @param foraDoExpediente  minutos em que não há atendimento
+ */
+public record ExpedienteDia(GradeSlots grade, MapaOcupacaoDia foraDoExpediente) {
+
+    /**
+     * Dia sem atendimento (fechado, feriado ou folga).
+     */
+    public static final ExpedienteDia FECHADO = new ExpedienteDia(
+            new GradeSlots(0, 0, GradeSlots.PADRAO.intervaloMinutos()),
+            MapaOcupacaoDia.vazio().comOcupacao(0, MapaOcupacaoDia.MINUTOS_DIA));
+
+    /**
+     * Monta o expediente de [abertura, fechamento) com pausa opcional em [inicioPausa, fimPausa).
+     */
+    public static ExpedienteDia de(int abertura, int fechamento, Integer inicioPausa, Integer fimPausa,
+            int intervaloMinutos) {
+        MapaOcupacaoDia fora = MapaOcupacaoDia.vazio()
+                .comOcupacao(0, abertura)
+                .comOcupacao(fechamento, MapaOcupacaoDia.MINUTOS_DIA);
+        if (inicioPausa != null && fimPausa != null) {
+            fora = fora.comOcupacao(inicioPausa, fimPausa);
+        }
+        return new ExpedienteDia(new GradeSlots(abertura, fechamento, intervaloMinutos), fora);
+    }
+
+    /**
+     * Verifica se não há atendimento no dia.
+     */
+    public boolean isFechado() {
+        return grade.minutoFechamento() <= grade.minutoAbertura();
+    }
+
+    public LocalTime abertura() {
+        return isFechado() ? null : grade.abertura();
+    }
+
+    public LocalTime fechamento() {
+        return isFechado() ? null : MapaOcupacaoDia.paraHorario(grade.minutoFechamento());
+    }
+
+    /**
+     * Verifica se o intervalo [inicio, fim) cabe inteiro no expediente.
+     */
+    public boolean permite(int inicio, int fim) {
+        return !isFechado() && foraDoExpediente.estaLivre(inicio, fim);
+    }
+
+    /**
+     * Calcula quais slots do dia estão disponíveis (bit i = slot i livre).
+     * Um slot precisa estar dentro do expediente e livre na ocupação do barbeiro;
+     * slots de datas ou horários que já passaram ficam indisponíveis.
+     */
+    public BitSet slotsDisponiveis(MapaOcupacaoDia ocupacao, LocalDate data, int duracaoMinutos) {
+        int totalSlots = grade.contarSlots(duracaoMinutos);
+        BitSet disponiveis = new BitSet(totalSlots);
+        if (isFechado()) {
+            return disponiveis;
+        }
+
+        int primeiroMinuto = GradeSlots.primeiroMinutoFuturo(data, LocalDateTime.now());
+        for (int slot = 0; slot < totalSlots; slot++) {
+            int inicio = grade.inicioSlot(slot);
+            int fim = inicio + duracaoMinutos;
+            if (inicio >= primeiroMinuto && foraDoExpediente.estaLivre(inicio, fim) && ocupacao.estaLivre(inicio, fim)) {
+                disponiveis.set(slot);
+            }
+        }
+        return disponiveis;
+    }
+}
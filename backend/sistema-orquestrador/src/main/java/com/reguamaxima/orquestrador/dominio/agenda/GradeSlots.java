@@ -0,0 +1,65 @@
+package com.reguamaxima.orquestrador.dominio.agenda;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Grade de slots de agendamento de um dia: abertura, fechamento e intervalo
+ * entre inícios, em minutos do dia.
+ *
+ * @param minutoAbertura   minuto do dia do primeiro slot
+ * @param minutoFechamento minuto do dia em que o último serviço deve terminar
+ * @param intervaloMinutos intervalo entre o início de dois slots consecutivos
+ */
+public record GradeSlots(int minutoAbertura, int minutoFechamento, int intervaloMinutos) {
+
+    /**
+     * Horário de funcionamento padrão: 08:00 às 20:00, slots de 30 em 30 minutos.
+     */
+    public static final GradeSlots PADRAO = new GradeSlots(8 * 60, 20 * 60, 30);
+
+    /**
+     * Horário do primeiro slot.
+     */
+    public LocalTime abertura() {
+        return MapaOcupacaoDia.paraHorario(minutoAbertura);
+    }
+
+    /**
+     * Quantidade de slots do dia em que um serviço com a duração informada cabe.
+     */
+    public int contarSlots(int duracaoMinutos) {
+        int ultimoInicio = minutoFechamento - duracaoMinutos;
+        return ultimoInicio < minutoAbertura ? 0 : (ultimoInicio - minutoAbertura) / intervaloMinutos + 1;
+    }
+
+    /**
+     * Minuto do dia em que o slot começa.
+     */
+    public int inicioSlot(int slot) {
+        return minutoAbertura + slot * intervaloMinutos;
+    }
+
+    /**
+     * Horário em que o slot começa.
+     */
+    public LocalTime horarioSlot(int slot) {
+        return MapaOcupacaoDia.paraHorario(inicioSlot(slot));
+    }
+
+    /**
+     * Primeiro minuto da data que ainda não passou em relação a {@code agora}.
+     * Datas passadas retornam o fim do dia (nenhum minuto disponível).
+     */
+    public static int primeiroMinutoFuturo(LocalDate data, LocalDateTime agora) {
+        LocalDate hoje = agora.toLocalDate();
+        if (data.isBefore(hoje)) {
+            return MapaOcupacaoDia.MINUTOS_DIA;
+        }
+        if (data.equals(hoje)) {
+            return MapaOcupacaoDia.minutoArredondadoParaCima(agora.toLocalTime());
+        }
+        return 0;
+    }
+}
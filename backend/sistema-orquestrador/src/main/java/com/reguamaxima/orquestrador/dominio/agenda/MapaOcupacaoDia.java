@@ -0,0 +1,142 @@
+package com.reguamaxima.orquestrador.dominio.agenda;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Mapa de ocupação de um barbeiro em um dia, com resolução de minuto.
+ * <p>
+ * Cada minuto do dia é um bit (1 = ocupado). Imutável: as alterações
+ * retornam uma nova instância, permitindo leitura concorrente sem locks.
+ */
+public final class MapaOcupacaoDia {
+
+    public static final int MINUTOS_DIA = 24 * 60;
+
+    private static final int PALAVRAS = (MINUTOS_DIA + Long.SIZE - 1) / Long.SIZE;
+
+    private static final MapaOcupacaoDia VAZIO = new MapaOcupacaoDia(new long[PALAVRAS]);
+
+    private final long[] bits;
+
+    private MapaOcupacaoDia(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Retorna um mapa sem nenhum minuto ocupado.
+     */
+    public static MapaOcupacaoDia vazio() {
+        return VAZIO;
+    }
+
+    // ========== Conversões ==========
+
+    /**
+     * Converte um horário para o minuto do dia (arredonda para baixo).
+     */
+    public static int minutoInicio(LocalTime hora) {
+        return hora.getHour() * 60 + hora.getMinute();
+    }
+
+    /**
+     * Converte o horário de fim para minuto do dia (arredonda para cima).
+     * Horários que viram a meia-noite são limitados ao fim do dia.
+     */
+    public static int minutoFim(LocalTime inicio, LocalTime fim) {
+        int minuto = minutoArredondadoParaCima(fim);
+        return minuto <= minutoInicio(inicio) ? MINUTOS_DIA : minuto;
+    }
+
+    /**
+     * Converte um horário para o minuto do dia (arredonda para cima).
+     */
+    public static int minutoArredondadoParaCima(LocalTime hora) {
+        return minutoInicio(hora) + (hora.getSecond() > 0 || hora.getNano() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Converte minuto do dia para horário.
+     */
+    public static LocalTime paraHorario(int minuto) {
+        return LocalTime.of(minuto / 60, minuto % 60);
+    }
+
+    // ========== Alterações ==========
+
+    /**
+     * Retorna um novo mapa com o intervalo [inicio, fim) ocupado.
+     */
+    public MapaOcupacaoDia comOcupacao(int inicio, int fim) {
+        return alterar(inicio, fim, true);
+    }
+
+    /**
+     * Retorna um novo mapa com o intervalo [inicio, fim) livre.
+     */
+    public MapaOcupacaoDia semOcupacao(int inicio, int fim) {
+        return alterar(inicio, fim, false);
+    }
+
+    private MapaOcupacaoDia alterar(int inicio, int fim, boolean ocupar) {
+        int de = Math.max(0, inicio);
+        int ate = Math.min(MINUTOS_DIA, fim);
+        if (de >= ate) {
+            return this;
+        }
+
+        long[] copia = Arrays.copyOf(bits, PALAVRAS);
+        int primeira = de >>> 6;
+        int ultima = (ate - 1) >>> 6;
+        for (int i = primeira; i <= ultima; i++) {
+            long mascara = mascara(i, de, ate);
+            copia[i] = ocupar ? copia[i] | mascara : copia[i] & ~mascara;
+        }
+        return new MapaOcupacaoDia(copia);
+    }
+
+    // ========== Consultas ==========
+
+    /**
+     * Verifica se todo o intervalo [inicio, fim) está livre.
+     */
+    public boolean estaLivre(int inicio, int fim) {
+        int de = Math.max(0, inicio);
+        int ate = Math.min(MINUTOS_DIA, fim);
+        if (de >= ate) {
+            return true;
+        }
+
+        int primeira = de >>> 6;
+        int ultima = (ate - 1) >>> 6;
+        for (int i = primeira; i <= ultima; i++) {
+            if ((bits[i] & mascara(i, de, ate)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se o mapa não possui nenhum minuto ocupado.
+     */
+    public boolean isVazio() {
+        for (long palavra : bits) {
+            if (palavra != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Máscara dos bits da palavra {@code indice} que caem em [de, ate).
+     */
+    private static long mascara(int indice, int de, int ate) {
+        int base = indice << 6;
+        int inicioPalavra = Math.max(de, base) - base;
+        int fimPalavra = Math.min(ate, base + Long.SIZE) - base;
+        long ateFim = fimPalavra == Long.SIZE ? -1L : (1L << fimPalavra) - 1;
+        return ateFim & (-1L << inicioPalavra);
+    }
+}
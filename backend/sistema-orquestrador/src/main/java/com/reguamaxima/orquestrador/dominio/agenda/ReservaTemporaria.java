@@ -0,0 +1,36 @@
+package com.reguamaxima.orquestrador.dominio.agenda;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Reserva temporária de um horário na agenda de um barbeiro, feita pelo
+ * cliente entre a escolha do horário e a confirmação do agendamento.
+ *
+ * @param inicio minuto do dia em que o horário começa
+ * @param fim    minuto do dia em que o horário termina (exclusivo)
+ */
+public record ReservaTemporaria(
+        UUID token,
+        Long clienteId,
+        Long barbeiroId,
+        LocalDate data,
+        int inicio,
+        int fim,
+        Instant expiraEm) {
+
+    /**
+     * Verifica se a reserva já expirou.
+     */
+    public boolean expirada(Instant agora) {
+        return !agora.isBefore(expiraEm);
+    }
+
+    /**
+     * Verifica se a reserva se sobrepõe ao intervalo [inicio, fim).
+     */
+    public boolean sobrepoe(int inicio, int fim) {
+        return this.inicio < fim && this.fim > inicio;
+    }
+}
@@ -0,0 +1,30 @@
+package com.reguamaxima.orquestrador.dominio.agenda;
+
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import com.reguamaxima.orquestrador.dominio.evento.AgendamentoAlteradoEvento;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção mínima de um agendamento para validar e aplicar transições de status
+ * em lote, sem carregar a entidade e seus relacionamentos.
+ */
+public record SituacaoAgendamento(
+        Long id,
+        Long barbeiroId,
+        Long barbeariaId,
+        Long clienteId,
+        LocalDate data,
+        LocalTime horaInicio,
+        LocalTime horaFim,
+        StatusAgendamento status) {
+
+    /**
+     * Cria o evento da transição deste agendamento para o novo status.
+     */
+    public AgendamentoAlteradoEvento transicao(StatusAgendamento novoStatus) {
+        return new AgendamentoAlteradoEvento(
+                id, barbeiroId, barbeariaId, clienteId, data, horaInicio, horaFim, status, novoStatus);
+    }
+}
@@ -1,5 +1,6 @@
 package com.reguamaxima.orquestrador.dominio.dto;
 
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
 import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
 
 import java.math.BigDecimal;
@@ -128,4 +129,70 @@ public record AgendamentoDTO(
                 agendamento.getStatus().podeIniciar(),
                 agendamento.getStatus().podeFinalizar());
     }
+
+    /**
+     * Cria DTO a partir da projeção de leitura usada nas listagens.
+     */
+    public static AgendamentoDTO fromProjecao(AgendamentoProjecao projecao) {
+        StatusAgendamento status = projecao.status();
+
+        return new AgendamentoDTO(
+                projecao.id(),
+
+                // Cliente
+                projecao.clienteId(),
+                projecao.clienteNome(),
+                projecao.clienteTelefone(),
+                null, // Usuario não tem fotoUrl por enquanto
+
+                // Barbeiro
+                projecao.barbeiroId(),
+                projecao.barbeiroNome() != null ? projecao.barbeiroNome() : "Barbeiro",
+                projecao.barbeiroFotoUrl(),
+
+                // Barbearia
+                projecao.barbeariaId(),
+                projecao.barbeariaNome(),
+                Barbearia.formatarEndereco(
+                        projecao.barbeariaEndereco(),
+                        projecao.barbeariaCidade(),
+                        projecao.barbeariaEstado(),
+                        projecao.barbeariaCep()),
+
+                // Serviço
+                projecao.servicoId(),
+                projecao.servicoNome(),
+                projecao.servicoIcone(),
+                projecao.duracaoMinutos(),
+                projecao.preco(),
+
+                // Data/Hora
+                projecao.data(),
+                projecao.horaInicio(),
+                projecao.horaFim(),
+
+                // Status
+                status,
+                status.getDescricao(),
+
+                // Observações
+                projecao.observacoesCliente(),
+                projecao.observacoesBarbeiro(),
+                projecao.motivoCancelamento(),
+
+                // Timestamps
+                projecao.dataCriacao(),
+                projecao.dataConfirmacao(),
+                projecao.dataInicioAtendimento(),
+                projecao.dataConclusao(),
+                projecao.dataCancelamento(),
+
+                // Flags
+                projecao.data().equals(LocalDate.now()),
+                LocalDateTime.of(projecao.data(), projecao.horaInicio()).isAfter(LocalDateTime.now()),
+                status.podeCancelar(),
+                status.podeConfirmar(),
+                status.podeIniciar(),
+                status.podeFinalizar());
+    }
 }
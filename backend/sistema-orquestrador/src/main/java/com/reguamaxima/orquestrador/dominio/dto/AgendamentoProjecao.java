@@ -0,0 +1,47 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Projeção de leitura de Agendamento para listagens.
+ * Carregada por expressão de construtor JPQL com apenas as colunas usadas por
+ * {@link AgendamentoDTO}, em uma única consulta e sem carregar entidades.
+ */
+public record AgendamentoProjecao(
+        Long id,
+        Long clienteId,
+        String clienteNome,
+        String clienteTelefone,
+        Long barbeiroId,
+        String barbeiroNome,
+        String barbeiroFotoUrl,
+        Long barbeariaId,
+        String barbeariaNome,
+        String barbeariaEndereco,
+        String barbeariaCidade,
+        String barbeariaEstado,
+        String barbeariaCep,
+        Long servicoId,
+        String servicoNome,
+        String servicoIcone,
+        Integer duracaoMinutos,
+        BigDecimal preco,
+        LocalDate data,
+        LocalTime horaInicio,
+        LocalTime horaFim,
+        StatusAgendamento status,
+        String observacoesCliente,
+        String observacoesBarbeiro,
+        String motivoCancelamento,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataConfirmacao,
+        LocalDateTime dataInicioAtendimento,
+        LocalDateTime dataConclusao,
+        LocalDateTime dataCancelamento,
+        LocalDateTime dataAtualizacao) {
+}
@@ -0,0 +1,16 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import java.util.List;
+
+/**
+ * Agendamentos criados, alterados ou cancelados desde o último token de sincronização.
+ *
+ * @param alterados agendamentos alterados, na ordem das alterações
+ * @param token     token a enviar na próxima sincronização
+ * @param haMais    indica se há mais alterações (sincronizar novamente com o novo token)
+ */
+public record AlteracoesAgendamentosDTO(
+        List<AgendamentoDTO> alterados,
+        String token,
+        boolean haMais) {
+}
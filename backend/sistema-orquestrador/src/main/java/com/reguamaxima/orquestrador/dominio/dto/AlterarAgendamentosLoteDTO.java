@@ -0,0 +1,22 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para alterar o status de vários agendamentos de uma vez.
+ */
+public record AlterarAgendamentosLoteDTO(
+        @NotEmpty(message = "Informe ao menos um agendamento")
+        @Size(max = 100, message = "Máximo de 100 agendamentos por lote")
+        List<@NotNull Long> ids,
+
+        /**
+         * Motivo do cancelamento (usado apenas no cancelamento em lote).
+         */
+        @Size(max = 300, message = "Motivo deve ter no máximo 300 caracteres")
+        String motivo) {
+}
@@ -5,9 +5,11 @@ import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimen
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * DTO completo de Atendimento para visualização na fila.
+ * A espera estimada só é informada para atendimentos aguardando.
  */
 public record AtendimentoDTO(
         Long id,
@@ -23,9 +25,11 @@ public record AtendimentoDTO(
         Integer posicaoFila,
         Long tempoEsperaMinutos,
         Long duracaoAtendimentoMinutos,
-        String observacoes) {
+        String observacoes,
+        Long esperaEstimadaMinutos) {
     /**
-     * Converte entidade para DTO.
+     * Converte entidade para DTO. A posição na fila é derivada da ordem da fila
+     * e deve ser informada com {@link #comPosicao(Integer)} quando aplicável.
      */
     public static AtendimentoDTO fromEntity(Atendimento atendimento) {
         return new AtendimentoDTO(
@@ -44,10 +48,64 @@ public record AtendimentoDTO(
                 atendimento.getHoraChegada(),
                 atendimento.getHoraInicioAtendimento(),
                 atendimento.getHoraFimAtendimento(),
-                atendimento.getPosicaoFila(),
+                null,
                 atendimento.getTempoEsperaMinutos(),
                 atendimento.getDuracaoAtendimentoMinutos(),
-                atendimento.getObservacoes());
+                atendimento.getObservacoes(),
+                null);
+    }
+
+    /**
+     * Converte projeção de leitura para DTO.
+     */
+    public static AtendimentoDTO fromProjecao(AtendimentoProjecao projecao) {
+        return new AtendimentoDTO(
+                projecao.id(),
+                new ClienteResumoDTO(projecao.clienteId(), projecao.clienteNome()),
+                new ServicoResumoDTO(
+                        projecao.servicoId(),
+                        projecao.servicoNome(),
+                        projecao.servicoDuracaoMinutos()),
+                projecao.barbeariaId(),
+                projecao.barbeariaNome(),
+                projecao.status(),
+                projecao.dataAtendimento(),
+                projecao.horaChegada(),
+                projecao.horaInicioAtendimento(),
+                projecao.horaFimAtendimento(),
+                projecao.posicaoFila(),
+                minutosDesde(projecao.horaChegada(), projecao.horaInicioAtendimento()),
+                minutosDesde(projecao.horaInicioAtendimento(), projecao.horaFimAtendimento()),
+                projecao.observacoes(),
+                null);
+    }
+
+    /**
+     * Cópia com a posição na fila informada.
+     */
+    public AtendimentoDTO comPosicao(Integer posicao) {
+        return new AtendimentoDTO(id, cliente, servico, barbeariaId, barbeariaNome, status,
+                dataAtendimento, horaChegada, horaInicioAtendimento, horaFimAtendimento,
+                posicao, tempoEsperaMinutos, duracaoAtendimentoMinutos, observacoes, esperaEstimadaMinutos);
+    }
+
+    /**
+     * Cópia com a espera estimada até o início do atendimento.
+     */
+    public AtendimentoDTO comEsperaEstimada(Long minutos) {
+        return new AtendimentoDTO(id, cliente, servico, barbeariaId, barbeariaNome, status,
+                dataAtendimento, horaChegada, horaInicioAtendimento, horaFimAtendimento,
+                posicaoFila, tempoEsperaMinutos, duracaoAtendimentoMinutos, observacoes, minutos);
+    }
+
+    /**
+     * Minutos entre o início e o fim (ou agora, se ainda não terminou), como na entidade.
+     */
+    private static long minutosDesde(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio == null)
+            return 0;
+
+        return ChronoUnit.MINUTES.between(inicio, fim != null ? fim : LocalDateTime.now());
     }
 
     /**
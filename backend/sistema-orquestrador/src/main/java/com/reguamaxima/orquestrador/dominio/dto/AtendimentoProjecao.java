@@ -0,0 +1,29 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimento;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de leitura de Atendimento para listagens e fila.
+ * Carregada por expressão de construtor JPQL com apenas as colunas usadas por
+ * {@link AtendimentoDTO}, em uma única consulta e sem carregar entidades.
+ */
+public record AtendimentoProjecao(
+        Long id,
+        Long clienteId,
+        String clienteNome,
+        Long servicoId,
+        String servicoNome,
+        Integer servicoDuracaoMinutos,
+        Long barbeariaId,
+        String barbeariaNome,
+        StatusAtendimento status,
+        LocalDate dataAtendimento,
+        LocalDateTime horaChegada,
+        LocalDateTime horaInicioAtendimento,
+        LocalDateTime horaFimAtendimento,
+        Integer posicaoFila,
+        String observacoes) {
+}
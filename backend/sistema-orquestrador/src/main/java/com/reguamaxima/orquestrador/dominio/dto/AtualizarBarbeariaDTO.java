@@ -36,5 +36,7 @@ public record AtualizarBarbeariaDTO(
 
         String bannerUrl,
 
-        String logoUrl) {
+        String logoUrl,
+
+        Boolean filaCompartilhada) {
 }
@@ -0,0 +1,18 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * DTO para substituir o horário de funcionamento semanal da barbearia.
+ * Dias da semana ausentes da lista ficam fechados.
+ */
+public record AtualizarHorariosDTO(
+        @NotNull(message = "Intervalo entre horários é obrigatório") @Min(value = 5, message = "Intervalo mínimo é 5 minutos") @Max(value = 120, message = "Intervalo máximo é 120 minutos") Integer intervaloSlotsMinutos,
+
+        @NotNull(message = "Lista de dias é obrigatória") List<@Valid HorarioFuncionamentoDTO> dias) {
+}
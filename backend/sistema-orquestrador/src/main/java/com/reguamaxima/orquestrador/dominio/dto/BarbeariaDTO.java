@@ -30,6 +30,7 @@ public record BarbeariaDTO(
         Long adminId,
         String adminNome,
         Boolean ativo,
+        Boolean filaCompartilhada,
         Double avaliacaoMedia,
         Integer totalAvaliacoes,
         LocalDateTime dataCriacao,
@@ -67,6 +68,7 @@ public record BarbeariaDTO(
                 b.getAdmin() != null ? b.getAdmin().getId() : null,
                 b.getAdmin() != null ? b.getAdmin().getNome() : null,
                 b.getAtivo(),
+                b.getFilaCompartilhada(),
                 b.getAvaliacaoMedia(),
                 b.getTotalAvaliacoes(),
                 b.getDataCriacao(),
@@ -0,0 +1,47 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * DTO para criação de uma série de agendamentos recorrentes
+ * (mesmo barbeiro, serviço e horário a cada N semanas).
+ */
+public record CriarAgendamentoRecorrenteDTO(
+        @NotNull(message = "Barbeiro é obrigatório") Long barbeiroId,
+
+        @NotNull(message = "Serviço é obrigatório") Long servicoId,
+
+        @NotNull(message = "Data inicial é obrigatória") @Future(message = "Data inicial deve ser futura") LocalDate dataInicial,
+
+        @NotNull(message = "Horário é obrigatório") LocalTime horaInicio,
+
+        @NotNull(message = "Intervalo é obrigatório")
+        @Min(value = 1, message = "Intervalo mínimo de 1 semana")
+        @Max(value = 4, message = "Intervalo máximo de 4 semanas") Integer intervaloSemanas,
+
+        @NotNull(message = "Quantidade de ocorrências é obrigatória")
+        @Min(value = 2, message = "Informe ao menos 2 ocorrências")
+        @Max(value = 26, message = "Máximo de 26 ocorrências") Integer ocorrencias,
+
+        /**
+         * Observações do cliente (opcional), repetidas em todas as ocorrências.
+         */
+        String observacoes) {
+
+    /**
+     * Datas da série, em ordem crescente.
+     */
+    public List<LocalDate> datas() {
+        return Stream.iterate(dataInicial, data -> data.plusWeeks(intervaloSemanas))
+                .limit(ocorrencias)
+                .toList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * DTO para cadastrar folga ou feriado.
+ * Informe a data (folga avulsa/feriado) ou o dia da semana (folga fixa).
+ * Sem barbeiro, a folga vale para a barbearia inteira.
+ */
+public record CriarFolgaDTO(
+        Long barbeiroId,
+
+        LocalDate data,
+
+        DayOfWeek diaSemana,
+
+        @Size(max = 100, message = "Descrição deve ter no máximo 100 caracteres") String descricao) {
+}
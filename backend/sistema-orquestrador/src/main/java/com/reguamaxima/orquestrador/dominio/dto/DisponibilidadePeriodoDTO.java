@@ -0,0 +1,34 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO compacto com a disponibilidade de um barbeiro em vários dias.
+ * <p>
+ * Cada dia traz uma máscara de bits em base64 com um bit por slot: o bit i
+ * (byte i / 8, bit i % 8 a partir do menos significativo) indica se o slot que
+ * começa em {@code abertura + i * intervaloMinutos} está disponível. A abertura
+ * e o total de slots variam por dia conforme o horário de funcionamento.
+ */
+public record DisponibilidadePeriodoDTO(
+        Long barbeiroId,
+        Long servicoId,
+        Integer duracaoMinutos,
+        Integer intervaloMinutos,
+        List<DisponibilidadeDiaDTO> dias) {
+
+    /**
+     * Disponibilidade de um dia codificada em máscara de bits.
+     *
+     * @param abertura horário do primeiro slot (null se fechado no dia)
+     */
+    public record DisponibilidadeDiaDTO(
+            LocalDate data,
+            LocalTime abertura,
+            Integer totalSlots,
+            String mascara,
+            Integer totalDisponiveis) {
+    }
+}
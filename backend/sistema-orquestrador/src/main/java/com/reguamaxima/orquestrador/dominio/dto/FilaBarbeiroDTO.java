@@ -6,6 +6,7 @@ import java.util.List;
 
 /**
  * DTO com resumo da fila do barbeiro.
+ * {@code esperaEstimadaMinutos} é a espera prevista para quem entrar agora na fila.
  */
 public record FilaBarbeiroDTO(
         Long barbeiroId,
@@ -15,7 +16,8 @@ public record FilaBarbeiroDTO(
         Integer totalAguardando,
         Integer totalAtendidosHoje,
         Long tempoMedioEsperaMinutos,
-        Long tempoMedioAtendimentoMinutos) {
+        Long tempoMedioAtendimentoMinutos,
+        Long esperaEstimadaMinutos) {
     /**
      * Verifica se há atendimento em andamento.
      */
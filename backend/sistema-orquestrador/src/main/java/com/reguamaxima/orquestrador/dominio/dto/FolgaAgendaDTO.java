@@ -0,0 +1,31 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import com.reguamaxima.orquestrador.dominio.entidade.FolgaAgenda;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * DTO de folga de barbeiro ou feriado da barbearia.
+ */
+public record FolgaAgendaDTO(
+        Long id,
+        Long barbeiroId,
+        String barbeiroNome,
+        LocalDate data,
+        DayOfWeek diaSemana,
+        String descricao) {
+
+    /**
+     * Cria DTO a partir da entidade.
+     */
+    public static FolgaAgendaDTO fromEntity(FolgaAgenda f) {
+        return new FolgaAgendaDTO(
+                f.getId(),
+                f.getBarbeiro() != null ? f.getBarbeiro().getId() : null,
+                f.getBarbeiro() != null ? f.getBarbeiro().getNomeExibicao() : null,
+                f.getData(),
+                f.getDiaSemana(),
+                f.getDescricao());
+    }
+}
@@ -0,0 +1,43 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO com a grade de disponibilidade (barbeiro × slot) de uma barbearia em uma data.
+ * <p>
+ * A máscara de cada barbeiro segue o formato de {@link DisponibilidadePeriodoDTO}:
+ * o bit i indica se o slot i está livre para aquele barbeiro.
+ */
+public record GradeDisponibilidadeDTO(
+        Long barbeariaId,
+        Long servicoId,
+        LocalDate data,
+        Integer duracaoMinutos,
+        Integer intervaloMinutos,
+        List<BarbeiroGradeDTO> barbeiros,
+        List<SlotGradeDTO> slots) {
+
+    /**
+     * Disponibilidade de um barbeiro na grade.
+     */
+    public record BarbeiroGradeDTO(
+            Long barbeiroId,
+            String nome,
+            String fotoUrl,
+            String mascara,
+            Integer totalDisponiveis) {
+    }
+
+    /**
+     * Resumo de um slot da grade, com o primeiro barbeiro livre
+     * (usado em agendamentos para "qualquer barbeiro").
+     */
+    public record SlotGradeDTO(
+            LocalTime horario,
+            String horarioFormatado,
+            Long primeiroBarbeiroLivreId,
+            Integer totalBarbeirosLivres) {
+    }
+}
@@ -29,7 +29,10 @@ public record HorarioDisponivelDTO(
                 false);
     }
 
-    private static String formatarHorario(LocalTime horario) {
+    /**
+     * Formata o horário como HH:mm.
+     */
+    public static String formatarHorario(LocalTime horario) {
         return String.format("%02d:%02d", horario.getHour(), horario.getMinute());
     }
 }
@@ -0,0 +1,34 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import com.reguamaxima.orquestrador.dominio.entidade.HorarioFuncionamento;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * DTO do expediente de um dia da semana (com pausa opcional).
+ */
+public record HorarioFuncionamentoDTO(
+        @NotNull(message = "Dia da semana é obrigatório") DayOfWeek diaSemana,
+
+        @NotNull(message = "Horário de abertura é obrigatório") LocalTime horaAbertura,
+
+        @NotNull(message = "Horário de fechamento é obrigatório") LocalTime horaFechamento,
+
+        LocalTime inicioIntervalo,
+
+        LocalTime fimIntervalo) {
+
+    /**
+     * Cria DTO a partir da entidade.
+     */
+    public static HorarioFuncionamentoDTO fromEntity(HorarioFuncionamento h) {
+        return new HorarioFuncionamentoDTO(
+                h.getDiaSemana(),
+                h.getHoraAbertura(),
+                h.getHoraFechamento(),
+                h.getInicioIntervalo(),
+                h.getFimIntervalo());
+    }
+}
@@ -0,0 +1,26 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO de um horário livre encontrado na busca "mais cedo perto de mim":
+ * o primeiro horário de um barbeiro para um serviço de uma barbearia próxima.
+ */
+public record HorarioProximoDTO(
+        Long barbeariaId,
+        String barbeariaNome,
+        String barbeariaSlug,
+        Double distanciaKm,
+        Long barbeiroId,
+        String barbeiroNome,
+        String barbeiroFotoUrl,
+        Long servicoId,
+        String servicoNome,
+        Integer duracaoMinutos,
+        BigDecimal preco,
+        LocalDate data,
+        LocalTime horaInicio,
+        String horarioFormatado) {
+}
@@ -0,0 +1,15 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import java.util.List;
+
+/**
+ * DTO com o horário de funcionamento semanal de uma barbearia.
+ *
+ * @param padrao true quando a barbearia não configurou horários (08:00 às 20:00 todos os dias)
+ */
+public record HorariosBarbeariaDTO(
+        Long barbeariaId,
+        Integer intervaloSlotsMinutos,
+        boolean padrao,
+        List<HorarioFuncionamentoDTO> dias) {
+}
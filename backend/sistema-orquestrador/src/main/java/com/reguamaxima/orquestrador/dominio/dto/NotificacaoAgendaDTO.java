@@ -0,0 +1,12 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aviso enviado ao barbeiro quando sua agenda muda.
+ * O cliente busca o que mudou em /agendamentos/barbeiro/alteracoes.
+ */
+public record NotificacaoAgendaDTO(
+        Long barbeiroId,
+        LocalDateTime alteradaEm) {
+}
@@ -0,0 +1,38 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import com.reguamaxima.orquestrador.dominio.agenda.ReservaTemporaria;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * DTO de reserva temporária de horário.
+ * O horário fica bloqueado para outros clientes até {@code expiraEm}.
+ */
+public record ReservaHorarioDTO(
+        UUID token,
+        Long barbeiroId,
+        Long servicoId,
+        LocalDate data,
+        LocalTime horaInicio,
+        LocalTime horaFim,
+        LocalDateTime expiraEm) {
+
+    /**
+     * Cria DTO a partir da reserva.
+     */
+    public static ReservaHorarioDTO from(ReservaTemporaria reserva, Long servicoId, LocalTime horaInicio,
+            LocalTime horaFim) {
+        return new ReservaHorarioDTO(
+                reserva.token(),
+                reserva.barbeiroId(),
+                servicoId,
+                reserva.data(),
+                horaInicio,
+                horaFim,
+                LocalDateTime.ofInstant(reserva.expiraEm(), ZoneId.systemDefault()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO para reservar temporariamente um horário antes de confirmar o agendamento.
+ */
+public record ReservarHorarioDTO(
+        @NotNull(message = "Barbeiro é obrigatório") Long barbeiroId,
+
+        @NotNull(message = "Serviço é obrigatório") Long servicoId,
+
+        @NotNull(message = "Data é obrigatória") LocalDate data,
+
+        @NotNull(message = "Horário é obrigatório") LocalTime horaInicio) {
+}
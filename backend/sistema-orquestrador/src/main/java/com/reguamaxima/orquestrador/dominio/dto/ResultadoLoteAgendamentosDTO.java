@@ -0,0 +1,36 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+
+import java.util.List;
+
+/**
+ * Resultado compacto de uma alteração de status em lote.
+ *
+ * @param status    status aplicado aos agendamentos alterados
+ * @param alterados quantidade de agendamentos alterados
+ * @param itens     resultado de cada id solicitado, na ordem do pedido
+ */
+public record ResultadoLoteAgendamentosDTO(
+        StatusAgendamento status,
+        int alterados,
+        List<Item> itens) {
+
+    /**
+     * Resultado de um agendamento do lote.
+     *
+     * @param statusAtual status do agendamento após o lote (null se não encontrado)
+     */
+    public record Item(Long id, Resultado resultado, StatusAgendamento statusAtual) {
+    }
+
+    /**
+     * Desfecho de um agendamento do lote.
+     */
+    public enum Resultado {
+        ALTERADO,
+        NAO_ENCONTRADO,
+        SEM_PERMISSAO,
+        STATUS_INVALIDO
+    }
+}
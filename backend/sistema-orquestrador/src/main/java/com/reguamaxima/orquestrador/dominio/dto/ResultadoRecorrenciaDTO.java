@@ -0,0 +1,24 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resultado da criação de uma série recorrente. As datas disponíveis são
+ * agendadas mesmo que outras da série sejam recusadas.
+ *
+ * @param solicitadas quantidade de ocorrências pedidas
+ * @param criados     agendamentos criados, em ordem de data
+ * @param recusadas   datas não agendadas e o motivo de cada uma
+ */
+public record ResultadoRecorrenciaDTO(
+        int solicitadas,
+        List<AgendamentoDTO> criados,
+        List<DataRecusada> recusadas) {
+
+    /**
+     * Ocorrência da série que não pôde ser agendada.
+     */
+    public record DataRecusada(LocalDate data, String motivo) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.reguamaxima.orquestrador.dominio.dto;
+
+import com.reguamaxima.orquestrador.dominio.entidade.ResumoDiarioAtendimento;
+import com.reguamaxima.orquestrador.dominio.fila.ContadoresDia;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * DTO com o resumo de um dia da fila do barbeiro.
+ * {@code parcial} indica o dia corrente, ainda não consolidado.
+ */
+public record ResumoDiarioAtendimentoDTO(
+        LocalDate data,
+        Integer atendidos,
+        Integer cancelados,
+        Integer naoCompareceram,
+        Long tempoMedioEsperaMinutos,
+        Long tempoMedioAtendimentoMinutos,
+        boolean parcial) {
+
+    /**
+     * Converte o consolidado de um dia encerrado.
+     */
+    public static ResumoDiarioAtendimentoDTO fromEntity(ResumoDiarioAtendimento resumo) {
+        return new ResumoDiarioAtendimentoDTO(
+                resumo.getData(),
+                resumo.getAtendidos(),
+                resumo.getCancelados(),
+                resumo.getNaoCompareceram(),
+                resumo.getTempoMedioEsperaMinutos().setScale(0, RoundingMode.HALF_UP).longValue(),
+                resumo.getTempoMedioAtendimentoMinutos().setScale(0, RoundingMode.HALF_UP).longValue(),
+                false);
+    }
+
+    /**
+     * Converte os contadores em memória do dia corrente.
+     */
+    public static ResumoDiarioAtendimentoDTO fromContadores(ContadoresDia contadores) {
+        return new ResumoDiarioAtendimentoDTO(
+                contadores.data(),
+                contadores.atendidos(),
+                contadores.cancelados(),
+                contadores.naoCompareceram(),
+                contadores.tempoMedioEsperaMinutos(),
+                contadores.tempoMedioAtendimentoMinutos(),
+                true);
+    }
+}
@@ -1,35 +1,58 @@
 package com.reguamaxima.orquestrador.dominio.dto;
 
+import com.reguamaxima.orquestrador.dominio.agenda.ExpedienteDia;
+import com.reguamaxima.orquestrador.dominio.agenda.MapaOcupacaoDia;
 import com.reguamaxima.orquestrador.dominio.enums.StatusSessao;
 
+import java.time.LocalTime;
+
 /**
  * DTO público para status da barbearia (sem dados sensíveis).
+ *
+ * @param abreHoje        horário de abertura de hoje (null se fechada no dia)
+ * @param fechaHoje       horário de fechamento de hoje (null se fechada no dia)
+ * @param dentroDoHorario se o momento atual está dentro do expediente (fora de pausas)
  */
 public record StatusBarbeariaDTO(
         Long barbeariaId,
         String barbeariaNome,
         StatusSessao status,
         boolean aberta,
-        String mensagem) {
+        String mensagem,
+        LocalTime abreHoje,
+        LocalTime fechaHoje,
+        boolean dentroDoHorario) {
 
     /**
      * Cria DTO para barbearia aberta.
      */
     public static StatusBarbeariaDTO aberta(Long id, String nome) {
-        return new StatusBarbeariaDTO(id, nome, StatusSessao.ABERTA, true, "Aberto para atendimento");
+        return new StatusBarbeariaDTO(id, nome, StatusSessao.ABERTA, true, "Aberto para atendimento",
+                null, null, false);
     }
 
     /**
      * Cria DTO para barbearia pausada.
      */
     public static StatusBarbeariaDTO pausada(Long id, String nome) {
-        return new StatusBarbeariaDTO(id, nome, StatusSessao.PAUSADA, false, "Temporariamente fechado");
+        return new StatusBarbeariaDTO(id, nome, StatusSessao.PAUSADA, false, "Temporariamente fechado",
+                null, null, false);
     }
 
     /**
      * Cria DTO para barbearia fechada.
      */
     public static StatusBarbeariaDTO fechada(Long id, String nome) {
-        return new StatusBarbeariaDTO(id, nome, StatusSessao.FECHADA, false, "Fechado");
+        return new StatusBarbeariaDTO(id, nome, StatusSessao.FECHADA, false, "Fechado",
+                null, null, false);
+    }
+
+    /**
+     * Retorna uma cópia com o expediente de hoje.
+     */
+    public StatusBarbeariaDTO comExpediente(ExpedienteDia hoje, LocalTime agora) {
+        int minuto = MapaOcupacaoDia.minutoInicio(agora);
+        return new StatusBarbeariaDTO(barbeariaId, barbeariaNome, status, aberta, mensagem,
+                hoje.abertura(), hoje.fechamento(), hoje.permite(minuto, minuto + 1));
     }
 }
@@ -31,8 +31,21 @@ import java.time.temporal.ChronoUnit;
 @Builder
 public class Agendamento {
 
+    /**
+     * Gerado por tabela com blocos de 50 ids, e não por IDENTITY, para que
+     * o Hibernate consiga agrupar inserts em lote (séries recorrentes).
+     * A coluna não é AUTO_INCREMENT: qualquer insert, inclusive fora da
+     * aplicação, deve reservar o id em sequencias_id.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "agendamentos_id")
+    @TableGenerator(
+            name = "agendamentos_id",
+            table = "sequencias_id",
+            pkColumnName = "nome_sequencia",
+            valueColumnName = "proximo_valor",
+            pkColumnValue = "agendamentos",
+            allocationSize = 50)
     private Long id;
 
     // ========== Relacionamentos ==========
@@ -157,6 +170,8 @@ public class Agendamento {
         if (dataCriacao == null) {
             dataCriacao = LocalDateTime.now();
         }
+        // Preenchida já na criação para que a sincronização incremental enxergue o novo agendamento
+        dataAtualizacao = dataCriacao;
         calcularHoraFim();
     }
 
@@ -213,7 +228,7 @@ public class Agendamento {
      * Marca como não compareceu.
      */
     public void marcarNaoCompareceu() {
-        if (status != StatusAgendamento.CONFIRMADO && status != StatusAgendamento.PENDENTE) {
+        if (!status.podeMarcarNaoCompareceu()) {
             throw new IllegalStateException("Não é possível marcar não compareceu no status atual: " + status);
         }
         this.status = StatusAgendamento.NAO_COMPARECEU;
@@ -0,0 +1,101 @@
+package com.reguamaxima.orquestrador.dominio.entidade;
+
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Agendamento finalizado movido para a tabela de arquivo (somente leitura).
+ * Mantém o id original; as linhas são gravadas pelo job de arquivamento.
+ */
+@Entity
+@Immutable
+@Table(name = "agendamentos_arquivo")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AgendamentoArquivado {
+
+    @Id
+    private Long id;
+
+    // ========== Relacionamentos ==========
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    private Usuario cliente;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barbeiro_id", nullable = false)
+    private Barbeiro barbeiro;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barbearia_id", nullable = false)
+    private Barbearia barbearia;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "servico_id", nullable = false)
+    private Servico servico;
+
+    // ========== Data e Hora ==========
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    @Column(name = "hora_inicio", nullable = false)
+    private LocalTime horaInicio;
+
+    @Column(name = "hora_fim", nullable = false)
+    private LocalTime horaFim;
+
+    @Column(name = "duracao_minutos", nullable = false)
+    private Integer duracaoMinutos;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal preco;
+
+    // ========== Status ==========
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private StatusAgendamento status;
+
+    // ========== Informações Adicionais ==========
+
+    @Column(name = "observacoes_cliente", length = 500)
+    private String observacoesCliente;
+
+    @Column(name = "observacoes_barbeiro", length = 500)
+    private String observacoesBarbeiro;
+
+    @Column(name = "motivo_cancelamento", length = 300)
+    private String motivoCancelamento;
+
+    // ========== Auditoria ==========
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "data_confirmacao")
+    private LocalDateTime dataConfirmacao;
+
+    @Column(name = "data_inicio_atendimento")
+    private LocalDateTime dataInicioAtendimento;
+
+    @Column(name = "data_conclusao")
+    private LocalDateTime dataConclusao;
+
+    @Column(name = "data_cancelamento")
+    private LocalDateTime dataCancelamento;
+}
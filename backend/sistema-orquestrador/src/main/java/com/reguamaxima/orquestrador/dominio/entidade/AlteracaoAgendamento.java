@@ -0,0 +1,51 @@
+package com.reguamaxima.orquestrador.dominio.entidade;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do log de alterações de agendamentos, cursor da sincronização incremental.
+ * <p>
+ * Gravada na mesma transação da alteração, como último comando antes do commit.
+ * O id (AUTO_INCREMENT) é o cursor; a data vem do relógio do banco e define
+ * quais linhas já podem ser lidas sem risco de uma de id menor aparecer depois.
+ */
+@Entity
+@Immutable
+@Table(name = "alteracoes_agendamento")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AlteracaoAgendamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "agendamento_id", nullable = false)
+    private Long agendamentoId;
+
+    @Column(name = "barbeiro_id", nullable = false)
+    private Long barbeiroId;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    // ========== Auditoria ==========
+
+    /**
+     * Preenchida pelo banco (CURRENT_TIMESTAMP(6)), não pelo relógio da instância.
+     */
+    @Column(name = "data_alteracao", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime dataAlteracao;
+
+    public AlteracaoAgendamento(Long agendamentoId, Long barbeiroId, Long clienteId) {
+        this.agendamentoId = agendamentoId;
+        this.barbeiroId = barbeiroId;
+        this.clienteId = clienteId;
+    }
+}
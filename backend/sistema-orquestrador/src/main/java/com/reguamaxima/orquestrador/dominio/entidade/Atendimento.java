@@ -94,10 +94,18 @@ public class Atendimento {
     // ========== Fila ==========
 
     /**
-     * Posição na fila de espera.
+     * Chave de ordenação esparsa na fila de espera. A posição é derivada
+     * desta chave na leitura, de modo que alterações na fila gravam uma só linha.
      */
-    @Column(name = "posicao_fila")
-    private Integer posicaoFila;
+    @Column(name = "ordem_fila")
+    private Long ordemFila;
+
+    /**
+     * Entrou pela fila compartilhada da barbearia: pode ser chamado por qualquer barbeiro dela.
+     */
+    @Column(name = "fila_compartilhada", nullable = false)
+    @Builder.Default
+    private Boolean filaCompartilhada = false;
 
     // ========== Observações ==========
 
@@ -134,7 +142,6 @@ public class Atendimento {
         }
         this.status = StatusAtendimento.EM_ATENDIMENTO;
         this.horaInicioAtendimento = LocalDateTime.now();
-        this.posicaoFila = null;
     }
 
     /**
@@ -157,7 +164,6 @@ public class Atendimento {
         }
         this.status = StatusAtendimento.CANCELADO;
         this.motivoCancelamento = motivo;
-        this.posicaoFila = null;
     }
 
     /**
@@ -168,7 +174,6 @@ public class Atendimento {
             throw new IllegalStateException("Só pode marcar como não compareceu se estiver aguardando");
         }
         this.status = StatusAtendimento.NAO_COMPARECEU;
-        this.posicaoFila = null;
     }
 
     /**
@@ -0,0 +1,87 @@
+package com.reguamaxima.orquestrador.dominio.entidade;
+
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
+import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimento;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Atendimento finalizado movido para a tabela de arquivo (somente leitura).
+ * Mantém o id original; as linhas são gravadas pelo job de arquivamento.
+ */
+@Entity
+@Immutable
+@Table(name = "atendimentos_arquivo")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AtendimentoArquivado {
+
+    @Id
+    private Long id;
+
+    // ========== Relacionamentos ==========
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barbeiro_id", nullable = false)
+    private Barbeiro barbeiro;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    private Usuario cliente;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "servico_id", nullable = false)
+    private Servico servico;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barbearia_id")
+    private Barbearia barbearia;
+
+    // ========== Status ==========
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private StatusAtendimento status;
+
+    // ========== Datas e Horários ==========
+
+    @Column(name = "data_atendimento", nullable = false)
+    private LocalDate dataAtendimento;
+
+    @Column(name = "hora_chegada", nullable = false)
+    private LocalDateTime horaChegada;
+
+    @Column(name = "hora_inicio_atendimento")
+    private LocalDateTime horaInicioAtendimento;
+
+    @Column(name = "hora_fim_atendimento")
+    private LocalDateTime horaFimAtendimento;
+
+    @Column(name = "ordem_fila")
+    private Long ordemFila;
+
+    @Column(name = "fila_compartilhada", nullable = false)
+    private Boolean filaCompartilhada;
+
+    // ========== Observações ==========
+
+    @Column(length = 500)
+    private String observacoes;
+
+    @Column(name = "motivo_cancelamento", length = 300)
+    private String motivoCancelamento;
+
+    // ========== Auditoria ==========
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+}
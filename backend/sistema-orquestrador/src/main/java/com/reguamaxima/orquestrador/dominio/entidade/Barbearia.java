@@ -94,6 +94,25 @@ public class Barbearia {
     @Column(name = "tema_config", columnDefinition = "json")
     private String temaConfig;
 
+    // ========== Agenda ==========
+
+    /**
+     * Intervalo entre os horários de início de agendamento (em minutos).
+     */
+    @Column(name = "intervalo_slots_minutos", nullable = false)
+    @Builder.Default
+    private Integer intervaloSlotsMinutos = 30;
+
+    // ========== Fila ==========
+
+    /**
+     * Fila de atendimento compartilhada: clientes entram na fila da barbearia e são
+     * distribuídos entre os barbeiros pela menor espera prevista.
+     */
+    @Column(name = "fila_compartilhada", nullable = false)
+    @Builder.Default
+    private Boolean filaCompartilhada = false;
+
     // ========== Relacionamentos ==========
 
     /**
@@ -192,6 +211,13 @@ public class Barbearia {
      * Retorna o endereço completo formatado.
      */
     public String getEnderecoCompleto() {
+        return formatarEndereco(endereco, cidade, estado, cep);
+    }
+
+    /**
+     * Formata o endereço completo a partir das partes (usado também por projeções de leitura).
+     */
+    public static String formatarEndereco(String endereco, String cidade, String estado, String cep) {
         StringBuilder sb = new StringBuilder();
         if (endereco != null && !endereco.isBlank()) {
             sb.append(endereco);
@@ -0,0 +1,65 @@
+package com.reguamaxima.orquestrador.dominio.entidade;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade FolgaAgenda - dia inteiro sem atendimento.
+ * <p>
+ * Sem barbeiro, vale para a barbearia inteira (ex: feriado). Com data, vale
+ * apenas naquele dia; com dia da semana, repete toda semana (folga fixa).
+ */
+@Entity
+@Table(name = "folgas_agenda")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FolgaAgenda {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // ========== Relacionamentos ==========
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barbearia_id", nullable = false)
+    private Barbearia barbearia;
+
+    /**
+     * Barbeiro de folga (null = barbearia inteira).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barbeiro_id")
+    private Barbeiro barbeiro;
+
+    // ========== Quando ==========
+
+    /**
+     * Data específica da folga/feriado.
+     */
+    @Column(name = "data")
+    private LocalDate data;
+
+    /**
+     * Dia da semana da folga recorrente.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dia_semana", length = 10)
+    private DayOfWeek diaSemana;
+
+    @Column(length = 100)
+    private String descricao;
+
+    // ========== Auditoria ==========
+
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+}
@@ -0,0 +1,84 @@
+package com.reguamaxima.orquestrador.dominio.entidade;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Entidade HorarioFuncionamento - expediente de uma barbearia em um dia da semana.
+ * Dias da semana sem registro são considerados fechados.
+ */
+@Entity
+@Table(name = "horarios_funcionamento")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HorarioFuncionamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // ========== Relacionamentos ==========
+
+    /**
+     * Barbearia dona do expediente.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barbearia_id", nullable = false)
+    private Barbearia barbearia;
+
+    // ========== Expediente ==========
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dia_semana", nullable = false, length = 10)
+    private DayOfWeek diaSemana;
+
+    @Column(name = "hora_abertura", nullable = false)
+    private LocalTime horaAbertura;
+
+    @Column(name = "hora_fechamento", nullable = false)
+    private LocalTime horaFechamento;
+
+    /**
+     * Início da pausa do dia (ex: almoço). Opcional.
+     */
+    @Column(name = "inicio_intervalo")
+    private LocalTime inicioIntervalo;
+
+    /**
+     * Fim da pausa do dia. Opcional.
+     */
+    @Column(name = "fim_intervalo")
+    private LocalTime fimIntervalo;
+
+    // ========== Auditoria ==========
+
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    // ========== Lifecycle Callbacks ==========
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    // ========== Métodos de Domínio ==========
+
+    /**
+     * Verifica se o dia possui pausa configurada.
+     */
+    public boolean possuiIntervalo() {
+        return inicioIntervalo != null && fimIntervalo != null;
+    }
+}
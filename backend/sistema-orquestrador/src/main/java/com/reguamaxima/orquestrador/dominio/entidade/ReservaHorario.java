@@ -0,0 +1,70 @@
+package com.reguamaxima.orquestrador.dominio.entidade;
+
+import com.reguamaxima.orquestrador.dominio.agenda.ReservaTemporaria;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Entidade ReservaHorario - horário seguro por um cliente enquanto conclui o agendamento.
+ * <p>
+ * Gravada no banco para que todas as instâncias enxerguem a reserva; vale
+ * até {@code expiraEm} e é consumida quando o agendamento é criado.
+ */
+@Entity
+@Table(name = "reservas_horario")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservaHorario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String token;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    @Column(name = "barbeiro_id", nullable = false)
+    private Long barbeiroId;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    // ========== Intervalo ==========
+
+    /**
+     * Minuto do dia em que o horário começa.
+     */
+    @Column(name = "minuto_inicio", nullable = false)
+    private int minutoInicio;
+
+    /**
+     * Minuto do dia em que o horário termina (exclusivo).
+     */
+    @Column(name = "minuto_fim", nullable = false)
+    private int minutoFim;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    // ========== Conversão ==========
+
+    /**
+     * Converte a linha na reserva de domínio.
+     */
+    public ReservaTemporaria paraReserva() {
+        return new ReservaTemporaria(
+                UUID.fromString(token), clienteId, barbeiroId, data, minutoInicio, minutoFim,
+                expiraEm.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,62 @@
+package com.reguamaxima.orquestrador.dominio.entidade;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Consolidado de um dia da fila de um barbeiro (somente leitura).
+ * As linhas são gravadas pelo fechamento diário da fila.
+ */
+@Entity
+@Immutable
+@Table(name = "atendimentos_resumo_diario")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ResumoDiarioAtendimento {
+
+    @Id
+    private Long id;
+
+    @Column(name = "barbeiro_id", nullable = false)
+    private Long barbeiroId;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    // ========== Contagens ==========
+
+    @Column(nullable = false)
+    private Integer atendidos;
+
+    /**
+     * Atendimentos iniciados no dia, base do tempo médio de espera.
+     */
+    @Column(nullable = false)
+    private Integer iniciados;
+
+    @Column(nullable = false)
+    private Integer cancelados;
+
+    @Column(name = "nao_compareceram", nullable = false)
+    private Integer naoCompareceram;
+
+    // ========== Tempos Médios ==========
+
+    @Column(name = "tempo_medio_espera_minutos", nullable = false)
+    private BigDecimal tempoMedioEsperaMinutos;
+
+    @Column(name = "tempo_medio_atendimento_minutos", nullable = false)
+    private BigDecimal tempoMedioAtendimentoMinutos;
+
+    // ========== Auditoria ==========
+
+    @Column(name = "data_consolidacao", nullable = false)
+    private LocalDateTime dataConsolidacao;
+}
@@ -1,5 +1,9 @@
 package com.reguamaxima.orquestrador.dominio.enums;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Status possíveis de um agendamento.
  */
@@ -69,6 +73,32 @@ public enum StatusAgendamento {
         return this == CONCLUIDO || this == NAO_COMPARECEU || isCancelado();
     }
 
+    /**
+     * Verifica se o agendamento ocupa o horário na agenda do barbeiro.
+     * Cancelamentos e não comparecimentos liberam o horário.
+     */
+    public boolean ocupaHorario() {
+        return !isCancelado() && this != NAO_COMPARECEU;
+    }
+
+    /**
+     * Lista os status que não ocupam horário na agenda.
+     */
+    public static List<StatusAgendamento> statusSemOcupacao() {
+        return Arrays.stream(values())
+                .filter(status -> !status.ocupaHorario())
+                .toList();
+    }
+
+    /**
+     * Lista os status que atendem à regra de transição informada (ex.: {@code StatusAgendamento::podeConfirmar}).
+     */
+    public static List<StatusAgendamento> filtrar(Predicate<StatusAgendamento> regra) {
+        return Arrays.stream(values())
+                .filter(regra)
+                .toList();
+    }
+
     /**
      * Verifica se o agendamento pode ser cancelado.
      */
@@ -83,6 +113,13 @@ public enum StatusAgendamento {
         return this == PENDENTE;
     }
 
+    /**
+     * Verifica se o cliente pode ser marcado como não compareceu.
+     */
+    public boolean podeMarcarNaoCompareceu() {
+        return this == PENDENTE || this == CONFIRMADO;
+    }
+
     /**
      * Verifica se o agendamento pode ser iniciado.
      */
@@ -0,0 +1,8 @@
+package com.reguamaxima.orquestrador.dominio.evento;
+
+/**
+ * Evento publicado quando o admin altera horários de funcionamento ou folgas
+ * de uma barbearia. Consumido após o commit para recompilar a agenda semanal.
+ */
+public record AgendaBarbeariaAlteradaEvento(Long barbeariaId) {
+}
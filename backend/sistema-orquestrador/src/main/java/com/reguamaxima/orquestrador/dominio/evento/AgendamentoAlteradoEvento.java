@@ -0,0 +1,55 @@
+package com.reguamaxima.orquestrador.dominio.evento;
+
+import com.reguamaxima.orquestrador.dominio.entidade.Agendamento;
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Evento publicado quando um agendamento é criado ou muda de status.
+ * Consumido após o commit para manter estruturas em memória atualizadas.
+ *
+ * @param statusAnterior status antes da alteração (null na criação)
+ */
+public record AgendamentoAlteradoEvento(
+        Long agendamentoId,
+        Long barbeiroId,
+        Long barbeariaId,
+        Long clienteId,
+        LocalDate data,
+        LocalTime horaInicio,
+        LocalTime horaFim,
+        StatusAgendamento statusAnterior,
+        StatusAgendamento statusAtual) {
+
+    /**
+     * Cria o evento a partir da entidade já alterada.
+     */
+    public static AgendamentoAlteradoEvento de(Agendamento agendamento, StatusAgendamento statusAnterior) {
+        return new AgendamentoAlteradoEvento(
+                agendamento.getId(),
+                agendamento.getBarbeiro().getId(),
+                agendamento.getBarbearia().getId(),
+                agendamento.getCliente().getId(),
+                agendamento.getData(),
+                agendamento.getHoraInicio(),
+                agendamento.getHoraFim(),
+                statusAnterior,
+                agendamento.getStatus());
+    }
+
+    /**
+     * Verifica se o horário estava ocupado antes da alteração.
+     */
+    public boolean ocupavaHorario() {
+        return statusAnterior != null && statusAnterior.ocupaHorario();
+    }
+
+    /**
+     * Verifica se o horário está ocupado após a alteração.
+     */
+    public boolean ocupaHorario() {
+        return statusAtual != null && statusAtual.ocupaHorario();
+    }
+}
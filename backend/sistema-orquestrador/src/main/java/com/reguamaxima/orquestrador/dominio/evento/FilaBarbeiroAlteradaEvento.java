@@ -0,0 +1,9 @@
+package com.reguamaxima.orquestrador.dominio.evento;
+
+/**
+ * Evento publicado quando a fila de atendimentos de um barbeiro muda
+ * (entrada, início, finalização, cancelamento ou não comparecimento).
+ * Consumido após o commit para notificar quem acompanha a fila.
+ */
+public record FilaBarbeiroAlteradaEvento(Long barbeiroId) {
+}
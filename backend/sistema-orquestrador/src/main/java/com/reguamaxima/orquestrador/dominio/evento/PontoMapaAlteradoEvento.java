@@ -0,0 +1,58 @@
+package com.reguamaxima.orquestrador.dominio.evento;
+
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+
+/**
+ * Evento publicado quando uma barbearia ou barbeiro é criado, muda de posição
+ * ou passa a aparecer (ou deixa de aparecer) nas buscas por proximidade.
+ * Consumido após o commit para manter o índice geográfico atualizado.
+ *
+ * @param visivel se o ponto deve aparecer nas buscas (ativo e, para barbeiros, visível no mapa)
+ */
+public record PontoMapaAlteradoEvento(
+        Tipo tipo,
+        Long id,
+        Double latitude,
+        Double longitude,
+        boolean visivel) {
+
+    /**
+     * Cria o evento a partir da barbearia já alterada.
+     */
+    public static PontoMapaAlteradoEvento de(Barbearia barbearia) {
+        return new PontoMapaAlteradoEvento(
+                Tipo.BARBEARIA,
+                barbearia.getId(),
+                barbearia.getLatitude(),
+                barbearia.getLongitude(),
+                Boolean.TRUE.equals(barbearia.getAtivo()));
+    }
+
+    /**
+     * Cria o evento a partir do barbeiro já alterado.
+     */
+    public static PontoMapaAlteradoEvento de(Barbeiro barbeiro) {
+        return new PontoMapaAlteradoEvento(
+                Tipo.BARBEIRO,
+                barbeiro.getId(),
+                barbeiro.getLatitude(),
+                barbeiro.getLongitude(),
+                Boolean.TRUE.equals(barbeiro.getAtivo()) && Boolean.TRUE.equals(barbeiro.getVisivelMapa()));
+    }
+
+    /**
+     * Verifica se o ponto deve estar no índice.
+     */
+    public boolean indexavel() {
+        return visivel && latitude != null && longitude != null;
+    }
+
+    /**
+     * Tipo de ponto do mapa.
+     */
+    public enum Tipo {
+        BARBEARIA,
+        BARBEIRO
+    }
+}
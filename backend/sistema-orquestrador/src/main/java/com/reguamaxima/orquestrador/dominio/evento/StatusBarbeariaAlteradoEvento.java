@@ -0,0 +1,9 @@
+package com.reguamaxima.orquestrador.dominio.evento;
+
+/**
+ * Evento publicado quando a sessão de trabalho de uma barbearia é aberta,
+ * pausada, retomada ou fechada. Consumido após o commit para notificar
+ * quem acompanha o status da barbearia.
+ */
+public record StatusBarbeariaAlteradoEvento(Long barbeariaId) {
+}
@@ -0,0 +1,67 @@
+package com.reguamaxima.orquestrador.dominio.fila;
+
+import java.time.LocalDate;
+
+/**
+ * Contadores imutáveis da fila de um barbeiro em um dia, atualizados a cada
+ * início, finalização, cancelamento ou não comparecimento. As médias são
+ * derivadas das somas, como no consolidado diário.
+ *
+ * @param iniciados              atendimentos iniciados (base da espera média)
+ * @param somaEsperaMinutos      soma das esperas (chegada ao início) dos iniciados
+ * @param somaAtendimentoMinutos soma das durações dos atendidos
+ */
+public record ContadoresDia(
+        LocalDate data,
+        int atendidos,
+        int iniciados,
+        int cancelados,
+        int naoCompareceram,
+        long somaEsperaMinutos,
+        long somaAtendimentoMinutos) {
+
+    /**
+     * Contadores zerados de um dia.
+     */
+    public static ContadoresDia vazio(LocalDate data) {
+        return new ContadoresDia(data, 0, 0, 0, 0, 0, 0);
+    }
+
+    // ========== Alterações ==========
+
+    public ContadoresDia comInicio(long esperaMinutos) {
+        return new ContadoresDia(data, atendidos, iniciados + 1, cancelados, naoCompareceram,
+                somaEsperaMinutos + esperaMinutos, somaAtendimentoMinutos);
+    }
+
+    public ContadoresDia comConclusao(long duracaoMinutos) {
+        return new ContadoresDia(data, atendidos + 1, iniciados, cancelados, naoCompareceram,
+                somaEsperaMinutos, somaAtendimentoMinutos + duracaoMinutos);
+    }
+
+    public ContadoresDia comCancelamento() {
+        return new ContadoresDia(data, atendidos, iniciados, cancelados + 1, naoCompareceram,
+                somaEsperaMinutos, somaAtendimentoMinutos);
+    }
+
+    public ContadoresDia comNaoComparecimento() {
+        return new ContadoresDia(data, atendidos, iniciados, cancelados, naoCompareceram + 1,
+                somaEsperaMinutos, somaAtendimentoMinutos);
+    }
+
+    // ========== Médias ==========
+
+    /**
+     * Espera média (minutos) entre os atendimentos iniciados, ou 0 sem nenhum.
+     */
+    public long tempoMedioEsperaMinutos() {
+        return iniciados > 0 ? somaEsperaMinutos / iniciados : 0;
+    }
+
+    /**
+     * Duração média (minutos) dos atendimentos concluídos, ou 0 sem nenhum.
+     */
+    public long tempoMedioAtendimentoMinutos() {
+        return atendidos > 0 ? somaAtendimentoMinutos / atendidos : 0;
+    }
+}
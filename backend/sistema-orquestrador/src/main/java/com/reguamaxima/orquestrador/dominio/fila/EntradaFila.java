@@ -0,0 +1,48 @@
+package com.reguamaxima.orquestrador.dominio.fila;
+
+import java.time.LocalDateTime;
+
+/**
+ * Atendimento presente na fila em memória de um barbeiro
+ * (aguardando ou em atendimento).
+ *
+ * @param duracaoServicoMinutos duração cadastrada do serviço, usada quando não há histórico
+ * @param horaInicio            início do atendimento (null enquanto aguarda)
+ * @param ordem                 chave de ordenação esparsa na espera (coluna ordem_fila)
+ * @param compartilhada         entrou pela fila da barbearia e pode ser chamado por outro barbeiro
+ */
+public record EntradaFila(
+        Long atendimentoId,
+        Long barbeiroId,
+        Long clienteId,
+        Long servicoId,
+        Integer duracaoServicoMinutos,
+        LocalDateTime horaChegada,
+        LocalDateTime horaInicio,
+        long ordem,
+        boolean compartilhada) {
+
+    /**
+     * Cópia com a chave de ordenação informada.
+     */
+    public EntradaFila comOrdem(long novaOrdem) {
+        return new EntradaFila(atendimentoId, barbeiroId, clienteId, servicoId, duracaoServicoMinutos,
+                horaChegada, horaInicio, novaOrdem, compartilhada);
+    }
+
+    /**
+     * Cópia transferida para a fila de outro barbeiro, com a chave de ordenação informada.
+     */
+    public EntradaFila transferidaPara(Long novoBarbeiroId, long novaOrdem) {
+        return new EntradaFila(atendimentoId, novoBarbeiroId, clienteId, servicoId, duracaoServicoMinutos,
+                horaChegada, horaInicio, novaOrdem, compartilhada);
+    }
+
+    /**
+     * Cópia em andamento, iniciada no instante informado.
+     */
+    public EntradaFila iniciadaEm(LocalDateTime inicio) {
+        return new EntradaFila(atendimentoId, barbeiroId, clienteId, servicoId, duracaoServicoMinutos,
+                horaChegada, inicio, ordem, compartilhada);
+    }
+}
@@ -0,0 +1,184 @@
+package com.reguamaxima.orquestrador.dominio.fila;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.IntStream;
+
+/**
+ * Estado imutável da fila de um barbeiro em um dia: o atendimento em andamento
+ * e os clientes aguardando, em ordem. Cada alteração gera uma nova instância,
+ * de modo que leituras nunca precisam de trava.
+ * <p>
+ * A ordem da espera é dada por uma chave esparsa ({@link EntradaFila#ordem()}):
+ * novos clientes recebem a chave do último mais {@link #ESPACAMENTO_ORDEM} e
+ * mover um cliente usa o ponto médio entre os vizinhos, de modo que cada
+ * alteração grava uma única linha. A posição é derivada da ordem na leitura.
+ *
+ * @param emAtendimento atendimento em andamento (null se nenhum)
+ * @param aguardando    clientes aguardando, na ordem em que serão chamados
+ */
+public record FilaBarbeiro(
+        Long barbeiroId,
+        LocalDate data,
+        EntradaFila emAtendimento,
+        List<EntradaFila> aguardando) {
+
+    /**
+     * Distância entre chaves consecutivas ao entrar na fila ou redistribuir.
+     */
+    public static final long ESPACAMENTO_ORDEM = 1024;
+
+    private static final Comparator<EntradaFila> POR_ORDEM = Comparator
+            .comparingLong(EntradaFila::ordem)
+            .thenComparing(EntradaFila::atendimentoId);
+
+    public FilaBarbeiro {
+        aguardando = aguardando.stream().sorted(POR_ORDEM).toList();
+    }
+
+    /**
+     * Cria uma fila vazia para o barbeiro na data.
+     */
+    public static FilaBarbeiro vazia(Long barbeiroId, LocalDate data) {
+        return new FilaBarbeiro(barbeiroId, data, null, List.of());
+    }
+
+    // ========== Consultas ==========
+
+    public boolean temAtendimentoEmAndamento() {
+        return emAtendimento != null;
+    }
+
+    public boolean vazia() {
+        return emAtendimento == null && aguardando.isEmpty();
+    }
+
+    /**
+     * Próximo cliente a ser chamado.
+     */
+    public Optional<EntradaFila> proximo() {
+        return aguardando.stream().findFirst();
+    }
+
+    /**
+     * Posição (1..n) do atendimento na espera, ou 0 se não estiver aguardando.
+     */
+    public int posicao(Long atendimentoId) {
+        for (int i = 0; i < aguardando.size(); i++) {
+            if (aguardando.get(i).atendimentoId().equals(atendimentoId)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Verifica se o atendimento está na fila (aguardando ou em andamento).
+     */
+    public boolean contem(Long atendimentoId) {
+        return (emAtendimento != null && emAtendimento.atendimentoId().equals(atendimentoId))
+                || posicao(atendimentoId) > 0;
+    }
+
+    // ========== Chaves de Ordenação ==========
+
+    /**
+     * Chave para um novo cliente no fim da espera.
+     */
+    public long ordemNoFim() {
+        return aguardando.isEmpty()
+                ? ESPACAMENTO_ORDEM
+                : aguardando.getLast().ordem() + ESPACAMENTO_ORDEM;
+    }
+
+    /**
+     * Chave que coloca o atendimento na posição informada (1..n), entre os vizinhos
+     * que ficarão antes e depois dele. Vazio se não houver espaço entre os vizinhos;
+     * nesse caso a fila deve ser redistribuída com {@link #comOrdensRedistribuidas()}.
+     */
+    public OptionalLong ordemParaPosicao(Long atendimentoId, int posicao) {
+        List<EntradaFila> outros = semEntrada(atendimentoId);
+        int indice = Math.clamp(posicao - 1, 0, outros.size());
+
+        long anterior = indice > 0 ? outros.get(indice - 1).ordem() : 0;
+        if (indice == outros.size()) {
+            return OptionalLong.of(anterior + ESPACAMENTO_ORDEM);
+        }
+        long seguinte = outros.get(indice).ordem();
+        if (seguinte - anterior < 2) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(anterior + (seguinte - anterior) / 2);
+    }
+
+    // ========== Transições ==========
+
+    /**
+     * Adiciona o cliente à espera, na posição dada por sua chave.
+     */
+    public FilaBarbeiro comEntrada(EntradaFila entrada) {
+        List<EntradaFila> novos = new ArrayList<>(aguardando.size() + 1);
+        novos.addAll(aguardando);
+        novos.add(entrada);
+        return new FilaBarbeiro(barbeiroId, data, emAtendimento, novos);
+    }
+
+    /**
+     * Altera a chave de ordenação de um cliente aguardando.
+     */
+    public FilaBarbeiro comOrdem(Long atendimentoId, long ordem) {
+        List<EntradaFila> novos = aguardando.stream()
+                .map(entrada -> entrada.atendimentoId().equals(atendimentoId) ? entrada.comOrdem(ordem) : entrada)
+                .toList();
+        return new FilaBarbeiro(barbeiroId, data, emAtendimento, novos);
+    }
+
+    /**
+     * Reatribui as chaves da espera como (posição x {@link #ESPACAMENTO_ORDEM}), mantendo a ordem.
+     */
+    public FilaBarbeiro comOrdensRedistribuidas() {
+        List<EntradaFila> novos = IntStream.range(0, aguardando.size())
+                .mapToObj(i -> aguardando.get(i).comOrdem((i + 1) * ESPACAMENTO_ORDEM))
+                .toList();
+        return new FilaBarbeiro(barbeiroId, data, emAtendimento, novos);
+    }
+
+    /**
+     * Retira o atendimento da espera e o coloca em andamento, iniciado no instante informado.
+     */
+    public FilaBarbeiro comInicio(Long atendimentoId, LocalDateTime inicio) {
+        EntradaFila iniciado = aguardando.stream()
+                .filter(entrada -> entrada.atendimentoId().equals(atendimentoId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Atendimento não está aguardando na fila"));
+        return new FilaBarbeiro(barbeiroId, data, iniciado.iniciadaEm(inicio), semEntrada(atendimentoId));
+    }
+
+    /**
+     * Encerra o atendimento em andamento.
+     */
+    public FilaBarbeiro semAtendimentoEmAndamento() {
+        return new FilaBarbeiro(barbeiroId, data, null, aguardando);
+    }
+
+    /**
+     * Remove o atendimento da fila, esteja aguardando ou em andamento.
+     */
+    public FilaBarbeiro semAtendimento(Long atendimentoId) {
+        EntradaFila atual = emAtendimento != null && emAtendimento.atendimentoId().equals(atendimentoId)
+                ? null
+                : emAtendimento;
+        return new FilaBarbeiro(barbeiroId, data, atual, semEntrada(atendimentoId));
+    }
+
+    private List<EntradaFila> semEntrada(Long atendimentoId) {
+        return aguardando.stream()
+                .filter(entrada -> !entrada.atendimentoId().equals(atendimentoId))
+                .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.reguamaxima.orquestrador.dominio.geo;
+
+import java.util.Locale;
+
+/**
+ * Retângulo de latitude/longitude que contém o círculo de busca, usado como
+ * pré-filtro pelo índice espacial do banco (MBRContains).
+ * <p>
+ * Os limites são mantidos dentro do intervalo válido, sem tocar os polos nem o
+ * antimeridiano (onde o polígono degeneraria): buscas que os atravessariam
+ * ficam restritas ao lado da origem.
+ */
+public record CaixaEnvolvente(
+        double latitudeMinima,
+        double latitudeMaxima,
+        double longitudeMinima,
+        double longitudeMaxima) {
+
+    private static final double LIMITE_LATITUDE = 89.999999;
+    private static final double LIMITE_LONGITUDE = 179.999999;
+
+    /**
+     * Caixa que envolve o círculo de {@code raioKm} em torno da origem.
+     */
+    public static CaixaEnvolvente doRaio(double latitude, double longitude, double raioKm) {
+        double deltaLatitude = raioKm / GradeGeografica.KM_POR_GRAU;
+
+        // Largura em longitude medida na borda mais próxima do polo, onde é maior
+        double latitudeExtrema = Math.min(Math.abs(latitude) + deltaLatitude, LIMITE_LATITUDE);
+        double deltaLongitude = deltaLatitude / Math.cos(Math.toRadians(latitudeExtrema));
+
+        return new CaixaEnvolvente(
+                Math.max(latitude - deltaLatitude, -LIMITE_LATITUDE),
+                Math.min(latitude + deltaLatitude, LIMITE_LATITUDE),
+                Math.max(longitude - deltaLongitude, -LIMITE_LONGITUDE),
+                Math.min(longitude + deltaLongitude, LIMITE_LONGITUDE));
+    }
+
+    /**
+     * Polígono WKT da caixa na ordem de eixos do SRID 4326 (latitude, longitude).
+     */
+    public String wkt() {
+        return String.format(Locale.ROOT, "POLYGON((%1$f %3$f, %2$f %3$f, %2$f %4$f, %1$f %4$f, %1$f %3$f))",
+                latitudeMinima, latitudeMaxima, longitudeMinima, longitudeMaxima);
+    }
+}
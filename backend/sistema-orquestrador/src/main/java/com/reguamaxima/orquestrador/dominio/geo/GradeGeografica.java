@@ -0,0 +1,344 @@
+package com.reguamaxima.orquestrador.dominio.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial em memória: grade regular de células de latitude/longitude,
+ * cada uma com os pontos que caem nela.
+ * <p>
+ * A busca por raio percorre apenas as células que cobrem o retângulo envolvente
+ * do círculo (ou, se forem menos, as células ocupadas) e calcula a distância
+ * exata (Haversine) só para os pontos dessas células, de modo que o custo
+ * depende da densidade local e não do total de pontos. A busca pelos mais
+ * próximos percorre anéis de células em torno da origem até que nenhuma célula
+ * ainda não visitada possa conter ponto melhor. Leituras não travam; escritas
+ * são serializadas e cada ponto fica em uma única célula.
+ */
+public class GradeGeografica {
+
+    /**
+     * Raio médio da Terra.
+     */
+    public static final double RAIO_TERRA_KM = 6371.0;
+
+    /**
+     * Quilômetros por grau de latitude (e de longitude no equador).
+     */
+    static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180.0;
+
+    private static final Comparator<PontoProximo> POR_DISTANCIA = Comparator
+            .comparingDouble(PontoProximo::distanciaKm)
+            .thenComparingLong(PontoProximo::id);
+
+    private final double tamanhoCelulaGraus;
+    private final int linhas;
+    private final int colunas;
+
+    private final ConcurrentHashMap<Long, Ponto> pontos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Ponto>> celulas = new ConcurrentHashMap<>();
+
+    public GradeGeografica(double tamanhoCelulaGraus) {
+        if (tamanhoCelulaGraus <= 0 || tamanhoCelulaGraus > 90) {
+            throw new IllegalArgumentException("Tamanho de célula inválido: " + tamanhoCelulaGraus);
+        }
+        this.tamanhoCelulaGraus = tamanhoCelulaGraus;
+        this.linhas = (int) Math.ceil(180.0 / tamanhoCelulaGraus);
+        this.colunas = (int) Math.ceil(360.0 / tamanhoCelulaGraus);
+    }
+
+    // ========== Escrita ==========
+
+    /**
+     * Insere o ponto ou move-o para a nova posição.
+     */
+    public synchronized void inserir(long id, double latitude, double longitude) {
+        remover(id);
+        Ponto ponto = new Ponto(id, latitude, longitude, celula(linha(latitude), coluna(longitude)));
+        pontos.put(id, ponto);
+        celulas.computeIfAbsent(ponto.celula(), chave -> new ConcurrentHashMap<>()).put(id, ponto);
+    }
+
+    /**
+     * Remove o ponto, se presente.
+     */
+    public synchronized void remover(long id) {
+        Ponto anterior = pontos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        Map<Long, Ponto> ocupantes = celulas.get(anterior.celula());
+        if (ocupantes != null) {
+            ocupantes.remove(id);
+            if (ocupantes.isEmpty()) {
+                celulas.remove(anterior.celula());
+            }
+        }
+    }
+
+    // ========== Leitura ==========
+
+    /**
+     * Pontos a até {@code raioKm} da origem, do mais próximo ao mais distante.
+     */
+    public List<PontoProximo> buscarNoRaio(double latitude, double longitude, double raioKm) {
+        List<PontoProximo> encontrados = new ArrayList<>();
+        if (raioKm < 0 || pontos.isEmpty()) {
+            return encontrados;
+        }
+
+        Faixa faixa = faixa(latitude, longitude, raioKm);
+        if (faixa.quantidadeCelulas() <= celulas.size()) {
+            for (int linha = faixa.linhaMinima(); linha <= faixa.linhaMaxima(); linha++) {
+                for (int i = 0; i < faixa.quantidadeColunas(); i++) {
+                    int coluna = Math.floorMod(faixa.colunaInicial() + i, colunas);
+                    Map<Long, Ponto> ocupantes = celulas.get(celula(linha, coluna));
+                    if (ocupantes != null) {
+                        coletar(ocupantes, latitude, longitude, raioKm, encontrados);
+                    }
+                }
+            }
+        } else {
+            // Raio grande em relação à ocupação: mais barato percorrer só as células ocupadas
+            for (Map.Entry<Long, ConcurrentHashMap<Long, Ponto>> ocupada : celulas.entrySet()) {
+                if (contem(faixa, ocupada.getKey())) {
+                    coletar(ocupada.getValue(), latitude, longitude, raioKm, encontrados);
+                }
+            }
+        }
+
+        encontrados.sort(POR_DISTANCIA);
+        return encontrados;
+    }
+
+    /**
+     * Os {@code quantidade} pontos mais próximos da origem a até {@code raioMaximoKm},
+     * do mais próximo ao mais distante, começando depois de {@code apos} na mesma
+     * ordem (distância, id) ou do início, se nulo.
+     * <p>
+     * Visita anéis de células cada vez mais largos em torno da célula da origem e
+     * para assim que os pontos reunidos estão mais perto do que a menor distância
+     * possível até as células ainda não visitadas.
+     */
+    public List<PontoProximo> buscarMaisProximos(double latitude, double longitude, int quantidade,
+            double raioMaximoKm, PontoProximo apos) {
+        if (quantidade <= 0 || raioMaximoKm < 0 || pontos.isEmpty()) {
+            return List.of();
+        }
+
+        Selecao selecao = new Selecao(latitude, longitude, quantidade, raioMaximoKm, apos);
+        int linhaOrigem = linha(latitude);
+        int colunaOrigem = coluna(longitude);
+        long visitadas = 0;
+
+        for (int anel = 0; ; anel++) {
+            if (2 * anel + 1 >= colunas || visitadas > celulas.size()) {
+                // Anel dá a volta no globo ou já custou mais que as células ocupadas: varre as ocupadas
+                selecao = new Selecao(latitude, longitude, quantidade, raioMaximoKm, apos);
+                for (Map<Long, Ponto> ocupantes : celulas.values()) {
+                    selecao.considerar(ocupantes);
+                }
+                break;
+            }
+
+            visitadas += visitarAnel(linhaOrigem, colunaOrigem, anel, selecao);
+
+            double distanciaMinimaRestante = distanciaMinimaForaKm(latitude, longitude, linhaOrigem, anel);
+            if (distanciaMinimaRestante > raioMaximoKm || selecao.completaAntesDe(distanciaMinimaRestante)) {
+                break;
+            }
+        }
+
+        return selecao.emOrdem();
+    }
+
+    /**
+     * Quantidade de pontos indexados.
+     */
+    public int tamanho() {
+        return pontos.size();
+    }
+
+    /**
+     * Distância em km entre dois pontos pela fórmula de Haversine.
+     */
+    public static double distanciaKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private static void coletar(Map<Long, Ponto> ocupantes, double latitude, double longitude, double raioKm,
+            List<PontoProximo> encontrados) {
+        for (Ponto ponto : ocupantes.values()) {
+            double distancia = distanciaKm(latitude, longitude, ponto.latitude(), ponto.longitude());
+            if (distancia <= raioKm) {
+                encontrados.add(new PontoProximo(ponto.id(), distancia));
+            }
+        }
+    }
+
+    /**
+     * Células que cobrem o retângulo envolvente do círculo de busca.
+     */
+    private Faixa faixa(double latitude, double longitude, double raioKm) {
+        double deltaLatitude = raioKm / KM_POR_GRAU;
+        int linhaMinima = linha(latitude - deltaLatitude);
+        int linhaMaxima = linha(latitude + deltaLatitude);
+
+        // Largura em longitude medida na borda mais próxima do polo, onde é maior
+        double latitudeExtrema = Math.abs(latitude) + deltaLatitude;
+        if (latitudeExtrema >= 90) {
+            return new Faixa(linhaMinima, linhaMaxima, 0, colunas);
+        }
+        double deltaLongitude = deltaLatitude / Math.cos(Math.toRadians(latitudeExtrema));
+        if (deltaLongitude >= 180) {
+            return new Faixa(linhaMinima, linhaMaxima, 0, colunas);
+        }
+        int colunaInicial = (int) Math.floor((longitude - deltaLongitude + 180.0) / tamanhoCelulaGraus);
+        int colunaFinal = (int) Math.floor((longitude + deltaLongitude + 180.0) / tamanhoCelulaGraus);
+        return new Faixa(linhaMinima, linhaMaxima, colunaInicial, Math.min(colunaFinal - colunaInicial + 1, colunas));
+    }
+
+    /**
+     * Visita as células da borda do anel (a própria célula da origem no anel 0).
+     * Devolve quantas células foram consultadas.
+     */
+    private int visitarAnel(int linhaOrigem, int colunaOrigem, int anel, Selecao selecao) {
+        int consultadas = 0;
+        for (int linha = linhaOrigem - anel; linha <= linhaOrigem + anel; linha++) {
+            if (linha < 0 || linha >= linhas) {
+                continue;
+            }
+            boolean bordaHorizontal = Math.abs(linha - linhaOrigem) == anel;
+            int passo = bordaHorizontal || anel == 0 ? 1 : 2 * anel;
+            for (int deslocamento = -anel; deslocamento <= anel; deslocamento += passo) {
+                int coluna = Math.floorMod(colunaOrigem + deslocamento, colunas);
+                Map<Long, Ponto> ocupantes = celulas.get(celula(linha, coluna));
+                if (ocupantes != null) {
+                    selecao.considerar(ocupantes);
+                }
+                consultadas++;
+            }
+        }
+        return consultadas;
+    }
+
+    /**
+     * Menor distância possível da origem até um ponto fora dos anéis 0..{@code anel}.
+     * Conservadora na longitude (desconta uma célula) para cobrir a última coluna,
+     * mais estreita quando 360 não é múltiplo do tamanho da célula.
+     */
+    private double distanciaMinimaForaKm(double latitude, double longitude, int linhaOrigem, int anel) {
+        double limiteSul = -90.0 + (linhaOrigem - anel) * tamanhoCelulaGraus;
+        double limiteNorte = Math.min(90.0, -90.0 + (linhaOrigem + anel + 1) * tamanhoCelulaGraus);
+        double margemSul = linhaOrigem - anel <= 0 ? Double.POSITIVE_INFINITY : latitude - limiteSul;
+        double margemNorte = linhaOrigem + anel >= linhas - 1 ? Double.POSITIVE_INFINITY : limiteNorte - latitude;
+        double porLatitude = Math.min(margemSul, margemNorte) * KM_POR_GRAU;
+
+        // Dentro da faixa de latitude, a distância mínima ocorre na borda mais próxima do polo
+        double margemLongitude = Math.min(Math.max(0, anel - 1) * tamanhoCelulaGraus, 180.0);
+        double latitudeExtrema = Math.max(Math.abs(Math.max(limiteSul, -90.0)), Math.abs(limiteNorte));
+        double senoMeiaLongitude = Math.sin(Math.toRadians(margemLongitude) / 2);
+        double a = Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(latitudeExtrema))
+                * senoMeiaLongitude * senoMeiaLongitude;
+        double porLongitude = 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(Math.max(0.0, a))));
+
+        return Math.min(porLatitude, porLongitude);
+    }
+
+    private boolean contem(Faixa faixa, long celula) {
+        int linha = (int) (celula / colunas);
+        int coluna = (int) (celula % colunas);
+        return linha >= faixa.linhaMinima() && linha <= faixa.linhaMaxima()
+                && Math.floorMod(coluna - faixa.colunaInicial(), colunas) < faixa.quantidadeColunas();
+    }
+
+    private int linha(double latitude) {
+        int linha = (int) Math.floor((latitude + 90.0) / tamanhoCelulaGraus);
+        return Math.max(0, Math.min(linha, linhas - 1));
+    }
+
+    private int coluna(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / tamanhoCelulaGraus), colunas);
+    }
+
+    private long celula(int linha, int coluna) {
+        return (long) linha * colunas + coluna;
+    }
+
+    private record Ponto(long id, double latitude, double longitude, long celula) {
+    }
+
+    /**
+     * Os melhores candidatos vistos até agora, em heap com o pior no topo.
+     */
+    private static final class Selecao {
+
+        private final double latitude;
+        private final double longitude;
+        private final int quantidade;
+        private final double raioMaximoKm;
+        private final PontoProximo apos;
+        private final PriorityQueue<PontoProximo> melhores = new PriorityQueue<>(POR_DISTANCIA.reversed());
+
+        Selecao(double latitude, double longitude, int quantidade, double raioMaximoKm, PontoProximo apos) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.quantidade = quantidade;
+            this.raioMaximoKm = raioMaximoKm;
+            this.apos = apos;
+        }
+
+        void considerar(Map<Long, Ponto> ocupantes) {
+            for (Ponto ponto : ocupantes.values()) {
+                double distancia = distanciaKm(latitude, longitude, ponto.latitude(), ponto.longitude());
+                if (distancia > raioMaximoKm) {
+                    continue;
+                }
+                PontoProximo candidato = new PontoProximo(ponto.id(), distancia);
+                if (apos != null && POR_DISTANCIA.compare(candidato, apos) <= 0) {
+                    continue;
+                }
+                if (melhores.size() < quantidade) {
+                    melhores.add(candidato);
+                } else if (POR_DISTANCIA.compare(candidato, melhores.peek()) < 0) {
+                    melhores.poll();
+                    melhores.add(candidato);
+                }
+            }
+        }
+
+        /**
+         * Verifica se já há {@code quantidade} candidatos, todos mais perto que {@code distanciaKm}.
+         */
+        boolean completaAntesDe(double distanciaKm) {
+            return melhores.size() == quantidade && melhores.peek().distanciaKm() < distanciaKm;
+        }
+
+        List<PontoProximo> emOrdem() {
+            List<PontoProximo> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(POR_DISTANCIA);
+            return ordenados;
+        }
+    }
+
+    /**
+     * Retângulo de células; as colunas podem dar a volta no antimeridiano.
+     */
+    private record Faixa(int linhaMinima, int linhaMaxima, int colunaInicial, int quantidadeColunas) {
+
+        long quantidadeCelulas() {
+            return (long) (linhaMaxima - linhaMinima + 1) * quantidadeColunas;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.reguamaxima.orquestrador.dominio.geo;
+
+/**
+ * Ponto encontrado em uma busca por proximidade, com a distância exata até a origem.
+ */
+public record PontoProximo(long id, double distanciaKm) {
+}
@@ -0,0 +1,129 @@
+package com.reguamaxima.orquestrador.dominio.repository;
+
+import com.reguamaxima.orquestrador.dominio.dto.AgendamentoProjecao;
+import com.reguamaxima.orquestrador.dominio.entidade.AgendamentoArquivado;
+import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório para agendamentos arquivados e para a movimentação
+ * de agendamentos finalizados para a tabela de arquivo.
+ */
+@Repository
+public interface AgendamentoArquivadoRepository extends JpaRepository<AgendamentoArquivado, Long> {
+
+    /**
+     * Mesma projeção de {@link AgendamentoRepository#SELECT_PROJECAO}, lida da tabela de arquivo.
+     */
+    String SELECT_PROJECAO = """
+            SELECT new com.reguamaxima.orquestrador.dominio.dto.AgendamentoProjecao(
+                a.id, c.id, c.nome, c.telefone,
+                b.id, bu.nome, b.fotoUrl,
+                bar.id, bar.nome, bar.endereco, bar.cidade, bar.estado, bar.cep,
+                s.id, s.nome, s.icone, a.duracaoMinutos, a.preco,
+                a.data, a.horaInicio, a.horaFim, a.status,
+                a.observacoesCliente, a.observacoesBarbeiro, a.motivoCancelamento,
+                a.dataCriacao, a.dataConfirmacao, a.dataInicioAtendimento, a.dataConclusao, a.dataCancelamento,
+                a.dataAtualizacao)
+            FROM AgendamentoArquivado a
+            JOIN a.cliente c
+            JOIN a.barbeiro b
+            LEFT JOIN b.usuario bu
+            JOIN a.barbearia bar
+            JOIN a.servico s
+            """;
+
+    // ========== Histórico do Cliente ==========
+
+    long countByClienteIdAndStatusIn(Long clienteId, Collection<StatusAgendamento> status);
+
+    /**
+     * Primeiros itens do histórico arquivado do cliente, ordenados por (data, hora de início, id).
+     */
+    @Query(SELECT_PROJECAO + """
+            WHERE a.cliente.id = :clienteId
+            AND a.status IN :statusFinalizados
+            ORDER BY a.data DESC, a.horaInicio DESC, a.id DESC
+            """)
+    List<AgendamentoProjecao> findHistoricoClienteInicio(
+            @Param("clienteId") Long clienteId,
+            @Param("statusFinalizados") List<StatusAgendamento> statusFinalizados,
+            Limit limite);
+
+    /**
+     * Itens do histórico arquivado do cliente anteriores à chave do cursor.
+     */
+    @Query(SELECT_PROJECAO + """
+            WHERE a.cliente.id = :clienteId
+            AND a.status IN :statusFinalizados
+            AND (a.data < :data
+                OR (a.data = :data AND a.horaInicio < :horaInicio)
+                OR (a.data = :data AND a.horaInicio = :horaInicio AND a.id < :id))
+            ORDER BY a.data DESC, a.horaInicio DESC, a.id DESC
+            """)
+    List<AgendamentoProjecao> findHistoricoClienteApos(
+            @Param("clienteId") Long clienteId,
+            @Param("statusFinalizados") List<StatusAgendamento> statusFinalizados,
+            @Param("data") LocalDate data,
+            @Param("horaInicio") LocalTime horaInicio,
+            @Param("id") Long id,
+            Limit limite);
+
+    // ========== Arquivamento ==========
+
+    /**
+     * Seleciona um lote de agendamentos finalizados anteriores à data limite, travando as
+     * linhas e pulando as travadas por outras transações. Agendamentos avaliados ficam na
+     * tabela principal (avaliacoes.agendamento_id referencia agendamentos).
+     */
+    @Query(value = """
+            SELECT a.id FROM agendamentos a
+            WHERE a.data < :limite
+            AND a.status IN (:status)
+            AND NOT EXISTS (SELECT 1 FROM avaliacoes av WHERE av.agendamento_id = a.id)
+            LIMIT :lote
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> selecionarParaArquivar(
+            @Param("limite") LocalDate limite,
+            @Param("status") Collection<String> status,
+            @Param("lote") int lote);
+
+    /**
+     * Copia os agendamentos informados para a tabela de arquivo.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO agendamentos_arquivo (
+                id, cliente_id, barbeiro_id, barbearia_id, servico_id,
+                data, hora_inicio, hora_fim, duracao_minutos, preco, status,
+                observacoes_cliente, observacoes_barbeiro, motivo_cancelamento,
+                data_criacao, data_atualizacao, data_confirmacao, data_inicio_atendimento,
+                data_conclusao, data_cancelamento)
+            SELECT
+                id, cliente_id, barbeiro_id, barbearia_id, servico_id,
+                data, hora_inicio, hora_fim, duracao_minutos, preco, status,
+                observacoes_cliente, observacoes_barbeiro, motivo_cancelamento,
+                data_criacao, data_atualizacao, data_confirmacao, data_inicio_atendimento,
+                data_conclusao, data_cancelamento
+            FROM agendamentos WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int copiarParaArquivo(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Remove da tabela principal os agendamentos já copiados para o arquivo.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM agendamentos WHERE id IN (:ids)", nativeQuery = true)
+    int removerArquivados(@Param("ids") Collection<Long> ids);
+}
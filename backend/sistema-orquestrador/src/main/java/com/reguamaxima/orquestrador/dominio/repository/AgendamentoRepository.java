@@ -1,16 +1,26 @@
 package com.reguamaxima.orquestrador.dominio.repository;
 
+import com.reguamaxima.orquestrador.dominio.agenda.SituacaoAgendamento;
+import com.reguamaxima.orquestrador.dominio.dto.AgendamentoProjecao;
 import com.reguamaxima.orquestrador.dominio.entidade.Agendamento;
 import com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +30,27 @@ import java.util.Optional;
 @Repository
 public interface AgendamentoRepository extends JpaRepository<Agendamento, Long> {
 
+    /**
+     * SELECT e FROM comuns às listagens: projeção {@link AgendamentoProjecao} com os joins necessários.
+     */
+    String SELECT_PROJECAO = """
+            SELECT new com.reguamaxima.orquestrador.dominio.dto.AgendamentoProjecao(
+                a.id, c.id, c.nome, c.telefone,
+                b.id, bu.nome, b.fotoUrl,
+                bar.id, bar.nome, bar.endereco, bar.cidade, bar.estado, bar.cep,
+                s.id, s.nome, s.icone, a.duracaoMinutos, a.preco,
+                a.data, a.horaInicio, a.horaFim, a.status,
+                a.observacoesCliente, a.observacoesBarbeiro, a.motivoCancelamento,
+                a.dataCriacao, a.dataConfirmacao, a.dataInicioAtendimento, a.dataConclusao, a.dataCancelamento,
+                a.dataAtualizacao)
+            FROM Agendamento a
+            JOIN a.cliente c
+            JOIN a.barbeiro b
+            LEFT JOIN b.usuario bu
+            JOIN a.barbearia bar
+            JOIN a.servico s
+            """;
+
     // ========== Busca por Cliente ==========
 
     /**
@@ -38,17 +69,13 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
     /**
      * Busca agendamentos futuros do cliente.
      */
-    @Query("""
-            SELECT a FROM Agendamento a
-            JOIN FETCH a.barbeiro b
-            JOIN FETCH a.barbearia bar
-            JOIN FETCH a.servico s
+    @Query(SELECT_PROJECAO + """
             WHERE a.cliente.id = :clienteId
             AND (a.data > :hoje OR (a.data = :hoje AND a.horaInicio > :agora))
             AND a.status NOT IN :statusFinalizados
             ORDER BY a.data ASC, a.horaInicio ASC
             """)
-    List<Agendamento> findAgendamentosFuturosCliente(
+    List<AgendamentoProjecao> findAgendamentosFuturosCliente(
             @Param("clienteId") Long clienteId,
             @Param("hoje") LocalDate hoje,
             @Param("agora") LocalTime agora,
@@ -57,35 +84,74 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
     /**
      * Busca histórico de agendamentos do cliente (concluídos ou cancelados).
      */
-    @Query("""
-            SELECT a FROM Agendamento a
-            JOIN FETCH a.barbeiro b
-            JOIN FETCH a.barbearia bar
-            JOIN FETCH a.servico s
+    @Query(value = SELECT_PROJECAO + """
             WHERE a.cliente.id = :clienteId
             AND a.status IN :statusFinalizados
             ORDER BY a.data DESC, a.horaInicio DESC
+            """, countQuery = """
+            SELECT COUNT(a) FROM Agendamento a
+            WHERE a.cliente.id = :clienteId
+            AND a.status IN :statusFinalizados
             """)
-    Page<Agendamento> findHistoricoCliente(
+    Page<AgendamentoProjecao> findHistoricoCliente(
             @Param("clienteId") Long clienteId,
             @Param("statusFinalizados") List<StatusAgendamento> statusFinalizados,
             Pageable pageable);
 
+    long countByClienteIdAndStatusIn(Long clienteId, Collection<StatusAgendamento> status);
+
+    /**
+     * Primeira página do histórico do cliente paginado por chave (data, hora de início, id).
+     */
+    @Query(SELECT_PROJECAO + """
+            WHERE a.cliente.id = :clienteId
+            AND a.status IN :statusFinalizados
+            ORDER BY a.data DESC, a.horaInicio DESC, a.id DESC
+            """)
+    List<AgendamentoProjecao> findHistoricoClienteInicio(
+            @Param("clienteId") Long clienteId,
+            @Param("statusFinalizados") List<StatusAgendamento> statusFinalizados,
+            Limit limite);
+
+    /**
+     * Página seguinte do histórico do cliente: itens anteriores à chave do cursor.
+     */
+    @Query(SELECT_PROJECAO + """
+            WHERE a.cliente.id = :clienteId
+            AND a.status IN :statusFinalizados
+            AND (a.data < :data
+                OR (a.data = :data AND a.horaInicio < :horaInicio)
+                OR (a.data = :data AND a.horaInicio = :horaInicio AND a.id < :id))
+            ORDER BY a.data DESC, a.horaInicio DESC, a.id DESC
+            """)
+    List<AgendamentoProjecao> findHistoricoClienteApos(
+            @Param("clienteId") Long clienteId,
+            @Param("statusFinalizados") List<StatusAgendamento> statusFinalizados,
+            @Param("data") LocalDate data,
+            @Param("horaInicio") LocalTime horaInicio,
+            @Param("id") Long id,
+            Limit limite);
+
+    /**
+     * Agendamentos pelos ids, sem ordem definida (ids ausentes, como os arquivados, são ignorados).
+     */
+    @Query(SELECT_PROJECAO + """
+            WHERE a.id IN :ids
+            """)
+    List<AgendamentoProjecao> findProjecoesPorIds(@Param("ids") Collection<Long> ids);
+
     // ========== Busca por Barbeiro ==========
 
     /**
      * Busca agendamentos do barbeiro para uma data específica.
      */
-    @Query("""
-            SELECT a FROM Agendamento a
-            JOIN FETCH a.cliente c
-            JOIN FETCH a.servico s
+    @Query(SELECT_PROJECAO + """
             WHERE a.barbeiro.id = :barbeiroId
             AND a.data = :data
             AND a.status NOT IN :statusCancelados
             ORDER BY a.horaInicio ASC
             """)
-    List<Agendamento> findByBarbeiroIdAndData(
+    List<AgendamentoProjecao> findByBarbeiroIdAndData(
             @Param("barbeiroId") Long barbeiroId,
             @Param("data") LocalDate data,
             @Param("statusCancelados") List<StatusAgendamento> statusCancelados);
@@ -93,16 +159,13 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
     /**
      * Busca agenda do barbeiro (próximos agendamentos).
      */
-    @Query("""
-            SELECT a FROM Agendamento a
-            JOIN FETCH a.cliente c
-            JOIN FETCH a.servico s
+    @Query(SELECT_PROJECAO + """
             WHERE a.barbeiro.id = :barbeiroId
             AND (a.data > :hoje OR (a.data = :hoje AND a.horaInicio >= :agora))
             AND a.status IN :statusAtivos
             ORDER BY a.data ASC, a.horaInicio ASC
             """)
-    List<Agendamento> findAgendaFuturaBarbeiro(
+    List<AgendamentoProjecao> findAgendaFuturaBarbeiro(
             @Param("barbeiroId") Long barbeiroId,
             @Param("hoje") LocalDate hoje,
             @Param("agora") LocalTime agora,
@@ -151,16 +214,12 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
     /**
      * Busca agendamentos pendentes da barbearia (para confirmação).
      */
-    @Query("""
-            SELECT a FROM Agendamento a
-            JOIN FETCH a.cliente c
-            JOIN FETCH a.barbeiro b
-            JOIN FETCH a.servico s
+    @Query(SELECT_PROJECAO + """
             WHERE a.barbearia.id = :barbeariaId
             AND a.status = :status
             ORDER BY a.dataCriacao ASC
             """)
-    List<Agendamento> findPendentesBarbearia(
+    List<AgendamentoProjecao> findPendentesBarbearia(
             @Param("barbeariaId") Long barbeariaId,
             @Param("status") StatusAgendamento status);
 
@@ -185,6 +244,24 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
             @Param("horaFim") LocalTime horaFim,
             @Param("statusCancelados") List<StatusAgendamento> statusCancelados);
 
+    /**
+     * Retorna, dentre as datas informadas, as que têm conflito com o intervalo
+     * [horaInicio, horaFim) na agenda do barbeiro. Uma única consulta para toda a série.
+     */
+    @Query("""
+            SELECT DISTINCT a.data FROM Agendamento a
+            WHERE a.barbeiro.id = :barbeiroId
+            AND a.data IN :datas
+            AND a.status NOT IN :statusCancelados
+            AND a.horaInicio < :horaFim AND a.horaFim > :horaInicio
+            """)
+    List<LocalDate> findDatasComConflito(
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("datas") Collection<LocalDate> datas,
+            @Param("horaInicio") LocalTime horaInicio,
+            @Param("horaFim") LocalTime horaFim,
+            @Param("statusCancelados") List<StatusAgendamento> statusCancelados);
+
     /**
      * Busca horários ocupados do barbeiro em uma data.
      */
@@ -200,6 +277,39 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
             @Param("data") LocalDate data,
             @Param("statusCancelados") List<StatusAgendamento> statusCancelados);
 
+    /**
+     * Busca horários ocupados do barbeiro em um período, agrupados por data.
+     * Retorna Object[] onde [0] = data, [1] = hora de início e [2] = hora de fim.
+     */
+    @Query("""
+            SELECT a.data, a.horaInicio, a.horaFim FROM Agendamento a
+            WHERE a.barbeiro.id = :barbeiroId
+            AND a.data BETWEEN :dataInicio AND :dataFim
+            AND a.status NOT IN :statusCancelados
+            ORDER BY a.data ASC, a.horaInicio ASC
+            """)
+    List<Object[]> findHorariosOcupadosPeriodo(
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim,
+            @Param("statusCancelados") List<StatusAgendamento> statusCancelados);
+
+    /**
+     * Busca horários ocupados de vários barbeiros em uma data, agrupados por barbeiro.
+     * Retorna Object[] onde [0] = ID do barbeiro, [1] = hora de início e [2] = hora de fim.
+     */
+    @Query("""
+            SELECT a.barbeiro.id, a.horaInicio, a.horaFim FROM Agendamento a
+            WHERE a.barbeiro.id IN :barbeiroIds
+            AND a.data = :data
+            AND a.status NOT IN :statusCancelados
+            ORDER BY a.barbeiro.id ASC, a.horaInicio ASC
+            """)
+    List<Object[]> findHorariosOcupadosBarbeiros(
+            @Param("barbeiroIds") Collection<Long> barbeiroIds,
+            @Param("data") LocalDate data,
+            @Param("statusCancelados") List<StatusAgendamento> statusCancelados);
+
     // ========== Estatísticas ==========
 
     /**
@@ -240,6 +350,191 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
             @Param("data") LocalDate data,
             @Param("statusCancelados") List<StatusAgendamento> statusCancelados);
 
+    // ========== Trava de Agenda ==========
+
+    /**
+     * Trava a agenda do barbeiro no dia até o fim da transação.
+     * <p>
+     * Insere (ou toca) a linha (barbeiro, data) em travas_agenda; em ambos os casos
+     * o InnoDB mantém um lock exclusivo na linha até o commit, serializando apenas
+     * as reservas do mesmo barbeiro no mesmo dia. Deve ser a primeira operação da
+     * transação: no REPEATABLE READ o snapshot de leitura nasce na primeira consulta,
+     * e só assim a verificação de conflito enxerga os agendamentos já confirmados.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO travas_agenda (barbeiro_id, data, data_ultima_trava)
+            VALUES (:barbeiroId, :data, CURRENT_TIMESTAMP)
+            ON DUPLICATE KEY UPDATE data_ultima_trava = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int travarAgendaDia(@Param("barbeiroId") Long barbeiroId, @Param("data") LocalDate data);
+
+    // ========== Transições em Lote ==========
+
+    /**
+     * Busca a situação dos agendamentos informados, travando as linhas até o fim
+     * da transação para que a validação continue válida no UPDATE em lote.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT new com.reguamaxima.orquestrador.dominio.agenda.SituacaoAgendamento(
+                a.id, a.barbeiro.id, a.barbearia.id, a.cliente.id, a.data, a.horaInicio, a.horaFim, a.status)
+            FROM Agendamento a
+            WHERE a.id IN :ids
+            ORDER BY a.id
+            """)
+    List<SituacaoAgendamento> findSituacoesParaAtualizar(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Confirma em lote os agendamentos do barbeiro que ainda estão em um dos status de origem.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Agendamento a
+            SET a.status = com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento.CONFIRMADO,
+                a.dataConfirmacao = :agora,
+                a.dataAtualizacao = :agora
+            WHERE a.id IN :ids
+            AND a.barbeiro.id = :barbeiroId
+            AND a.status IN :origens
+            """)
+    int confirmarEmLote(
+            @Param("ids") Collection<Long> ids,
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("origens") List<StatusAgendamento> origens,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Cancela em lote os agendamentos do barbeiro que ainda estão em um dos status de origem.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Agendamento a
+            SET a.status = :destino,
+                a.motivoCancelamento = :motivo,
+                a.dataCancelamento = :agora,
+                a.dataAtualizacao = :agora
+            WHERE a.id IN :ids
+            AND a.barbeiro.id = :barbeiroId
+            AND a.status IN :origens
+            """)
+    int cancelarEmLote(
+            @Param("ids") Collection<Long> ids,
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("origens") List<StatusAgendamento> origens,
+            @Param("destino") StatusAgendamento destino,
+            @Param("motivo") String motivo,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Marca em lote como não compareceu os agendamentos do barbeiro que ainda estão em um dos status de origem.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Agendamento a
+            SET a.status = com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento.NAO_COMPARECEU,
+                a.dataConclusao = :agora,
+                a.dataAtualizacao = :agora
+            WHERE a.id IN :ids
+            AND a.barbeiro.id = :barbeiroId
+            AND a.status IN :origens
+            """)
+    int marcarNaoCompareceuEmLote(
+            @Param("ids") Collection<Long> ids,
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("origens") List<StatusAgendamento> origens,
+            @Param("agora") LocalDateTime agora);
+
+    // ========== Varredura de Vencidos ==========
+
+    /**
+     * Busca um lote de agendamentos no status informado cujo início é anterior ao limite.
+     * Trava as linhas do lote e pula as que já estão travadas por outras transações (SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT new com.reguamaxima.orquestrador.dominio.agenda.SituacaoAgendamento(
+                a.id, a.barbeiro.id, a.barbearia.id, a.cliente.id, a.data, a.horaInicio, a.horaFim, a.status)
+            FROM Agendamento a
+            WHERE a.status = :status
+            AND (a.data < :data OR (a.data = :data AND a.horaInicio <= :hora))
+            ORDER BY a.id
+            """)
+    List<SituacaoAgendamento> findVencidosPeloInicio(
+            @Param("status") StatusAgendamento status,
+            @Param("data") LocalDate data,
+            @Param("hora") LocalTime hora,
+            Pageable pageable);
+
+    /**
+     * Busca um lote de agendamentos no status informado cujo fim é anterior ao limite.
+     * Trava as linhas do lote e pula as que já estão travadas por outras transações (SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT new com.reguamaxima.orquestrador.dominio.agenda.SituacaoAgendamento(
+                a.id, a.barbeiro.id, a.barbearia.id, a.cliente.id, a.data, a.horaInicio, a.horaFim, a.status)
+            FROM Agendamento a
+            WHERE a.status = :status
+            AND (a.data < :data OR (a.data = :data AND a.horaFim <= :hora))
+            ORDER BY a.id
+            """)
+    List<SituacaoAgendamento> findVencidosPeloFim(
+            @Param("status") StatusAgendamento status,
+            @Param("data") LocalDate data,
+            @Param("hora") LocalTime hora,
+            Pageable pageable);
+
+    /**
+     * Cancela automaticamente os agendamentos do lote que continuam no status de origem.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Agendamento a
+            SET a.status = :destino,
+                a.motivoCancelamento = :motivo,
+                a.dataCancelamento = :agora,
+                a.dataAtualizacao = :agora
+            WHERE a.id IN :ids
+            AND a.status = :origem
+            """)
+    int cancelarVencidos(
+            @Param("ids") Collection<Long> ids,
+            @Param("origem") StatusAgendamento origem,
+            @Param("destino") StatusAgendamento destino,
+            @Param("motivo") String motivo,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Marca como não compareceu os agendamentos do lote que continuam no status de origem.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Agendamento a
+            SET a.status = com.reguamaxima.orquestrador.dominio.enums.StatusAgendamento.NAO_COMPARECEU,
+                a.dataConclusao = :agora,
+                a.dataAtualizacao = :agora
+            WHERE a.id IN :ids
+            AND a.status = :origem
+            """)
+    int marcarNaoCompareceuVencidos(
+            @Param("ids") Collection<Long> ids,
+            @Param("origem") StatusAgendamento origem,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove um lote de linhas de trava de dias anteriores à data informada.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM travas_agenda
+            WHERE data < :data
+            LIMIT :limite
+            """, nativeQuery = true)
+    int removerTravasAnteriores(@Param("data") LocalDate data, @Param("limite") int limite);
+
     // ========== Busca com Fetch ==========
 
     /**
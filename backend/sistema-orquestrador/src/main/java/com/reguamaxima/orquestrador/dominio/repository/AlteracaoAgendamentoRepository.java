@@ -0,0 +1,98 @@
+package com.reguamaxima.orquestrador.dominio.repository;
+
+import com.reguamaxima.orquestrador.dominio.entidade.AlteracaoAgendamento;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositório do log de alterações de agendamentos.
+ */
+@Repository
+public interface AlteracaoAgendamentoRepository extends JpaRepository<AlteracaoAgendamento, Long> {
+
+    // ========== Cursor ==========
+
+    /**
+     * Maior id gravado há mais de {@code janelaSegundos} pelo relógio do banco (null se nenhum).
+     * As linhas são gravadas imediatamente antes do commit: passada a janela, as de id
+     * menor já fizeram commit ou não existirão. Percorre a chave primária do fim,
+     * parando na primeira linha fora da janela.
+     */
+    @Query(value = """
+            SELECT id FROM alteracoes_agendamento
+            WHERE data_alteracao < NOW(6) - INTERVAL :janelaSegundos SECOND
+            ORDER BY id DESC
+            LIMIT 1
+            """, nativeQuery = true)
+    Long ultimoIdConsolidado(@Param("janelaSegundos") int janelaSegundos);
+
+    /**
+     * Menor id ainda no log (null se vazio). Tokens anteriores a ele expiraram.
+     */
+    @Query("SELECT MIN(al.id) FROM AlteracaoAgendamento al")
+    Long primeiroId();
+
+    /**
+     * Maior id no log (null se vazio).
+     */
+    @Query("SELECT MAX(al.id) FROM AlteracaoAgendamento al")
+    Long ultimoId();
+
+    // ========== Consultas ==========
+
+    /**
+     * Alterações de agendamentos do cliente no intervalo (apos, ate], em ordem de id.
+     */
+    @Query("""
+            SELECT al FROM AlteracaoAgendamento al
+            WHERE al.clienteId = :clienteId
+            AND al.id > :apos AND al.id <= :ate
+            ORDER BY al.id ASC
+            """)
+    List<AlteracaoAgendamento> findDoCliente(
+            @Param("clienteId") Long clienteId,
+            @Param("apos") long apos,
+            @Param("ate") long ate,
+            Limit limite);
+
+    /**
+     * Alterações de agendamentos do barbeiro no intervalo (apos, ate], em ordem de id.
+     */
+    @Query("""
+            SELECT al FROM AlteracaoAgendamento al
+            WHERE al.barbeiroId = :barbeiroId
+            AND al.id > :apos AND al.id <= :ate
+            ORDER BY al.id ASC
+            """)
+    List<AlteracaoAgendamento> findDoBarbeiro(
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("apos") long apos,
+            @Param("ate") long ate,
+            Limit limite);
+
+    // ========== Limpeza ==========
+
+    /**
+     * Remove um lote das alterações mais antigas, anteriores ao limite. A linha
+     * {@code manterId} (a mais recente) fica: sem ela, o cursor voltaria a zero.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM alteracoes_agendamento
+            WHERE data_alteracao < :limite
+            AND id < :manterId
+            ORDER BY id
+            LIMIT :tamanhoLote
+            """, nativeQuery = true)
+    int removerAnteriores(
+            @Param("limite") LocalDate limite,
+            @Param("manterId") long manterId,
+            @Param("tamanhoLote") int tamanhoLote);
+}
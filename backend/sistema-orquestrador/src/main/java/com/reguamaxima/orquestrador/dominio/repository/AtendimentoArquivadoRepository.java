@@ -0,0 +1,103 @@
+package com.reguamaxima.orquestrador.dominio.repository;
+
+import com.reguamaxima.orquestrador.dominio.dto.AtendimentoProjecao;
+import com.reguamaxima.orquestrador.dominio.entidade.AtendimentoArquivado;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório para atendimentos arquivados e para a movimentação
+ * de atendimentos finalizados para a tabela de arquivo.
+ */
+@Repository
+public interface AtendimentoArquivadoRepository extends JpaRepository<AtendimentoArquivado, Long> {
+
+    /**
+     * Mesma projeção de {@link AtendimentoRepository#SELECT_PROJECAO}, lida da tabela de arquivo.
+     * Atendimentos arquivados estão finalizados e não têm posição na fila.
+     */
+    String SELECT_PROJECAO = "SELECT new com.reguamaxima.orquestrador.dominio.dto.AtendimentoProjecao(" +
+            "a.id, c.id, c.nome, s.id, s.nome, s.duracaoMinutos, bar.id, bar.nome, a.status, " +
+            "a.dataAtendimento, a.horaChegada, a.horaInicioAtendimento, a.horaFimAtendimento, " +
+            "CAST(NULL AS Integer), a.observacoes) " +
+            "FROM AtendimentoArquivado a " +
+            "JOIN a.cliente c " +
+            "JOIN a.servico s " +
+            "LEFT JOIN a.barbearia bar ";
+
+    // ========== Histórico do Cliente ==========
+
+    long countByClienteId(Long clienteId);
+
+    /**
+     * Primeiros itens do histórico arquivado do cliente, ordenados por (data, chegada, id).
+     */
+    @Query(SELECT_PROJECAO +
+            "WHERE a.cliente.id = :clienteId " +
+            "ORDER BY a.dataAtendimento DESC, a.horaChegada DESC, a.id DESC")
+    List<AtendimentoProjecao> findHistoricoClienteInicio(
+            @Param("clienteId") Long clienteId,
+            Limit limite);
+
+    /**
+     * Itens do histórico arquivado do cliente anteriores à chave do cursor.
+     */
+    @Query(SELECT_PROJECAO +
+            "WHERE a.cliente.id = :clienteId " +
+            "AND (a.dataAtendimento < :data " +
+            "OR (a.dataAtendimento = :data AND a.horaChegada < :horaChegada) " +
+            "OR (a.dataAtendimento = :data AND a.horaChegada = :horaChegada AND a.id < :id)) " +
+            "ORDER BY a.dataAtendimento DESC, a.horaChegada DESC, a.id DESC")
+    List<AtendimentoProjecao> findHistoricoClienteApos(
+            @Param("clienteId") Long clienteId,
+            @Param("data") LocalDate data,
+            @Param("horaChegada") LocalDateTime horaChegada,
+            @Param("id") Long id,
+            Limit limite);
+
+    // ========== Arquivamento ==========
+
+    /**
+     * Seleciona um lote de atendimentos finalizados anteriores à data limite, travando as
+     * linhas e pulando as travadas por outras transações.
+     */
+    @Query(value = "SELECT a.id FROM atendimentos a " +
+            "WHERE a.data_atendimento < :limite " +
+            "AND a.status IN (:status) " +
+            "LIMIT :lote " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> selecionarParaArquivar(
+            @Param("limite") LocalDate limite,
+            @Param("status") Collection<String> status,
+            @Param("lote") int lote);
+
+    /**
+     * Copia os atendimentos informados para a tabela de arquivo.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO atendimentos_arquivo (" +
+            "id, barbeiro_id, cliente_id, servico_id, barbearia_id, status, data_atendimento, " +
+            "hora_chegada, hora_inicio_atendimento, hora_fim_atendimento, ordem_fila, " +
+            "observacoes, motivo_cancelamento, fila_compartilhada, data_criacao, data_atualizacao) " +
+            "SELECT id, barbeiro_id, cliente_id, servico_id, barbearia_id, status, data_atendimento, " +
+            "hora_chegada, hora_inicio_atendimento, hora_fim_atendimento, ordem_fila, " +
+            "observacoes, motivo_cancelamento, fila_compartilhada, data_criacao, data_atualizacao " +
+            "FROM atendimentos WHERE id IN (:ids)", nativeQuery = true)
+    int copiarParaArquivo(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Remove da tabela principal os atendimentos já copiados para o arquivo.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM atendimentos WHERE id IN (:ids)", nativeQuery = true)
+    int removerArquivados(@Param("ids") Collection<Long> ids);
+}
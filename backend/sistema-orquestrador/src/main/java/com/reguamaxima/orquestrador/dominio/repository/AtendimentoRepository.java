@@ -1,7 +1,10 @@
 package com.reguamaxima.orquestrador.dominio.repository;
 
+import com.reguamaxima.orquestrador.dominio.dto.AtendimentoProjecao;
 import com.reguamaxima.orquestrador.dominio.entidade.Atendimento;
 import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimento;
+import com.reguamaxima.orquestrador.dominio.fila.EntradaFila;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,39 +24,94 @@ import java.util.Optional;
 @Repository
 public interface AtendimentoRepository extends JpaRepository<Atendimento, Long> {
 
+    /**
+     * Posição na espera derivada da chave ordem_fila na leitura (null para quem não está aguardando).
+     * Só é correta quando o WHERE mantém a fila inteira de cada barbeiro no dia.
+     */
+    String POSICAO_FILA = "CASE WHEN a.status = 'AGUARDANDO' THEN CAST(ROW_NUMBER() OVER (" +
+            "PARTITION BY a.barbeiro.id, a.dataAtendimento, a.status " +
+            "ORDER BY a.ordemFila, a.id) AS Integer) END";
+
+    /**
+     * SELECT e FROM comuns às listagens: projeção {@link AtendimentoProjecao} com os joins necessários.
+     * A posição na fila não é calculada; listagens por cliente a obtêm da fila em memória.
+     */
+    String SELECT_PROJECAO = "SELECT new com.reguamaxima.orquestrador.dominio.dto.AtendimentoProjecao(" +
+            "a.id, c.id, c.nome, s.id, s.nome, s.duracaoMinutos, bar.id, bar.nome, a.status, " +
+            "a.dataAtendimento, a.horaChegada, a.horaInicioAtendimento, a.horaFimAtendimento, " +
+            "CAST(NULL AS Integer), a.observacoes) " +
+            "FROM Atendimento a " +
+            "JOIN a.cliente c " +
+            "JOIN a.servico s " +
+            "LEFT JOIN a.barbearia bar ";
+
+    /**
+     * Como {@link #SELECT_PROJECAO}, com a posição na fila calculada por {@link #POSICAO_FILA}.
+     */
+    String SELECT_PROJECAO_FILA = "SELECT new com.reguamaxima.orquestrador.dominio.dto.AtendimentoProjecao(" +
+            "a.id, c.id, c.nome, s.id, s.nome, s.duracaoMinutos, bar.id, bar.nome, a.status, " +
+            "a.dataAtendimento, a.horaChegada, a.horaInicioAtendimento, a.horaFimAtendimento, " +
+            POSICAO_FILA + ", a.observacoes) " +
+            "FROM Atendimento a " +
+            "JOIN a.cliente c " +
+            "JOIN a.servico s " +
+            "LEFT JOIN a.barbearia bar ";
+
     // ========== Consultas do Barbeiro ==========
 
     /**
-     * Busca a fila de espera do barbeiro para uma data específica.
+     * Entradas da fila de todos os barbeiros na data com o status informado,
+     * por barbeiro e ordem na fila. Usado para reconstruir as filas em memória.
      */
-    @Query("SELECT a FROM Atendimento a " +
+    @Query("SELECT new com.reguamaxima.orquestrador.dominio.fila.EntradaFila(" +
+            "a.id, a.barbeiro.id, a.cliente.id, s.id, s.duracaoMinutos, " +
+            "a.horaChegada, a.horaInicioAtendimento, COALESCE(a.ordemFila, 0), a.filaCompartilhada) " +
+            "FROM Atendimento a " +
+            "JOIN a.servico s " +
+            "WHERE a.dataAtendimento = :data " +
+            "AND a.status = :status " +
+            "ORDER BY a.barbeiro.id, a.ordemFila ASC, a.id ASC")
+    List<EntradaFila> findEntradasFila(
+            @Param("data") LocalDate data,
+            @Param("status") StatusAtendimento status);
+
+    /**
+     * Como {@link #findEntradasFila}, apenas da fila de um barbeiro. Usado quando as
+     * filas não ficam em memória (várias instâncias).
+     */
+    @Query("SELECT new com.reguamaxima.orquestrador.dominio.fila.EntradaFila(" +
+            "a.id, a.barbeiro.id, a.cliente.id, s.id, s.duracaoMinutos, " +
+            "a.horaChegada, a.horaInicioAtendimento, COALESCE(a.ordemFila, 0), a.filaCompartilhada) " +
+            "FROM Atendimento a " +
+            "JOIN a.servico s " +
             "WHERE a.barbeiro.id = :barbeiroId " +
             "AND a.dataAtendimento = :data " +
-            "AND a.status = 'AGUARDANDO' " +
-            "ORDER BY a.horaChegada ASC")
-    List<Atendimento> findFilaEspera(
+            "AND a.status = :status " +
+            "ORDER BY a.ordemFila ASC, a.id ASC")
+    List<EntradaFila> findEntradasFilaDoBarbeiro(
             @Param("barbeiroId") Long barbeiroId,
-            @Param("data") LocalDate data);
+            @Param("data") LocalDate data,
+            @Param("status") StatusAtendimento status);
 
     /**
-     * Busca o atendimento atual (em andamento) do barbeiro.
+     * Barbeiros em cuja fila o cliente está na data (aguardando ou em atendimento).
      */
-    @Query("SELECT a FROM Atendimento a " +
-            "WHERE a.barbeiro.id = :barbeiroId " +
+    @Query("SELECT a.barbeiro.id FROM Atendimento a " +
+            "WHERE a.cliente.id = :clienteId " +
             "AND a.dataAtendimento = :data " +
-            "AND a.status = 'EM_ATENDIMENTO'")
-    Optional<Atendimento> findAtendimentoAtual(
-            @Param("barbeiroId") Long barbeiroId,
-            @Param("data") LocalDate data);
+            "AND a.status IN ('AGUARDANDO', 'EM_ATENDIMENTO')")
+    List<Long> findBarbeirosDaFilaDoCliente(@Param("clienteId") Long clienteId, @Param("data") LocalDate data);
 
     /**
-     * Conta atendimentos concluídos hoje pelo barbeiro.
+     * Busca os atendimentos ativos (aguardando ou em atendimento) do barbeiro em uma data (projeção).
+     * Dados de exibição do resumo da fila; as estatísticas do dia vêm dos contadores em memória.
      */
-    @Query("SELECT COUNT(a) FROM Atendimento a " +
+    @Query(SELECT_PROJECAO_FILA +
             "WHERE a.barbeiro.id = :barbeiroId " +
             "AND a.dataAtendimento = :data " +
-            "AND a.status = 'CONCLUIDO'")
-    Integer countAtendidosHoje(
+            "AND a.status IN ('AGUARDANDO', 'EM_ATENDIMENTO') " +
+            "ORDER BY a.ordemFila ASC, a.id ASC")
+    List<AtendimentoProjecao> findAtendimentosAtivosDoDia(
             @Param("barbeiroId") Long barbeiroId,
             @Param("data") LocalDate data);
 
@@ -68,104 +127,153 @@ public interface AtendimentoRepository extends JpaRepository<Atendimento, Long>
             @Param("data") LocalDate data);
 
     /**
-     * Calcula tempo médio de espera do barbeiro na data.
+     * Duração média (minutos) dos atendimentos concluídos desde a data, por barbeiro e serviço.
+     * Cada linha: [barbeiroId, servicoId, média]. Usado para iniciar o estimador de espera.
      */
-    @Query("SELECT AVG(TIMESTAMPDIFF(MINUTE, a.horaChegada, a.horaInicioAtendimento)) " +
+    @Query("SELECT a.barbeiro.id, a.servico.id, " +
+            "AVG(TIMESTAMPDIFF(MINUTE, a.horaInicioAtendimento, a.horaFimAtendimento)) " +
             "FROM Atendimento a " +
-            "WHERE a.barbeiro.id = :barbeiroId " +
-            "AND a.dataAtendimento = :data " +
-            "AND a.horaInicioAtendimento IS NOT NULL")
-    Double calcularTempoMedioEspera(
-            @Param("barbeiroId") Long barbeiroId,
-            @Param("data") LocalDate data);
+            "WHERE a.dataAtendimento >= :desde " +
+            "AND a.status = 'CONCLUIDO' " +
+            "AND a.horaFimAtendimento IS NOT NULL " +
+            "GROUP BY a.barbeiro.id, a.servico.id")
+    List<Object[]> calcularDuracaoMediaPorServico(@Param("desde") LocalDate desde);
 
     /**
-     * Calcula tempo médio de atendimento do barbeiro na data.
+     * Contagens e somas de tempos do dia por barbeiro. Cada linha: [barbeiroId, atendidos,
+     * iniciados, cancelados, nãoCompareceram, somaEspera, somaAtendimento]. Usado apenas
+     * para iniciar os contadores do dia na subida da aplicação.
      */
-    @Query("SELECT AVG(TIMESTAMPDIFF(MINUTE, a.horaInicioAtendimento, a.horaFimAtendimento)) " +
+    @Query("SELECT a.barbeiro.id, " +
+            "SUM(CASE WHEN a.status = 'CONCLUIDO' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.horaInicioAtendimento IS NOT NULL THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'CANCELADO' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'NAO_COMPARECEU' THEN 1 ELSE 0 END), " +
+            "SUM(TIMESTAMPDIFF(MINUTE, a.horaChegada, a.horaInicioAtendimento)), " +
+            "SUM(TIMESTAMPDIFF(MINUTE, a.horaInicioAtendimento, a.horaFimAtendimento)) " +
+            "FROM Atendimento a " +
+            "WHERE a.dataAtendimento = :data " +
+            "GROUP BY a.barbeiro.id")
+    List<Object[]> calcularContadoresDoDia(@Param("data") LocalDate data);
+
+    /**
+     * Como {@link #calcularContadoresDoDia}, apenas do barbeiro. Usado quando os
+     * contadores não ficam em memória (várias instâncias).
+     */
+    @Query("SELECT a.barbeiro.id, " +
+            "SUM(CASE WHEN a.status = 'CONCLUIDO' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.horaInicioAtendimento IS NOT NULL THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'CANCELADO' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'NAO_COMPARECEU' THEN 1 ELSE 0 END), " +
+            "SUM(TIMESTAMPDIFF(MINUTE, a.horaChegada, a.horaInicioAtendimento)), " +
+            "SUM(TIMESTAMPDIFF(MINUTE, a.horaInicioAtendimento, a.horaFimAtendimento)) " +
             "FROM Atendimento a " +
             "WHERE a.barbeiro.id = :barbeiroId " +
             "AND a.dataAtendimento = :data " +
-            "AND a.horaFimAtendimento IS NOT NULL")
-    Double calcularTempoMedioAtendimento(
-            @Param("barbeiroId") Long barbeiroId,
-            @Param("data") LocalDate data);
+            "GROUP BY a.barbeiro.id")
+    List<Object[]> calcularContadoresDoBarbeiro(@Param("barbeiroId") Long barbeiroId, @Param("data") LocalDate data);
 
     // ========== Consultas do Cliente ==========
 
     /**
      * Busca atendimentos do cliente.
      */
-    @Query("SELECT a FROM Atendimento a " +
+    @Query(value = SELECT_PROJECAO +
             "WHERE a.cliente.id = :clienteId " +
-            "ORDER BY a.dataAtendimento DESC, a.horaChegada DESC")
-    Page<Atendimento> findByClienteId(
+            "ORDER BY a.dataAtendimento DESC, a.horaChegada DESC",
+            countQuery = "SELECT COUNT(a) FROM Atendimento a WHERE a.cliente.id = :clienteId")
+    Page<AtendimentoProjecao> findByClienteId(
             @Param("clienteId") Long clienteId,
             Pageable pageable);
 
+    long countByClienteId(Long clienteId);
+
+    /**
+     * Primeira página do histórico do cliente paginado por chave (data, chegada, id).
+     */
+    @Query(SELECT_PROJECAO +
+            "WHERE a.cliente.id = :clienteId " +
+            "ORDER BY a.dataAtendimento DESC, a.horaChegada DESC, a.id DESC")
+    List<AtendimentoProjecao> findHistoricoClienteInicio(
+            @Param("clienteId") Long clienteId,
+            Limit limite);
+
+    /**
+     * Página seguinte do histórico do cliente: itens anteriores à chave do cursor.
+     */
+    @Query(SELECT_PROJECAO +
+            "WHERE a.cliente.id = :clienteId " +
+            "AND (a.dataAtendimento < :data " +
+            "OR (a.dataAtendimento = :data AND a.horaChegada < :horaChegada) " +
+            "OR (a.dataAtendimento = :data AND a.horaChegada = :horaChegada AND a.id < :id)) " +
+            "ORDER BY a.dataAtendimento DESC, a.horaChegada DESC, a.id DESC")
+    List<AtendimentoProjecao> findHistoricoClienteApos(
+            @Param("clienteId") Long clienteId,
+            @Param("data") LocalDate data,
+            @Param("horaChegada") LocalDateTime horaChegada,
+            @Param("id") Long id,
+            Limit limite);
+
     /**
      * Busca atendimento atual do cliente (aguardando ou em atendimento).
      */
-    @Query("SELECT a FROM Atendimento a " +
+    @Query(SELECT_PROJECAO +
             "WHERE a.cliente.id = :clienteId " +
             "AND a.status IN ('AGUARDANDO', 'EM_ATENDIMENTO') " +
-            "ORDER BY a.horaChegada DESC")
-    Optional<Atendimento> findAtendimentoAtivoCliente(@Param("clienteId") Long clienteId);
+            "ORDER BY a.horaChegada DESC " +
+            "LIMIT 1")
+    Optional<AtendimentoProjecao> findAtendimentoAtivoCliente(@Param("clienteId") Long clienteId);
 
     // ========== Consultas da Barbearia ==========
 
     /**
      * Busca atendimentos de uma barbearia em uma data.
      */
-    @Query("SELECT a FROM Atendimento a " +
+    @Query(SELECT_PROJECAO_FILA +
             "WHERE a.barbearia.id = :barbeariaId " +
             "AND a.dataAtendimento = :data " +
             "ORDER BY a.horaChegada ASC")
-    List<Atendimento> findByBarbeariaAndData(
+    List<AtendimentoProjecao> findByBarbeariaAndData(
             @Param("barbeariaId") Long barbeariaId,
             @Param("data") LocalDate data);
 
-    // ========== Verificações ==========
-
-    /**
-     * Verifica se barbeiro tem atendimento em andamento.
-     */
-    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END " +
-            "FROM Atendimento a " +
-            "WHERE a.barbeiro.id = :barbeiroId " +
-            "AND a.status = 'EM_ATENDIMENTO'")
-    boolean barbeiroTemAtendimentoEmAndamento(@Param("barbeiroId") Long barbeiroId);
+    // ========== Atualização em Lote ==========
 
     /**
-     * Verifica se cliente está na fila de algum barbeiro.
+     * Encerra como cancelado, em uma única passada, quem ficou aguardando em dias
+     * anteriores à data (fila não chamada até o fim do dia).
      */
-    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END " +
-            "FROM Atendimento a " +
-            "WHERE a.cliente.id = :clienteId " +
-            "AND a.status IN ('AGUARDANDO', 'EM_ATENDIMENTO')")
-    boolean clienteEstaEmFila(@Param("clienteId") Long clienteId);
-
-    // ========== Atualização em Lote ==========
+    @Modifying
+    @Query(value = """
+            UPDATE atendimentos
+            SET status = 'CANCELADO',
+                motivo_cancelamento = :motivo,
+                data_atualizacao = NOW()
+            WHERE data_atendimento < :data
+            AND status = 'AGUARDANDO'
+            """, nativeQuery = true)
+    int encerrarEsperaAnteriorA(
+            @Param("data") LocalDate data,
+            @Param("motivo") String motivo);
 
     /**
-     * Atualiza posição na fila para todos os atendimentos aguardando.
+     * Reatribui ordem_fila da espera do barbeiro na data como (posição x espaçamento),
+     * mantendo a ordem atual. Só é necessário quando não resta espaço entre duas chaves.
      */
     @Modifying
     @Query(value = """
             UPDATE atendimentos a
-            SET posicao_fila = (
-                SELECT COUNT(*) + 1
-                FROM atendimentos a2
-                WHERE a2.barbeiro_id = a.barbeiro_id
-                AND a2.data_atendimento = a.data_atendimento
-                AND a2.status = 'AGUARDANDO'
-                AND a2.hora_chegada < a.hora_chegada
-            )
-            WHERE a.barbeiro_id = :barbeiroId
-            AND a.data_atendimento = :data
-            AND a.status = 'AGUARDANDO'
+            JOIN (
+                SELECT id, ROW_NUMBER() OVER (ORDER BY ordem_fila, id) AS posicao
+                FROM atendimentos
+                WHERE barbeiro_id = :barbeiroId
+                AND data_atendimento = :data
+                AND status = 'AGUARDANDO'
+            ) fila ON fila.id = a.id
+            SET a.ordem_fila = fila.posicao * :espacamento
             """, nativeQuery = true)
-    void recalcularPosicoesFila(
+    int redistribuirOrdemFila(
             @Param("barbeiroId") Long barbeiroId,
-            @Param("data") LocalDate data);
+            @Param("data") LocalDate data,
+            @Param("espacamento") long espacamento);
 }
@@ -2,6 +2,7 @@ package com.reguamaxima.orquestrador.dominio.repository;
 
 import com.reguamaxima.orquestrador.dominio.entidade.Avaliacao;
 import com.reguamaxima.orquestrador.dominio.enums.TipoAvaliacao;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +35,35 @@ public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
             @Param("barbeariaId") Long barbeariaId,
             Pageable pageable);
 
+    /**
+     * Primeira página das avaliações visíveis da barbearia paginada por chave (data de criação, id).
+     */
+    @Query("""
+            SELECT a FROM Avaliacao a
+            JOIN FETCH a.cliente
+            WHERE a.barbearia.id = :barbeariaId AND a.visivel = true
+            ORDER BY a.dataCriacao DESC, a.id DESC
+            """)
+    List<Avaliacao> findVisiveisBarbeariaInicio(
+            @Param("barbeariaId") Long barbeariaId,
+            Limit limite);
+
+    /**
+     * Página seguinte das avaliações visíveis da barbearia: itens anteriores à chave do cursor.
+     */
+    @Query("""
+            SELECT a FROM Avaliacao a
+            JOIN FETCH a.cliente
+            WHERE a.barbearia.id = :barbeariaId AND a.visivel = true
+            AND (a.dataCriacao < :dataCriacao OR (a.dataCriacao = :dataCriacao AND a.id < :id))
+            ORDER BY a.dataCriacao DESC, a.id DESC
+            """)
+    List<Avaliacao> findVisiveisBarbeariaApos(
+            @Param("barbeariaId") Long barbeariaId,
+            @Param("dataCriacao") LocalDateTime dataCriacao,
+            @Param("id") Long id,
+            Limit limite);
+
     /**
      * Calcula média de notas de uma barbearia.
      */
@@ -69,6 +100,35 @@ public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
             @Param("barbeiroId") Long barbeiroId,
             Pageable pageable);
 
+    /**
+     * Primeira página das avaliações visíveis do barbeiro paginada por chave (data de criação, id).
+     */
+    @Query("""
+            SELECT a FROM Avaliacao a
+            JOIN FETCH a.cliente
+            WHERE a.barbeiro.id = :barbeiroId AND a.visivel = true
+            ORDER BY a.dataCriacao DESC, a.id DESC
+            """)
+    List<Avaliacao> findVisiveisBarbeiroInicio(
+            @Param("barbeiroId") Long barbeiroId,
+            Limit limite);
+
+    /**
+     * Página seguinte das avaliações visíveis do barbeiro: itens anteriores à chave do cursor.
+     */
+    @Query("""
+            SELECT a FROM Avaliacao a
+            JOIN FETCH a.cliente
+            WHERE a.barbeiro.id = :barbeiroId AND a.visivel = true
+            AND (a.dataCriacao < :dataCriacao OR (a.dataCriacao = :dataCriacao AND a.id < :id))
+            ORDER BY a.dataCriacao DESC, a.id DESC
+            """)
+    List<Avaliacao> findVisiveisBarbeiroApos(
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("dataCriacao") LocalDateTime dataCriacao,
+            @Param("id") Long id,
+            Limit limite);
+
     /**
      * Calcula média de notas de um barbeiro.
      */
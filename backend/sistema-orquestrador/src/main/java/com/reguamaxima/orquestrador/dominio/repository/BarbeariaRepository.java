@@ -65,28 +65,65 @@ public interface BarbeariaRepository extends JpaRepository<Barbearia, Long> {
     Page<Barbearia> findByCidade(@Param("cidade") String cidade, Pageable pageable);
 
     /**
-     * Busca barbearias próximas usando fórmula de Haversine.
-     * Retorna barbearias dentro do raio especificado (em km).
-     * Retorna Object[] onde [0] = Barbearia e [1] = distância em km.
+     * Busca barbearias ativas dentro do raio especificado (em km), da mais próxima à mais distante.
+     * O SPATIAL INDEX de localizacao restringe as linhas à caixa envolvente do raio
+     * ({@link com.reguamaxima.orquestrador.dominio.geo.CaixaEnvolvente#wkt()}) e a distância
+     * exata (ST_Distance_Sphere) é calculada apenas para elas.
+     * Retorna Object[] onde [0] = id e [1] = distância em km.
      */
     @Query(value = """
-            SELECT b,
-                (6371 * acos(cos(radians(:latitude)) * cos(radians(b.latitude))
-                * cos(radians(b.longitude) - radians(:longitude))
-                + sin(radians(:latitude)) * sin(radians(b.latitude)))) AS distancia
-            FROM Barbearia b
-            WHERE b.ativo = true
+            SELECT b.id,
+                ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:latitude, :longitude), 4326)) / 1000 AS distancia
+            FROM barbearias b
+            WHERE MBRContains(ST_GeomFromText(:caixa, 4326), b.localizacao)
+                AND b.ativo = true
                 AND b.latitude IS NOT NULL
                 AND b.longitude IS NOT NULL
-                AND (6371 * acos(cos(radians(:latitude)) * cos(radians(b.latitude))
-                    * cos(radians(b.longitude) - radians(:longitude))
-                    + sin(radians(:latitude)) * sin(radians(b.latitude)))) <= :raioKm
-            ORDER BY distancia
-            """)
+                AND ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:latitude, :longitude), 4326)) <= :raioKm * 1000
+            ORDER BY distancia, b.id
+            """, nativeQuery = true)
     List<Object[]> findProximas(
             @Param("latitude") Double latitude,
             @Param("longitude") Double longitude,
-            @Param("raioKm") Double raioKm);
+            @Param("raioKm") Double raioKm,
+            @Param("caixa") String caixa);
+
+    /**
+     * Página da busca pelos mais próximos: até {@code limite} barbearias ativas
+     * dentro do raio, em ordem de (distância, id), depois da chave informada
+     * (distância negativa na primeira página).
+     * Retorna Object[] onde [0] = id e [1] = distância em km.
+     */
+    @Query(value = """
+            SELECT b.id,
+                ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:latitude, :longitude), 4326)) / 1000 AS distancia
+            FROM barbearias b
+            WHERE MBRContains(ST_GeomFromText(:caixa, 4326), b.localizacao)
+                AND b.ativo = true
+                AND b.latitude IS NOT NULL
+                AND b.longitude IS NOT NULL
+                AND ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:latitude, :longitude), 4326)) <= :raioKm * 1000
+            HAVING distancia > :distanciaApos
+                OR (distancia = :distanciaApos AND b.id > :idApos)
+            ORDER BY distancia, b.id
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Object[]> findMaisProximasApos(
+            @Param("latitude") Double latitude,
+            @Param("longitude") Double longitude,
+            @Param("raioKm") Double raioKm,
+            @Param("caixa") String caixa,
+            @Param("distanciaApos") Double distanciaApos,
+            @Param("idApos") Long idApos,
+            @Param("limite") int limite);
+
+    /**
+     * Coordenadas das barbearias ativas localizadas. Cada linha: [id, latitude, longitude].
+     * Usado para montar o índice geográfico em memória.
+     */
+    @Query("SELECT b.id, b.latitude, b.longitude FROM Barbearia b " +
+            "WHERE b.ativo = true AND b.latitude IS NOT NULL AND b.longitude IS NOT NULL")
+    List<Object[]> findCoordenadasAtivas();
 
     /**
      * Conta total de barbearias ativas.
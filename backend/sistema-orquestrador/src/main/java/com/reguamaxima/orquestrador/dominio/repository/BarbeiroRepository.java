@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +24,12 @@ public interface BarbeiroRepository extends JpaRepository<Barbeiro, Long> {
      */
     Optional<Barbeiro> findByUsuarioId(Long usuarioId);
 
+    /**
+     * Nome de exibição do barbeiro (nome profissional ou, na falta dele, nome do usuário).
+     */
+    @Query("SELECT COALESCE(b.nomeProfissional, u.nome) FROM Barbeiro b JOIN b.usuario u WHERE b.id = :barbeiroId")
+    Optional<String> findNomeExibicao(@Param("barbeiroId") Long barbeiroId);
+
     /**
      * Verifica se já existe barbeiro para o usuário.
      */
@@ -40,6 +47,20 @@ public interface BarbeiroRepository extends JpaRepository<Barbeiro, Long> {
             "AND b.statusVinculo = 'APROVADO' AND b.ativo = true")
     List<Barbeiro> findBarbeirosDaBarbearia(@Param("barbeariaId") Long barbeariaId);
 
+    /**
+     * Busca barbeiros ativos de uma barbearia já com o usuário carregado.
+     */
+    @Query("SELECT b FROM Barbeiro b JOIN FETCH b.usuario WHERE b.barbearia.id = :barbeariaId " +
+            "AND b.statusVinculo = 'APROVADO' AND b.ativo = true ORDER BY b.id ASC")
+    List<Barbeiro> findBarbeirosDaBarbeariaComUsuario(@Param("barbeariaId") Long barbeariaId);
+
+    /**
+     * Busca barbeiros ativos de várias barbearias já com o usuário carregado.
+     */
+    @Query("SELECT b FROM Barbeiro b JOIN FETCH b.usuario WHERE b.barbearia.id IN :barbeariaIds " +
+            "AND b.statusVinculo = 'APROVADO' AND b.ativo = true ORDER BY b.id ASC")
+    List<Barbeiro> findBarbeirosDasBarbeariasComUsuario(@Param("barbeariaIds") Collection<Long> barbeariaIds);
+
     /**
      * Busca solicitações pendentes de uma barbearia.
      */
@@ -55,34 +76,74 @@ public interface BarbeiroRepository extends JpaRepository<Barbeiro, Long> {
     List<Barbeiro> findBarbeirosVisivelMapa();
 
     /**
-     * Busca barbeiros próximos usando fórmula de Haversine.
-     * Retorna barbeiros dentro do raio especificado (em km).
+     * Busca barbeiros ativos e visíveis no mapa dentro do raio especificado (em km),
+     * do mais próximo ao mais distante. O SPATIAL INDEX de localizacao restringe as linhas
+     * à caixa envolvente do raio ({@link com.reguamaxima.orquestrador.dominio.geo.CaixaEnvolvente#wkt()})
+     * e a distância exata (ST_Distance_Sphere) é calculada apenas para elas.
+     * Retorna Object[] onde [0] = id e [1] = distância em km.
+     */
+    @Query(value = """
+            SELECT b.id,
+                ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:lat, :lng), 4326)) / 1000 AS distancia
+            FROM barbeiros b
+            WHERE MBRContains(ST_GeomFromText(:caixa, 4326), b.localizacao)
+                AND b.ativo = true
+                AND b.visivel_mapa = true
+                AND b.latitude IS NOT NULL
+                AND b.longitude IS NOT NULL
+                AND ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:lat, :lng), 4326)) <= :raioKm * 1000
+            ORDER BY distancia, b.id
+            """, nativeQuery = true)
+    List<Object[]> findBarbeirosProximos(
+            @Param("lat") Double latitude,
+            @Param("lng") Double longitude,
+            @Param("raioKm") Double raioKm,
+            @Param("caixa") String caixa);
+
+    /**
+     * Página da busca pelos mais próximos: até {@code limite} barbeiros ativos e visíveis no mapa
+     * dentro do raio, em ordem de (distância, id), depois da chave informada
+     * (distância negativa na primeira página).
+     * Retorna Object[] onde [0] = id e [1] = distância em km.
      */
     @Query(value = """
-            SELECT b.* FROM barbeiros b
-            WHERE b.ativo = true
-            AND b.visivel_mapa = true
-            AND b.latitude IS NOT NULL
-            AND b.longitude IS NOT NULL
-            AND (
-                6371 * acos(
-                    cos(radians(:lat)) * cos(radians(b.latitude)) *
-                    cos(radians(b.longitude) - radians(:lng)) +
-                    sin(radians(:lat)) * sin(radians(b.latitude))
-                )
-            ) <= :raioKm
-            ORDER BY (
-                6371 * acos(
-                    cos(radians(:lat)) * cos(radians(b.latitude)) *
-                    cos(radians(b.longitude) - radians(:lng)) +
-                    sin(radians(:lat)) * sin(radians(b.latitude))
-                )
-            ) ASC
+            SELECT b.id,
+                ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:lat, :lng), 4326)) / 1000 AS distancia
+            FROM barbeiros b
+            WHERE MBRContains(ST_GeomFromText(:caixa, 4326), b.localizacao)
+                AND b.ativo = true
+                AND b.visivel_mapa = true
+                AND b.latitude IS NOT NULL
+                AND b.longitude IS NOT NULL
+                AND ST_Distance_Sphere(b.localizacao, ST_SRID(POINT(:lat, :lng), 4326)) <= :raioKm * 1000
+            HAVING distancia > :distanciaApos
+                OR (distancia = :distanciaApos AND b.id > :idApos)
+            ORDER BY distancia, b.id
+            LIMIT :limite
             """, nativeQuery = true)
-    List<Barbeiro> findBarbeirosProximos(
+    List<Object[]> findMaisProximosApos(
             @Param("lat") Double latitude,
             @Param("lng") Double longitude,
-            @Param("raioKm") Double raioKm);
+            @Param("raioKm") Double raioKm,
+            @Param("caixa") String caixa,
+            @Param("distanciaApos") Double distanciaApos,
+            @Param("idApos") Long idApos,
+            @Param("limite") int limite);
+
+    /**
+     * Coordenadas dos barbeiros ativos e visíveis no mapa. Cada linha: [id, latitude, longitude].
+     * Usado para montar o índice geográfico em memória.
+     */
+    @Query("SELECT b.id, b.latitude, b.longitude FROM Barbeiro b " +
+            "WHERE b.ativo = true AND b.visivelMapa = true " +
+            "AND b.latitude IS NOT NULL AND b.longitude IS NOT NULL")
+    List<Object[]> findCoordenadasVisiveisMapa();
+
+    /**
+     * Busca barbeiros pelos IDs já com o usuário e a barbearia carregados.
+     */
+    @Query("SELECT b FROM Barbeiro b JOIN FETCH b.usuario LEFT JOIN FETCH b.barbearia WHERE b.id IN :ids")
+    List<Barbeiro> findByIdInComUsuario(@Param("ids") Collection<Long> ids);
 
     /**
      * Busca barbeiros autônomos (sem vínculo) ativos.
@@ -113,4 +174,19 @@ public interface BarbeiroRepository extends JpaRepository<Barbeiro, Long> {
     @Query("SELECT b FROM Barbeiro b WHERE b.ativo = true AND b.perfilCompleto = true " +
             "AND b.totalAvaliacoes >= :minAvaliacoes ORDER BY b.avaliacaoMedia DESC")
     List<Barbeiro> findTopBarbeiros(@Param("minAvaliacoes") Integer minAvaliacoes, Pageable pageable);
+
+    // ========== Trava da Fila ==========
+
+    /**
+     * Trava a linha do barbeiro até o fim da transação: escritor único da fila de
+     * atendimento quando as filas não ficam em memória (várias instâncias).
+     */
+    @Query(value = "SELECT id FROM barbeiros WHERE id = :barbeiroId FOR UPDATE", nativeQuery = true)
+    Optional<Long> travarFila(@Param("barbeiroId") Long barbeiroId);
+
+    /**
+     * Como {@link #travarFila(Long)}, sem esperar: vazio se a linha já estiver travada.
+     */
+    @Query(value = "SELECT id FROM barbeiros WHERE id = :barbeiroId FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> tentarTravarFila(@Param("barbeiroId") Long barbeiroId);
 }
@@ -0,0 +1,35 @@
+package com.reguamaxima.orquestrador.dominio.repository;
+
+import com.reguamaxima.orquestrador.dominio.entidade.FolgaAgenda;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para operações com FolgaAgenda (folgas e feriados).
+ */
+@Repository
+public interface FolgaAgendaRepository extends JpaRepository<FolgaAgenda, Long> {
+
+    /**
+     * Busca folgas ainda vigentes de uma barbearia: recorrentes e datas a partir de hoje.
+     */
+    @Query("""
+            SELECT f FROM FolgaAgenda f
+            LEFT JOIN FETCH f.barbeiro
+            WHERE f.barbearia.id = :barbeariaId
+            AND (f.data IS NULL OR f.data >= :hoje)
+            ORDER BY f.data ASC, f.id ASC
+            """)
+    List<FolgaAgenda> findVigentes(@Param("barbeariaId") Long barbeariaId, @Param("hoje") LocalDate hoje);
+
+    /**
+     * Busca folga pelo ID validando a barbearia.
+     */
+    Optional<FolgaAgenda> findByIdAndBarbeariaId(Long id, Long barbeariaId);
+}
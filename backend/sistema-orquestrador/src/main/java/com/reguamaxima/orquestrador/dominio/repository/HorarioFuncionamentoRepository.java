@@ -0,0 +1,29 @@
+package com.reguamaxima.orquestrador.dominio.repository;
+
+import com.reguamaxima.orquestrador.dominio.entidade.HorarioFuncionamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório para operações com HorarioFuncionamento.
+ */
+@Repository
+public interface HorarioFuncionamentoRepository extends JpaRepository<HorarioFuncionamento, Long> {
+
+    /**
+     * Lista o expediente semanal de uma barbearia.
+     */
+    List<HorarioFuncionamento> findByBarbeariaId(Long barbeariaId);
+
+    /**
+     * Remove todo o expediente semanal de uma barbearia.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM HorarioFuncionamento h WHERE h.barbearia.id = :barbeariaId")
+    void deleteByBarbeariaId(@Param("barbeariaId") Long barbeariaId);
+}
@@ -0,0 +1,107 @@
+package com.reguamaxima.orquestrador.dominio.repository;
+
+import com.reguamaxima.orquestrador.dominio.entidade.ReservaHorario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório das reservas temporárias de horário.
+ */
+@Repository
+public interface ReservaHorarioRepository extends JpaRepository<ReservaHorario, Long> {
+
+    // ========== Consulta ==========
+
+    /**
+     * Reservas ainda vigentes da agenda de um barbeiro em uma data.
+     */
+    @Query("""
+            SELECT r FROM ReservaHorario r
+            WHERE r.barbeiroId = :barbeiroId
+            AND r.data = :data
+            AND r.expiraEm > :agora
+            """)
+    List<ReservaHorario> findVigentes(
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("data") LocalDate data,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Reservas ainda vigentes das agendas de vários barbeiros em uma data.
+     */
+    @Query("""
+            SELECT r FROM ReservaHorario r
+            WHERE r.barbeiroId IN :barbeiroIds
+            AND r.data = :data
+            AND r.expiraEm > :agora
+            """)
+    List<ReservaHorario> findVigentesDosBarbeiros(
+            @Param("barbeiroIds") Collection<Long> barbeiroIds,
+            @Param("data") LocalDate data,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Reservas ainda vigentes da agenda de um barbeiro em um período (inclusivo).
+     */
+    @Query("""
+            SELECT r FROM ReservaHorario r
+            WHERE r.barbeiroId = :barbeiroId
+            AND r.data BETWEEN :dataInicio AND :dataFim
+            AND r.expiraEm > :agora
+            """)
+    List<ReservaHorario> findVigentesNoPeriodo(
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim,
+            @Param("agora") LocalDateTime agora);
+
+    // ========== Remoção ==========
+
+    /**
+     * Remove a reserva do cliente identificada pelo token.
+     */
+    @Modifying
+    @Query("DELETE FROM ReservaHorario r WHERE r.clienteId = :clienteId AND r.token = :token")
+    int removerDoCliente(@Param("clienteId") Long clienteId, @Param("token") String token);
+
+    /**
+     * Remove todas as reservas do cliente (cada cliente segura um horário por vez).
+     */
+    @Modifying
+    @Query("DELETE FROM ReservaHorario r WHERE r.clienteId = :clienteId")
+    int removerDoCliente(@Param("clienteId") Long clienteId);
+
+    /**
+     * Remove as reservas do cliente na agenda de um barbeiro em uma data.
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM ReservaHorario r
+            WHERE r.clienteId = :clienteId
+            AND r.barbeiroId = :barbeiroId
+            AND r.data = :data
+            """)
+    int removerDoClienteNaAgenda(
+            @Param("clienteId") Long clienteId,
+            @Param("barbeiroId") Long barbeiroId,
+            @Param("data") LocalDate data);
+
+    /**
+     * Remove um lote de reservas expiradas.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM reservas_horario
+            WHERE expira_em <= :agora
+            LIMIT :limite
+            """, nativeQuery = true)
+    int removerExpiradas(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
+}
@@ -0,0 +1,58 @@
+package com.reguamaxima.orquestrador.dominio.repository;
+
+import com.reguamaxima.orquestrador.dominio.entidade.ResumoDiarioAtendimento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositório do resumo diário de atendimentos.
+ */
+@Repository
+public interface ResumoDiarioAtendimentoRepository extends JpaRepository<ResumoDiarioAtendimento, Long> {
+
+    /**
+     * Resumos do barbeiro no período (datas inclusivas), do mais antigo ao mais recente.
+     */
+    List<ResumoDiarioAtendimento> findByBarbeiroIdAndDataBetweenOrderByDataAsc(
+            Long barbeiroId, LocalDate inicio, LocalDate fim);
+
+    /**
+     * Grava (ou regrava) o resumo de cada barbeiro com atendimentos na data, em uma
+     * única agregação sobre as linhas do dia. Idempotente: reconsolidar um dia
+     * substitui os valores anteriores.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO atendimentos_resumo_diario (
+                barbeiro_id, data, atendidos, iniciados, cancelados, nao_compareceram,
+                tempo_medio_espera_minutos, tempo_medio_atendimento_minutos, data_consolidacao)
+            SELECT * FROM (
+                SELECT barbeiro_id, data_atendimento,
+                    SUM(status = 'CONCLUIDO') AS novo_atendidos,
+                    SUM(hora_inicio_atendimento IS NOT NULL) AS novo_iniciados,
+                    SUM(status = 'CANCELADO') AS novo_cancelados,
+                    SUM(status = 'NAO_COMPARECEU') AS novo_nao_compareceram,
+                    COALESCE(AVG(TIMESTAMPDIFF(MINUTE, hora_chegada, hora_inicio_atendimento)), 0) AS novo_espera,
+                    COALESCE(AVG(TIMESTAMPDIFF(MINUTE, hora_inicio_atendimento, hora_fim_atendimento)), 0) AS novo_atendimento,
+                    NOW() AS novo_consolidacao
+                FROM atendimentos
+                WHERE data_atendimento = :data
+                GROUP BY barbeiro_id, data_atendimento
+            ) dia
+            ON DUPLICATE KEY UPDATE
+                atendidos = novo_atendidos,
+                iniciados = novo_iniciados,
+                cancelados = novo_cancelados,
+                nao_compareceram = novo_nao_compareceram,
+                tempo_medio_espera_minutos = novo_espera,
+                tempo_medio_atendimento_minutos = novo_atendimento,
+                data_consolidacao = novo_consolidacao
+            """, nativeQuery = true)
+    int consolidarDia(@Param("data") LocalDate data);
+}
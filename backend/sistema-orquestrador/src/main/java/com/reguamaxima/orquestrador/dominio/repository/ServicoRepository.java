@@ -2,8 +2,11 @@ package com.reguamaxima.orquestrador.dominio.repository;
 
 import com.reguamaxima.orquestrador.dominio.entidade.Servico;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,4 +34,14 @@ public interface ServicoRepository extends JpaRepository<Servico, Long> {
      * Verifica se existe serviço com mesmo nome na barbearia.
      */
     boolean existsByBarbeariaIdAndNomeIgnoreCase(Long barbeariaId, String nome);
+
+    /**
+     * Busca serviços ativos de várias barbearias cujo nome ou descrição contém o termo.
+     */
+    @Query("SELECT s FROM Servico s WHERE s.barbearia.id IN :barbeariaIds AND s.ativo = true " +
+            "AND (LOWER(s.nome) LIKE LOWER(CONCAT('%', :termo, '%')) " +
+            "OR LOWER(s.descricao) LIKE LOWER(CONCAT('%', :termo, '%')))")
+    List<Servico> findAtivosPorTermoNasBarbearias(
+            @Param("barbeariaIds") Collection<Long> barbeariaIds,
+            @Param("termo") String termo);
 }
@@ -1,8 +1,10 @@
 package com.reguamaxima.orquestrador.interfaces.rest;
 
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.kernel.exception.RecursoNaoEncontradoException;
 import com.reguamaxima.kernel.security.CustomUserDetails;
 import com.reguamaxima.orquestrador.aplicacao.ServicoAgendamento;
+import com.reguamaxima.orquestrador.aplicacao.ServicoBuscaHorarios;
 import com.reguamaxima.orquestrador.dominio.dto.*;
 import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,7 +21,9 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controller REST para gerenciamento de Agendamentos.
@@ -31,6 +35,7 @@ import java.util.List;
 public class AgendamentoController {
 
     private final ServicoAgendamento servicoAgendamento;
+    private final ServicoBuscaHorarios servicoBuscaHorarios;
     private final BarbeiroRepository barbeiroRepository;
 
     // ========== Endpoints do Cliente ==========
@@ -45,6 +50,18 @@ public class AgendamentoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(agendamento);
     }
 
+    @PostMapping("/recorrente")
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(summary = "Criar agendamentos recorrentes",
+            description = "Agenda o mesmo horário a cada N semanas; datas indisponíveis são recusadas individualmente")
+    public ResponseEntity<ResultadoRecorrenciaDTO> criarAgendamentosRecorrentes(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody CriarAgendamentoRecorrenteDTO dto) {
+        ResultadoRecorrenciaDTO resultado = servicoAgendamento.criarAgendamentosRecorrentes(userDetails.getId(), dto);
+        HttpStatus status = resultado.criados().isEmpty() ? HttpStatus.CONFLICT : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(resultado);
+    }
+
     @GetMapping("/meus")
     @PreAuthorize("hasRole('CLIENTE')")
     @Operation(summary = "Meus próximos agendamentos", description = "Lista próximos agendamentos do cliente")
@@ -62,6 +79,25 @@ public class AgendamentoController {
         return ResponseEntity.ok(servicoAgendamento.buscarHistoricoCliente(userDetails.getId(), pageable));
     }
 
+    @GetMapping("/meus/alteracoes")
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(summary = "Alterações dos meus agendamentos", description = "Agendamentos criados, alterados ou cancelados desde o token informado")
+    public ResponseEntity<AlteracoesAgendamentosDTO> minhasAlteracoes(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(servicoAgendamento.buscarAlteracoesCliente(userDetails.getId(), token));
+    }
+
+    @GetMapping("/meus/historico/cursor")
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(summary = "Histórico por cursor", description = "Histórico do cliente paginado por cursor, sem contagem total")
+    public ResponseEntity<CursorPageResponseDTO<AgendamentoDTO>> meuHistoricoCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(servicoAgendamento.buscarHistoricoClienteCursor(userDetails.getId(), cursor, tamanho));
+    }
+
     @PostMapping("/{id}/cancelar")
     @PreAuthorize("hasRole('CLIENTE')")
     @Operation(summary = "Cancelar agendamento", description = "Cancela um agendamento do cliente")
@@ -72,6 +108,26 @@ public class AgendamentoController {
         return ResponseEntity.ok(servicoAgendamento.cancelarPeloCliente(id, userDetails.getId(), dto));
     }
 
+    @PostMapping("/reservas")
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(summary = "Reservar horário", description = "Segura o horário por alguns minutos enquanto o cliente conclui o agendamento")
+    public ResponseEntity<ReservaHorarioDTO> reservarHorario(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody ReservarHorarioDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(servicoAgendamento.reservarHorario(userDetails.getId(), dto));
+    }
+
+    @DeleteMapping("/reservas/{token}")
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(summary = "Liberar reserva", description = "Libera o horário reservado pelo cliente")
+    public ResponseEntity<Void> liberarReserva(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable UUID token) {
+        servicoAgendamento.liberarReserva(userDetails.getId(), token);
+        return ResponseEntity.noContent().build();
+    }
+
     // ========== Endpoints do Barbeiro ==========
 
     @GetMapping("/barbeiro/agenda")
@@ -94,6 +150,16 @@ public class AgendamentoController {
                 .ok(servicoAgendamento.buscarProximosAgendamentosBarbeiro(getBarbeiroIdFromUser(userDetails.getId())));
     }
 
+    @GetMapping("/barbeiro/alteracoes")
+    @PreAuthorize("hasRole('BARBEIRO')")
+    @Operation(summary = "Alterações da agenda", description = "Agendamentos do barbeiro criados, alterados ou cancelados desde o token informado")
+    public ResponseEntity<AlteracoesAgendamentosDTO> alteracoesAgenda(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity
+                .ok(servicoAgendamento.buscarAlteracoesBarbeiro(getBarbeiroIdFromUser(userDetails.getId()), token));
+    }
+
     @GetMapping("/barbeiro/pendentes")
     @PreAuthorize("hasRole('BARBEIRO')")
     @Operation(summary = "Agendamentos pendentes", description = "Lista agendamentos aguardando confirmação")
@@ -153,6 +219,36 @@ public class AgendamentoController {
                 .ok(servicoAgendamento.cancelarPeloBarbeiro(id, getBarbeiroIdFromUser(userDetails.getId()), dto));
     }
 
+    @PostMapping("/barbeiro/lote/confirmar")
+    @PreAuthorize("hasRole('BARBEIRO')")
+    @Operation(summary = "Confirmar em lote", description = "Confirma vários agendamentos pendentes de uma vez")
+    public ResponseEntity<ResultadoLoteAgendamentosDTO> confirmarEmLote(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody AlterarAgendamentosLoteDTO dto) {
+        return ResponseEntity
+                .ok(servicoAgendamento.confirmarEmLote(getBarbeiroIdFromUser(userDetails.getId()), dto));
+    }
+
+    @PostMapping("/barbeiro/lote/cancelar")
+    @PreAuthorize("hasRole('BARBEIRO')")
+    @Operation(summary = "Cancelar em lote", description = "Cancela vários agendamentos do barbeiro de uma vez")
+    public ResponseEntity<ResultadoLoteAgendamentosDTO> cancelarEmLote(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody AlterarAgendamentosLoteDTO dto) {
+        return ResponseEntity
+                .ok(servicoAgendamento.cancelarEmLotePeloBarbeiro(getBarbeiroIdFromUser(userDetails.getId()), dto));
+    }
+
+    @PostMapping("/barbeiro/lote/nao-compareceu")
+    @PreAuthorize("hasRole('BARBEIRO')")
+    @Operation(summary = "Não compareceu em lote", description = "Marca vários agendamentos como não compareceu de uma vez")
+    public ResponseEntity<ResultadoLoteAgendamentosDTO> marcarNaoCompareceuEmLote(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody AlterarAgendamentosLoteDTO dto) {
+        return ResponseEntity
+                .ok(servicoAgendamento.marcarNaoCompareceuEmLote(getBarbeiroIdFromUser(userDetails.getId()), dto));
+    }
+
     // ========== Endpoints de Disponibilidade (Público) ==========
 
     @GetMapping("/disponibilidade")
@@ -164,6 +260,40 @@ public class AgendamentoController {
         return ResponseEntity.ok(servicoAgendamento.buscarHorariosDisponiveis(barbeiroId, servicoId, data));
     }
 
+    @GetMapping("/disponibilidade/periodo")
+    @Operation(summary = "Disponibilidade por período", description = "Disponibilidade compacta (máscara de bits por dia) para vários dias")
+    public ResponseEntity<DisponibilidadePeriodoDTO> disponibilidadePeriodo(
+            @RequestParam Long barbeiroId,
+            @RequestParam Long servicoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(defaultValue = "14") int dias) {
+        LocalDate inicio = dataInicio != null ? dataInicio : LocalDate.now();
+        return ResponseEntity.ok(servicoAgendamento.buscarDisponibilidadePeriodo(barbeiroId, servicoId, inicio, dias));
+    }
+
+    @GetMapping("/disponibilidade/barbearia")
+    @Operation(summary = "Grade de disponibilidade da barbearia", description = "Disponibilidade de todos os barbeiros da barbearia em uma data, com o primeiro barbeiro livre por horário")
+    public ResponseEntity<GradeDisponibilidadeDTO> gradeDisponibilidadeBarbearia(
+            @RequestParam Long barbeariaId,
+            @RequestParam Long servicoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return ResponseEntity.ok(servicoAgendamento.buscarGradeBarbearia(barbeariaId, servicoId, data));
+    }
+
+    @GetMapping("/disponibilidade/proximos")
+    @Operation(summary = "Horários mais cedo perto de mim", description = "Horários livres mais cedo para um serviço em barbearias próximas, ordenados por horário e distância")
+    public ResponseEntity<List<HorarioProximoDTO>> horariosMaisCedoProximos(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(required = false) Double raioKm,
+            @RequestParam String servico,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(servicoBuscaHorarios.buscarMaisCedo(
+                latitude, longitude, raioKm, servico, inicio, fim, limite));
+    }
+
     // ========== Endpoint de Consulta ==========
 
     @GetMapping("/{id}")
@@ -1,5 +1,6 @@
 package com.reguamaxima.orquestrador.interfaces.rest;
 
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.kernel.security.CustomUserDetails;
 import com.reguamaxima.orquestrador.aplicacao.ServicoAtendimento;
 import com.reguamaxima.orquestrador.dominio.dto.*;
@@ -41,6 +42,16 @@ public class AtendimentoController {
         return ResponseEntity.ok(servicoAtendimento.buscarMinhaFila(userDetails.getId()));
     }
 
+    @GetMapping("/meus-resumos-diarios")
+    @PreAuthorize("hasAnyRole('BARBEIRO', 'ADMIN')")
+    @Operation(summary = "Buscar resumo diário da minha fila no período")
+    public ResponseEntity<List<ResumoDiarioAtendimentoDTO>> meusResumosDiarios(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(servicoAtendimento.buscarMeusResumosDiarios(userDetails.getId(), inicio, fim));
+    }
+
     @GetMapping("/fila/{barbeiroId}")
     @Operation(summary = "Buscar fila de um barbeiro específico")
     public ResponseEntity<FilaBarbeiroDTO> filaDoBarbeiro(@PathVariable Long barbeiroId) {
@@ -57,6 +68,18 @@ public class AtendimentoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(atendimento);
     }
 
+    @PostMapping("/barbearia/{barbeariaId}/adicionar")
+    @PreAuthorize("hasAnyRole('BARBEIRO', 'ADMIN')")
+    @Operation(summary = "Adicionar cliente na fila compartilhada da barbearia")
+    public ResponseEntity<AtendimentoDTO> adicionarNaFilaDaBarbearia(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Long barbeariaId,
+            @Valid @RequestBody CriarAtendimentoDTO dto) {
+        AtendimentoDTO atendimento = servicoAtendimento.adicionarNaFilaDaBarbearia(
+                userDetails.getId(), barbeariaId, dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(atendimento);
+    }
+
     @PostMapping("/iniciar-proximo")
     @PreAuthorize("hasAnyRole('BARBEIRO', 'ADMIN')")
     @Operation(summary = "Iniciar atendimento do próximo cliente da fila")
@@ -74,6 +97,16 @@ public class AtendimentoController {
         return ResponseEntity.ok(servicoAtendimento.iniciarAtendimento(userDetails.getId(), id));
     }
 
+    @PostMapping("/{id}/mover")
+    @PreAuthorize("hasAnyRole('BARBEIRO', 'ADMIN')")
+    @Operation(summary = "Mover cliente para outra posição da fila")
+    public ResponseEntity<AtendimentoDTO> moverNaFila(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Long id,
+            @RequestParam int posicao) {
+        return ResponseEntity.ok(servicoAtendimento.moverNaFila(userDetails.getId(), id, posicao));
+    }
+
     @PostMapping("/finalizar")
     @PreAuthorize("hasAnyRole('BARBEIRO', 'ADMIN')")
     @Operation(summary = "Finalizar atendimento atual")
@@ -123,6 +156,16 @@ public class AtendimentoController {
         return ResponseEntity.ok(servicoAtendimento.buscarHistoricoCliente(userDetails.getId(), pageable));
     }
 
+    @GetMapping("/meu-historico/cursor")
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(summary = "Buscar meu histórico de atendimentos por cursor (sem contagem total)")
+    public ResponseEntity<CursorPageResponseDTO<AtendimentoDTO>> meuHistoricoCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(servicoAtendimento.buscarHistoricoClienteCursor(userDetails.getId(), cursor, tamanho));
+    }
+
     // ========== Endpoints da Barbearia ==========
 
     @GetMapping("/barbearia/{barbeariaId}")
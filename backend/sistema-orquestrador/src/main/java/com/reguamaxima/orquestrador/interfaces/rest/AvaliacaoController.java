@@ -1,5 +1,6 @@
 package com.reguamaxima.orquestrador.interfaces.rest;
 
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.kernel.security.CustomUserDetails;
 import com.reguamaxima.orquestrador.aplicacao.ServicoAvaliacao;
 import com.reguamaxima.orquestrador.dominio.dto.*;
@@ -80,6 +81,20 @@ public class AvaliacaoController {
         return ResponseEntity.ok(servicoAvaliacao.listarAvaliacoesBarbearia(barbeariaId, pageable));
     }
 
+    /**
+     * Lista avaliações de uma barbearia paginadas por cursor.
+     * GET /api/v1/avaliacoes/barbearias/{barbeariaId}/cursor
+     */
+    @GetMapping("/barbearias/{barbeariaId}/cursor")
+    public ResponseEntity<CursorPageResponseDTO<AvaliacaoDTO>> listarAvaliacoesBarbeariaCursor(
+            @PathVariable Long barbeariaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int tamanho) {
+
+        log.info("GET /api/v1/avaliacoes/barbearias/{}/cursor", barbeariaId);
+        return ResponseEntity.ok(servicoAvaliacao.listarAvaliacoesBarbeariaCursor(barbeariaId, cursor, tamanho));
+    }
+
     /**
      * Lista avaliações de um barbeiro.
      * GET /api/v1/avaliacoes/barbeiros/{barbeiroId}
@@ -93,6 +108,20 @@ public class AvaliacaoController {
         return ResponseEntity.ok(servicoAvaliacao.listarAvaliacoesBarbeiro(barbeiroId, pageable));
     }
 
+    /**
+     * Lista avaliações de um barbeiro paginadas por cursor.
+     * GET /api/v1/avaliacoes/barbeiros/{barbeiroId}/cursor
+     */
+    @GetMapping("/barbeiros/{barbeiroId}/cursor")
+    public ResponseEntity<CursorPageResponseDTO<AvaliacaoDTO>> listarAvaliacoesBarbeiroCursor(
+            @PathVariable Long barbeiroId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int tamanho) {
+
+        log.info("GET /api/v1/avaliacoes/barbeiros/{}/cursor", barbeiroId);
+        return ResponseEntity.ok(servicoAvaliacao.listarAvaliacoesBarbeiroCursor(barbeiroId, cursor, tamanho));
+    }
+
     /**
      * Últimas avaliações de uma barbearia (resumo).
      * GET /api/v1/avaliacoes/barbearias/{barbeariaId}/ultimas
@@ -1,7 +1,9 @@
 package com.reguamaxima.orquestrador.interfaces.rest;
 
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.kernel.security.CustomUserDetails;
 import com.reguamaxima.orquestrador.aplicacao.ServicoBarbearia;
+import com.reguamaxima.orquestrador.aplicacao.ServicoHorarioFuncionamento;
 import com.reguamaxima.orquestrador.dominio.dto.*;
 
 import org.springframework.data.domain.Page;
@@ -26,9 +28,13 @@ import java.util.Map;
 public class BarbeariaController {
 
     private final ServicoBarbearia servicoBarbearia;
+    private final ServicoHorarioFuncionamento servicoHorarioFuncionamento;
 
-    public BarbeariaController(ServicoBarbearia servicoBarbearia) {
+    public BarbeariaController(
+            ServicoBarbearia servicoBarbearia,
+            ServicoHorarioFuncionamento servicoHorarioFuncionamento) {
         this.servicoBarbearia = servicoBarbearia;
+        this.servicoHorarioFuncionamento = servicoHorarioFuncionamento;
     }
 
     // ==================== ENDPOINTS PÚBLICOS ====================
@@ -85,6 +91,21 @@ public class BarbeariaController {
         return ResponseEntity.ok(servicoBarbearia.buscarProximas(latitude, longitude, raioKm));
     }
 
+    /**
+     * Busca as barbearias mais próximas, da mais perto à mais longe, paginadas por cursor.
+     * GET /api/v1/barbearias/proximas/cursor
+     */
+    @GetMapping("/proximas/cursor")
+    public ResponseEntity<CursorPageResponseDTO<BarbeariaResumoDTO>> buscarProximasCursor(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(required = false) Double raioKm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(
+                servicoBarbearia.buscarProximasCursor(latitude, longitude, raioKm, cursor, tamanho));
+    }
+
     /**
      * Lista serviços de uma barbearia.
      */
@@ -93,6 +114,18 @@ public class BarbeariaController {
         return ResponseEntity.ok(servicoBarbearia.listarServicosDaBarbearia(barbeariaId));
     }
 
+    /**
+     * Horário de funcionamento semanal de uma barbearia.
+     */
+    @GetMapping("/{barbeariaId}/horarios")
+    public ResponseEntity<HorariosBarbeariaDTO> listarHorarios(@PathVariable Long barbeariaId) {
+        try {
+            return ResponseEntity.ok(servicoHorarioFuncionamento.listarHorarios(barbeariaId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     // ==================== ENDPOINTS DE ADMIN ====================
 
     /**
@@ -258,4 +291,81 @@ public class BarbeariaController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // ==================== ENDPOINTS DE HORÁRIOS E FOLGAS (ADMIN) ====================
+
+    /**
+     * Horário de funcionamento da minha barbearia (admin).
+     */
+    @GetMapping("/minha/horarios")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> listarMeusHorarios(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(servicoHorarioFuncionamento.listarMeusHorarios(userDetails.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Substitui o horário de funcionamento da minha barbearia (admin).
+     */
+    @PutMapping("/minha/horarios")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> atualizarMeusHorarios(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody AtualizarHorariosDTO dto) {
+        try {
+            return ResponseEntity.ok(servicoHorarioFuncionamento.atualizarMeusHorarios(userDetails.getId(), dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("erro", e.getMessage()));
+        }
+    }
+
+    /**
+     * Lista folgas e feriados da minha barbearia (admin).
+     */
+    @GetMapping("/minha/folgas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> listarMinhasFolgas(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(servicoHorarioFuncionamento.listarMinhasFolgas(userDetails.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Cadastra folga de barbeiro ou feriado na minha barbearia (admin).
+     */
+    @PostMapping("/minha/folgas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> adicionarFolga(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody CriarFolgaDTO dto) {
+        try {
+            FolgaAgendaDTO folga = servicoHorarioFuncionamento.adicionarFolga(userDetails.getId(), dto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(folga);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("erro", e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove folga ou feriado da minha barbearia (admin).
+     */
+    @DeleteMapping("/minha/folgas/{folgaId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> removerFolga(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Long folgaId) {
+        try {
+            servicoHorarioFuncionamento.removerFolga(userDetails.getId(), folgaId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
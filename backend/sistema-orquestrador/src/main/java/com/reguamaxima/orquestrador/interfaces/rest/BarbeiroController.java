@@ -1,5 +1,6 @@
 package com.reguamaxima.orquestrador.interfaces.rest;
 
+import com.reguamaxima.kernel.dto.CursorPageResponseDTO;
 import com.reguamaxima.kernel.security.CustomUserDetails;
 import com.reguamaxima.orquestrador.aplicacao.ServicoBarbeiro;
 import com.reguamaxima.orquestrador.dominio.dto.*;
@@ -45,6 +46,17 @@ public class BarbeiroController {
         return ResponseEntity.ok(servicoBarbeiro.buscarProximos(latitude, longitude, raioKm));
     }
 
+    @GetMapping("/proximos/cursor")
+    @Operation(summary = "Buscar os barbeiros mais próximos, paginados por cursor")
+    public ResponseEntity<CursorPageResponseDTO<BarbeiroResumoDTO>> buscarProximosCursor(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(required = false) Double raioKm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(servicoBarbeiro.buscarProximosCursor(latitude, longitude, raioKm, cursor, tamanho));
+    }
+
     @GetMapping("/buscar")
     @Operation(summary = "Buscar barbeiros por nome ou especialidade")
     public ResponseEntity<Page<BarbeiroResumoDTO>> buscar(
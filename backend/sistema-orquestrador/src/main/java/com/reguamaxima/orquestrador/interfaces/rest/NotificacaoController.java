@@ -0,0 +1,48 @@
+package com.reguamaxima.orquestrador.interfaces.rest;
+
+import com.reguamaxima.kernel.security.CustomUserDetails;
+import com.reguamaxima.orquestrador.aplicacao.HubNotificacoes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller REST para notificações em tempo real (Server-Sent Events).
+ * As rotas ficam ao lado dos recursos que notificam, herdando suas regras de acesso.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Tag(name = "Notificações", description = "Atualizações em tempo real de fila, agenda e status")
+public class NotificacaoController {
+
+    private final HubNotificacoes hubNotificacoes;
+
+    @GetMapping(value = "/atendimentos/fila/{barbeiroId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar a fila de um barbeiro em tempo real")
+    public SseEmitter acompanharFila(@PathVariable Long barbeiroId) {
+        return hubNotificacoes.inscreverFila(barbeiroId);
+    }
+
+    @GetMapping(value = "/barbearias/{barbeariaId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar o status de uma barbearia em tempo real")
+    public SseEmitter acompanharStatusBarbearia(@PathVariable Long barbeariaId) {
+        return hubNotificacoes.inscreverStatusBarbearia(barbeariaId);
+    }
+
+    @GetMapping(value = "/agendamentos/barbeiro/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('BARBEIRO')")
+    @Operation(summary = "Receber avisos de alteração da minha agenda")
+    public SseEmitter acompanharMinhaAgenda(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return hubNotificacoes.inscreverAgenda(userDetails.getId());
+    }
+}
@@ -0,0 +1,142 @@
+package com.reguamaxima;
+
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario.Role;
+import com.reguamaxima.autenticacao.dominio.repository.UsuarioRepository;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro.StatusVinculo;
+import com.reguamaxima.orquestrador.dominio.entidade.Servico;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeariaRepository;
+import com.reguamaxima.orquestrador.dominio.repository.BarbeiroRepository;
+import com.reguamaxima.orquestrador.dominio.repository.ServicoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Base dos testes de integração: aplicação completa sobre um MySQL real em container,
+ * com o schema criado pelo Liquibase.
+ * <p>
+ * O container é compartilhado entre as classes de teste; cada teste cria a própria
+ * barbearia, barbeiros e clientes, de modo que os dados de testes diferentes não se
+ * cruzam. Sem Docker disponível, os testes são ignorados.
+ */
+@SpringBootTest(properties = {
+        "agenda.varredura.habilitada=false",
+        "agenda.arquivamento.habilitado=false",
+        "agenda.fechamento.habilitado=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class TesteIntegracaoMySQL {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("regua_maxima");
+
+    @Autowired
+    protected UsuarioRepository usuarioRepository;
+
+    @Autowired
+    protected BarbeariaRepository barbeariaRepository;
+
+    @Autowired
+    protected BarbeiroRepository barbeiroRepository;
+
+    @Autowired
+    protected ServicoRepository servicoRepository;
+
+    // ========== Cenário ==========
+
+    protected Usuario novoUsuario(Role role) {
+        String sufixo = UUID.randomUUID().toString();
+        return usuarioRepository.save(Usuario.builder()
+                .nome("Usuário " + sufixo.substring(0, 8))
+                .email(sufixo + "@teste.local")
+                .senha("{noop}senha")
+                .roles(new HashSet<>(Set.of(role)))
+                .roleAtiva(role)
+                .build());
+    }
+
+    protected Barbearia novaBarbearia() {
+        return novaBarbearia(false);
+    }
+
+    protected Barbearia novaBarbearia(boolean filaCompartilhada) {
+        return barbeariaRepository.save(Barbearia.builder()
+                .slug("teste-" + UUID.randomUUID())
+                .nome("Barbearia de Teste")
+                .filaCompartilhada(filaCompartilhada)
+                .admin(novoUsuario(Role.ADMIN))
+                .build());
+    }
+
+    protected Barbeiro novoBarbeiro(Barbearia barbearia) {
+        return barbeiroRepository.save(Barbeiro.builder()
+                .usuario(novoUsuario(Role.BARBEIRO))
+                .nomeProfissional("Barbeiro de Teste")
+                .barbearia(barbearia)
+                .statusVinculo(StatusVinculo.APROVADO)
+                .build());
+    }
+
+    protected Servico novoServico(Barbearia barbearia, int duracaoMinutos) {
+        return servicoRepository.save(Servico.builder()
+                .nome("Corte")
+                .duracaoMinutos(duracaoMinutos)
+                .preco(new BigDecimal("40.00"))
+                .barbearia(barbearia)
+                .build());
+    }
+
+    // ========== Concorrência ==========
+
+    /**
+     * Executa as tarefas em paralelo, uma por thread, liberadas ao mesmo tempo.
+     * Exceções das tarefas são relançadas ao final.
+     *
+     * @return duração total em nanossegundos, da liberação ao término da última tarefa
+     */
+    protected static long executarConcorrente(int tarefas, IntConsumer tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tarefas);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> resultados = new ArrayList<>(tarefas);
+            for (int i = 0; i < tarefas; i++) {
+                int indice = i;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    tarefa.accept(indice);
+                    return null;
+                }));
+            }
+
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Future<?> resultado : resultados) {
+                resultado.get(2, TimeUnit.MINUTES);
+            }
+            return System.nanoTime() - inicio;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * As mesmas operações concorrentes de {@link MotorFilaAtendimentoConcorrenciaTest}
+ * com as filas fora da memória (várias instâncias): ordem, posições e travas
+ * vêm do banco e as invariantes precisam continuar valendo.
+ */
+@TestPropertySource(properties = "fila.memoria.habilitada=false")
+class MotorFilaAtendimentoBancoConcorrenciaTest extends MotorFilaAtendimentoConcorrenciaTest {
+}
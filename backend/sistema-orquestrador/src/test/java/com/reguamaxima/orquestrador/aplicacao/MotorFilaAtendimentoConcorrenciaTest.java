@@ -0,0 +1,276 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.TesteIntegracaoMySQL;
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario.Role;
+import com.reguamaxima.orquestrador.dominio.dto.CriarAtendimentoDTO;
+import com.reguamaxima.orquestrador.dominio.entidade.Atendimento.StatusAtendimento;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+import com.reguamaxima.orquestrador.dominio.entidade.HorarioFuncionamento;
+import com.reguamaxima.orquestrador.dominio.entidade.Servico;
+import com.reguamaxima.orquestrador.dominio.entidade.SessaoTrabalho;
+import com.reguamaxima.orquestrador.dominio.fila.EntradaFila;
+import com.reguamaxima.orquestrador.dominio.fila.FilaBarbeiro;
+import com.reguamaxima.orquestrador.dominio.repository.AtendimentoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.HorarioFuncionamentoRepository;
+import com.reguamaxima.orquestrador.dominio.repository.SessaoTrabalhoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Operações concorrentes sobre as filas de uma barbearia com fila compartilhada:
+ * entradas nas filas dos barbeiros e na da barbearia, chamadas (inclusive puxando
+ * clientes de colegas), finalizações e reordenações, sobre o motor em memória e
+ * o banco real.
+ * <p>
+ * Ao final, as filas precisam respeitar as invariantes do motor e a fila em memória
+ * de cada barbeiro precisa ser idêntica à reconstruída do banco na subida.
+ */
+@Slf4j
+class MotorFilaAtendimentoConcorrenciaTest extends TesteIntegracaoMySQL {
+
+    private static final int BARBEIROS = 4;
+    private static final int CLIENTES = 60;
+    private static final int THREADS = 16;
+    private static final int OPERACOES_POR_THREAD = 80;
+
+    private static final List<String> STATUS_ATIVOS = List.of(
+            StatusAtendimento.AGUARDANDO.name(), StatusAtendimento.EM_ATENDIMENTO.name());
+
+    @Autowired
+    private ServicoAtendimento servicoAtendimento;
+
+    @Autowired
+    private MotorFilaAtendimento motorFila;
+
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    @Autowired
+    private HorarioFuncionamentoRepository horarioRepository;
+
+    @Autowired
+    private SessaoTrabalhoRepository sessaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void filasConcorrentesPermanecemConsistentes() throws Exception {
+        Barbearia barbearia = novaBarbearia(true);
+        abrirODiaInteiro(barbearia);
+        Servico servico = novoServico(barbearia, 30);
+        List<Barbeiro> barbeiros = IntStream.range(0, BARBEIROS)
+                .mapToObj(i -> novoBarbeiro(barbearia))
+                .toList();
+        List<Usuario> clientes = IntStream.range(0, CLIENTES)
+                .mapToObj(i -> novoUsuario(Role.CLIENTE))
+                .toList();
+        List<Long> idsBarbeiros = barbeiros.stream().map(Barbeiro::getId).toList();
+
+        Map<String, AtomicInteger> executadas = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> recusadas = new ConcurrentHashMap<>();
+
+        long duracao = executarConcorrente(THREADS, thread -> {
+            Random aleatorio = new Random(thread);
+            for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                Barbeiro barbeiro = barbeiros.get(aleatorio.nextInt(BARBEIROS));
+                Long usuarioBarbeiro = barbeiro.getUsuario().getId();
+                CriarAtendimentoDTO entrada = new CriarAtendimentoDTO(
+                        clientes.get(aleatorio.nextInt(CLIENTES)).getId(), servico.getId(), null, null);
+
+                int sorteio = aleatorio.nextInt(100);
+                String operacao;
+                Runnable execucao;
+                if (sorteio < 30) {
+                    operacao = "adicionarNaFila";
+                    execucao = () -> servicoAtendimento.adicionarNaFila(usuarioBarbeiro, entrada);
+                } else if (sorteio < 45) {
+                    operacao = "adicionarNaFilaDaBarbearia";
+                    execucao = () -> servicoAtendimento.adicionarNaFilaDaBarbearia(
+                            barbearia.getAdmin().getId(), barbearia.getId(), entrada);
+                } else if (sorteio < 65) {
+                    // Com a fila própria vazia, puxa o cliente compartilhado de um colega
+                    operacao = "iniciarProximoAtendimento";
+                    execucao = () -> servicoAtendimento.iniciarProximoAtendimento(usuarioBarbeiro);
+                } else if (sorteio < 80) {
+                    operacao = "finalizarAtendimento";
+                    execucao = () -> servicoAtendimento.finalizarAtendimento(usuarioBarbeiro);
+                } else {
+                    operacao = "moverNaFila";
+                    List<EntradaFila> aguardando = motorFila.consultar(barbeiro.getId()).aguardando();
+                    Long atendimentoId = aguardando.isEmpty()
+                            ? -1L
+                            : aguardando.get(aleatorio.nextInt(aguardando.size())).atendimentoId();
+                    int posicao = 1 + aleatorio.nextInt(aguardando.size() + 1);
+                    execucao = () -> servicoAtendimento.moverNaFila(usuarioBarbeiro, atendimentoId, posicao);
+                }
+
+                try {
+                    execucao.run();
+                    executadas.computeIfAbsent(operacao, chave -> new AtomicInteger()).incrementAndGet();
+                } catch (IllegalStateException e) {
+                    // Recusas de regra (cliente já em fila, sem clientes, fila ocupada...) são esperadas
+                    recusadas.computeIfAbsent(operacao, chave -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+        });
+
+        verificarClienteEmUmaFilaSo(idsBarbeiros);
+        verificarUmAtendimentoEmAndamentoPorBarbeiro(idsBarbeiros);
+        verificarOrdemDaEspera(idsBarbeiros);
+        verificarMemoriaIgualAoBanco(idsBarbeiros);
+
+        int total = THREADS * OPERACOES_POR_THREAD;
+        double segundos = duracao / 1_000_000_000.0;
+        log.info("Filas concorrentes: {} operações em {} ms ({} op/s); executadas {}, recusadas {}",
+                total, Math.round(segundos * 1000), Math.round(total / segundos), executadas, recusadas);
+        assertThat(executadas.keySet()).contains("adicionarNaFila", "iniciarProximoAtendimento");
+    }
+
+    // ========== Invariantes ==========
+
+    private void verificarClienteEmUmaFilaSo(List<Long> barbeiros) {
+        List<Long> repetidos = jdbcTemplate.queryForList("""
+                SELECT cliente_id FROM atendimentos
+                WHERE barbeiro_id IN (%s) AND data_atendimento = ? AND status IN (?, ?)
+                GROUP BY cliente_id HAVING COUNT(*) > 1
+                """.formatted(marcadores(barbeiros)), Long.class, parametros(barbeiros));
+        assertThat(repetidos).as("clientes em mais de uma fila").isEmpty();
+
+        Map<Long, Long> filaPorCliente = new HashMap<>();
+        for (Long barbeiroId : barbeiros) {
+            FilaBarbeiro fila = motorFila.consultar(barbeiroId);
+            for (EntradaFila entrada : entradas(fila)) {
+                assertThat(filaPorCliente.put(entrada.clienteId(), barbeiroId))
+                        .as("cliente %d em mais de uma fila em memória", entrada.clienteId())
+                        .isNull();
+            }
+        }
+    }
+
+    private void verificarUmAtendimentoEmAndamentoPorBarbeiro(List<Long> barbeiros) {
+        List<Long> comMaisDeUm = jdbcTemplate.queryForList("""
+                SELECT barbeiro_id FROM atendimentos
+                WHERE barbeiro_id IN (%s) AND status = ?
+                GROUP BY barbeiro_id HAVING COUNT(*) > 1
+                """.formatted(marcadores(barbeiros)), Long.class,
+                concatenar(barbeiros, StatusAtendimento.EM_ATENDIMENTO.name()));
+        assertThat(comMaisDeUm).as("barbeiros com mais de um atendimento em andamento").isEmpty();
+    }
+
+    private void verificarOrdemDaEspera(List<Long> barbeiros) {
+        for (Long barbeiroId : barbeiros) {
+            List<Long> ordens = jdbcTemplate.queryForList("""
+                    SELECT ordem_fila FROM atendimentos
+                    WHERE barbeiro_id = ? AND data_atendimento = ? AND status = ?
+                    ORDER BY ordem_fila, id
+                    """, Long.class, barbeiroId, LocalDate.now(), StatusAtendimento.AGUARDANDO.name());
+            assertThat(ordens).as("ordem_fila do barbeiro %d", barbeiroId).doesNotContainNull();
+            for (int i = 1; i < ordens.size(); i++) {
+                assertThat(ordens.get(i))
+                        .as("ordem_fila estritamente crescente do barbeiro %d", barbeiroId)
+                        .isGreaterThan(ordens.get(i - 1));
+            }
+        }
+    }
+
+    /**
+     * A fila em memória de cada barbeiro deve ser a mesma que a recuperação na subida montaria.
+     */
+    private void verificarMemoriaIgualAoBanco(List<Long> barbeiros) {
+        LocalDate hoje = LocalDate.now();
+        Map<Long, List<EntradaFila>> aguardandoNoBanco = atendimentoRepository
+                .findEntradasFila(hoje, StatusAtendimento.AGUARDANDO).stream()
+                .collect(Collectors.groupingBy(EntradaFila::barbeiroId));
+        Map<Long, EntradaFila> emAtendimentoNoBanco = atendimentoRepository
+                .findEntradasFila(hoje, StatusAtendimento.EM_ATENDIMENTO).stream()
+                .collect(Collectors.toMap(EntradaFila::barbeiroId, entrada -> entrada));
+
+        for (Long barbeiroId : barbeiros) {
+            FilaBarbeiro fila = motorFila.consultar(barbeiroId);
+
+            assertThat(chave(fila.emAtendimento()))
+                    .as("atendimento em andamento do barbeiro %d", barbeiroId)
+                    .isEqualTo(chave(emAtendimentoNoBanco.get(barbeiroId)));
+            assertThat(fila.aguardando().stream().map(MotorFilaAtendimentoConcorrenciaTest::chave).toList())
+                    .as("espera do barbeiro %d", barbeiroId)
+                    .isEqualTo(aguardandoNoBanco.getOrDefault(barbeiroId, List.of()).stream()
+                            .map(MotorFilaAtendimentoConcorrenciaTest::chave)
+                            .toList());
+        }
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    /**
+     * Expediente de 00:00 às 23:59 em todos os dias e sessão aberta, para que a
+     * fila compartilhada aceite clientes em qualquer horário da execução.
+     */
+    private void abrirODiaInteiro(Barbearia barbearia) {
+        for (DayOfWeek dia : DayOfWeek.values()) {
+            horarioRepository.save(HorarioFuncionamento.builder()
+                    .barbearia(barbearia)
+                    .diaSemana(dia)
+                    .horaAbertura(LocalTime.MIN)
+                    .horaFechamento(LocalTime.of(23, 59))
+                    .build());
+        }
+        sessaoRepository.save(SessaoTrabalho.builder()
+                .numeroSessao(1)
+                .barbearia(barbearia)
+                .usuario(barbearia.getAdmin())
+                .dataSessao(LocalDate.now())
+                .dataAbertura(LocalDateTime.now())
+                .build());
+    }
+
+    private static List<EntradaFila> entradas(FilaBarbeiro fila) {
+        if (fila.emAtendimento() == null) {
+            return fila.aguardando();
+        }
+        return Stream.concat(Stream.of(fila.emAtendimento()), fila.aguardando().stream()).toList();
+    }
+
+    /**
+     * Campos que identificam a posição do atendimento na fila.
+     */
+    private static List<Object> chave(EntradaFila entrada) {
+        return entrada == null
+                ? null
+                : List.of(entrada.atendimentoId(), entrada.barbeiroId(), entrada.clienteId(), entrada.ordem(),
+                        entrada.compartilhada());
+    }
+
+    private static String marcadores(List<Long> barbeiros) {
+        return barbeiros.stream().map(id -> "?").collect(Collectors.joining(", "));
+    }
+
+    private static Object[] parametros(List<Long> barbeiros) {
+        return concatenar(barbeiros, LocalDate.now(), STATUS_ATIVOS.get(0), STATUS_ATIVOS.get(1));
+    }
+
+    private static Object[] concatenar(List<Long> barbeiros, Object... extras) {
+        return Stream.concat(barbeiros.stream(), Arrays.stream(extras)).toArray();
+    }
+}
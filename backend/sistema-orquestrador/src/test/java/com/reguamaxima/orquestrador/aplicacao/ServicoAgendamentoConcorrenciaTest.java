@@ -0,0 +1,187 @@
+package com.reguamaxima.orquestrador.aplicacao;
+
+import com.reguamaxima.TesteIntegracaoMySQL;
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario;
+import com.reguamaxima.autenticacao.dominio.entidade.Usuario.Role;
+import com.reguamaxima.kernel.exception.RegraNegocioException;
+import com.reguamaxima.orquestrador.dominio.dto.CriarAgendamentoDTO;
+import com.reguamaxima.orquestrador.dominio.dto.ReservarHorarioDTO;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbearia;
+import com.reguamaxima.orquestrador.dominio.entidade.Barbeiro;
+import com.reguamaxima.orquestrador.dominio.entidade.Servico;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Criação concorrente de agendamentos contra o banco real: a trava da agenda do
+ * barbeiro no dia deve impedir sobreposições sem serializar barbeiros diferentes.
+ */
+@Slf4j
+class ServicoAgendamentoConcorrenciaTest extends TesteIntegracaoMySQL {
+
+    private static final int DURACAO_MINUTOS = 30;
+
+    @Autowired
+    private ServicoAgendamento servicoAgendamento;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mesmoBarbeiroEDiaNaoGeraSobreposicao() throws Exception {
+        int threads = 32;
+        Barbearia barbearia = novaBarbearia();
+        Barbeiro barbeiro = novoBarbeiro(barbearia);
+        Servico servico = novoServico(barbearia, DURACAO_MINUTOS);
+        List<Usuario> clientes = novosClientes(threads);
+        LocalDate data = LocalDate.now().plusDays(1);
+
+        AtomicInteger criados = new AtomicInteger();
+        AtomicInteger recusados = new AtomicInteger();
+
+        // Inícios a cada 15 minutos entre 10:00 e 10:45: pedidos vizinhos se sobrepõem
+        long duracao = executarConcorrente(threads, i -> {
+            LocalTime inicio = LocalTime.of(10, 0).plusMinutes(15L * (i % 4));
+            try {
+                servicoAgendamento.criarAgendamento(clientes.get(i).getId(),
+                        new CriarAgendamentoDTO(barbeiro.getId(), servico.getId(), data, inicio, null));
+                criados.incrementAndGet();
+            } catch (RegraNegocioException e) {
+                recusados.incrementAndGet();
+            }
+        });
+
+        List<LocalTime[]> agenda = agendaDoDia(barbeiro.getId(), data);
+        for (int i = 1; i < agenda.size(); i++) {
+            assertThat(agenda.get(i)[0])
+                    .as("início de %s após o fim de %s", agenda.get(i)[0], agenda.get(i - 1)[1])
+                    .isAfterOrEqualTo(agenda.get(i - 1)[1]);
+        }
+        assertThat(agenda).hasSize(criados.get());
+        assertThat(criados.get()).isBetween(1, 2);
+        assertThat(criados.get() + recusados.get()).isEqualTo(threads);
+
+        registrarVazao("mesmo barbeiro/dia", threads, duracao);
+    }
+
+    @Test
+    void barbeirosDiferentesAgendamEmParalelo() throws Exception {
+        int threads = 16;
+        Barbearia barbearia = novaBarbearia();
+        Servico servico = novoServico(barbearia, DURACAO_MINUTOS);
+        List<Barbeiro> barbeiros = IntStream.range(0, 2 * threads)
+                .mapToObj(i -> novoBarbeiro(barbearia))
+                .toList();
+        List<Usuario> clientes = novosClientes(2 * threads);
+        LocalDate data = LocalDate.now().plusDays(1);
+        IntConsumer agendar = i -> servicoAgendamento.criarAgendamento(
+                clientes.get(i).getId(),
+                new CriarAgendamentoDTO(barbeiros.get(i).getId(), servico.getId(), data, LocalTime.of(10, 0), null));
+
+        // Referência: os mesmos agendamentos, um de cada vez, em outros barbeiros
+        long inicioSequencial = System.nanoTime();
+        IntStream.range(threads, 2 * threads).forEach(agendar);
+        long sequencial = System.nanoTime() - inicioSequencial;
+
+        long duracao = executarConcorrente(threads, agendar);
+
+        for (Barbeiro barbeiro : barbeiros) {
+            assertThat(agendaDoDia(barbeiro.getId(), data)).hasSize(1);
+        }
+
+        registrarVazao("barbeiros diferentes, sequencial", threads, sequencial);
+        registrarVazao("barbeiros diferentes", threads, duracao);
+
+        // Sem trava compartilhada entre barbeiros, o paralelo leva bem menos que o sequencial
+        assertThat(duracao)
+                .as("paralelo %d ms, sequencial %d ms", duracao / 1_000_000, sequencial / 1_000_000)
+                .isLessThan(sequencial / 2);
+    }
+
+    @Test
+    void reservasConcorrentesDoMesmoHorarioTemUmUnicoDono() throws Exception {
+        int threads = 16;
+        Barbearia barbearia = novaBarbearia();
+        Barbeiro barbeiro = novoBarbeiro(barbearia);
+        Servico servico = novoServico(barbearia, DURACAO_MINUTOS);
+        List<Usuario> clientes = novosClientes(threads);
+        LocalDate data = LocalDate.now().plusDays(1);
+        LocalTime inicio = LocalTime.of(10, 0);
+
+        AtomicInteger dono = new AtomicInteger(-1);
+        AtomicInteger recusados = new AtomicInteger();
+
+        executarConcorrente(threads, i -> {
+            try {
+                servicoAgendamento.reservarHorario(clientes.get(i).getId(),
+                        new ReservarHorarioDTO(barbeiro.getId(), servico.getId(), data, inicio));
+                dono.set(i);
+            } catch (RegraNegocioException e) {
+                recusados.incrementAndGet();
+            }
+        });
+
+        assertThat(recusados.get()).isEqualTo(threads - 1);
+        assertThat(reservasDoDia(barbeiro.getId(), data)).isEqualTo(1);
+
+        // A reserva vale para qualquer instância: outro cliente não agenda o horário
+        Usuario outro = clientes.get((dono.get() + 1) % threads);
+        assertThatThrownBy(() -> servicoAgendamento.criarAgendamento(outro.getId(),
+                new CriarAgendamentoDTO(barbeiro.getId(), servico.getId(), data, inicio, null)))
+                .isInstanceOf(RegraNegocioException.class);
+
+        // O dono agenda e a reserva é consumida na mesma transação
+        servicoAgendamento.criarAgendamento(clientes.get(dono.get()).getId(),
+                new CriarAgendamentoDTO(barbeiro.getId(), servico.getId(), data, inicio, null));
+        assertThat(agendaDoDia(barbeiro.getId(), data)).hasSize(1);
+        assertThat(reservasDoDia(barbeiro.getId(), data)).isZero();
+    }
+
+    // ========== Métodos Auxiliares ==========
+
+    private List<Usuario> novosClientes(int quantidade) {
+        return IntStream.range(0, quantidade)
+                .mapToObj(i -> novoUsuario(Role.CLIENTE))
+                .toList();
+    }
+
+    /**
+     * Intervalos [início, fim) dos agendamentos do barbeiro no dia, em ordem de início.
+     */
+    private List<LocalTime[]> agendaDoDia(Long barbeiroId, LocalDate data) {
+        return jdbcTemplate.query("""
+                        SELECT hora_inicio, hora_fim FROM agendamentos
+                        WHERE barbeiro_id = ? AND data = ?
+                        ORDER BY hora_inicio
+                        """,
+                (linha, i) -> new LocalTime[] {
+                        linha.getObject("hora_inicio", LocalTime.class),
+                        linha.getObject("hora_fim", LocalTime.class)},
+                barbeiroId, data);
+    }
+
+    private int reservasDoDia(Long barbeiroId, LocalDate data) {
+        Integer total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservas_horario WHERE barbeiro_id = ? AND data = ?",
+                Integer.class, barbeiroId, data);
+        return total != null ? total : 0;
+    }
+
+    private static void registrarVazao(String cenario, int operacoes, long duracaoNanos) {
+        double segundos = duracaoNanos / 1_000_000_000.0;
+        log.info("Agendamentos concorrentes ({}): {} operações em {} ms ({} op/s)",
+                cenario, operacoes, Math.round(segundos * 1000), Math.round(operacoes / segundos));
+    }
+}